@@ -1,9 +1,20 @@
 package Veterinario.vet;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import clinica_model.Certificacion;
+import clinica_model.InformeGestion;
 import clinica_model.Veterinario;
+import clinica_model.VeterinarioResumen;
 import clinica_persistence.CertificacionPersistence;
+import clinica_persistence.ExportacionClinica;
+import clinica_persistence.RegistroLicencias;
+import clinica_persistence.ReportPersistence;
+import clinica_persistence.SnapshotLectura;
 import clinica_persistence.VeterinarioPersistence;
 
 /**
@@ -13,6 +24,9 @@ import clinica_persistence.VeterinarioPersistence;
  */
 public class FuncionalidadMenu {
 
+	/** Número de registros que se muestran por página en los listados completos. */
+	private static final int TAMANO_PAGINA = 10;
+
 	/**
 	 * Muestra el menú principal de la aplicación.
 	 *
@@ -24,8 +38,12 @@ public class FuncionalidadMenu {
 		System.out.println("2. Gestión de Certificaciones");
 		System.out.println("3. Mostrar todos los datos del sistema");
 		System.out.println("4. Limpiar base de datos");
+		System.out.println("5. Exportar datos a fichero");
+		System.out.println("6. Importar datos de fichero");
+		System.out.println("7. Informe de nómina y especialidades");
+		System.out.println("8. Actualizar la copia de lectura de los informes");
 		System.out.println("0. Salir");
-		return Libreria.leerEnteroEnRango("Seleccione una opción: ", 0, 4);
+		return Libreria.leerEnteroEnRango("Seleccione una opción: ", 0, 8);
 	}
 
 	/**
@@ -40,8 +58,11 @@ public class FuncionalidadMenu {
 		System.out.println("3. Mostrar todos los veterinarios");
 		System.out.println("4. Actualizar veterinario");
 		System.out.println("5. Eliminar veterinario");
+		System.out.println("6. Buscar veterinarios por fecha de contratación");
+		System.out.println("7. Revisión salarial de todos los veterinarios");
+		System.out.println("8. Eliminar varios veterinarios");
 		System.out.println("0. Volver");
-		return Libreria.leerEnteroEnRango("Seleccione una opción: ", 0, 5);
+		return Libreria.leerEnteroEnRango("Seleccione una opción: ", 0, 8);
 	}
 
 	/**
@@ -57,8 +78,9 @@ public class FuncionalidadMenu {
 		System.out.println("4. Buscar certificaciones por veterinario");
 		System.out.println("5. Actualizar certificación");
 		System.out.println("6. Eliminar certificación");
+		System.out.println("7. Buscar certificaciones por especialidad o institución");
 		System.out.println("0. Volver");
-		return Libreria.leerEnteroEnRango("Seleccione una opción: ", 0, 6);
+		return Libreria.leerEnteroEnRango("Seleccione una opción: ", 0, 7);
 	}
 
 	/**
@@ -68,12 +90,11 @@ public class FuncionalidadMenu {
 	public static void crearVeterinario() {
 		System.out.println("\n=== CREAR VETERINARIO ===");
 		
-		List<Veterinario> existentes = VeterinarioPersistence.readAll();
+		List<VeterinarioResumen> existentes = VeterinarioPersistence.readAllResumen();
 		if (!existentes.isEmpty()) {
 			System.out.println("Veterinarios existentes:");
-			for (Veterinario v : existentes) {
-				System.out.println("	Licencia " + v.getNum_licencia() + ": " + 
-								v.getNombre() + " " + v.getApellido());
+			for (VeterinarioResumen v : existentes) {
+				System.out.println("	" + v);
 			}
 			System.out.println();
 		}
@@ -83,7 +104,7 @@ public class FuncionalidadMenu {
 		int licencia;
 		do {
 			licencia = Libreria.leerEnteroPositivo("Número de licencia: ");
-			if (VeterinarioPersistence.readById(licencia) != null) {
+			if (RegistroLicencias.existe(licencia)) {
 				System.out.println("Error: Ya existe un veterinario con la licencia " + licencia);
 				System.out.println("	Use una licencia diferente.");
 			} else {
@@ -103,18 +124,26 @@ public class FuncionalidadMenu {
 		if (VeterinarioPersistence.create(vet)) {
 			System.out.println("Veterinario creado exitosamente.");
 
+			List<Certificacion> nuevas = new ArrayList<>();
 			boolean crearCert = Libreria.leerSiNo("¿Desea crear una certificación para este veterinario? (s/n): ");
-			if (crearCert) {
+			while (crearCert) {
 				System.out.println("\n--- CREAR CERTIFICACIÓN ---");
 				Certificacion cert = new Certificacion();
 				cert.setVeterinario_licencia(vet.getNum_licencia());
 				cert.setInstitucion_emisora(Libreria.leerStringNoVacio("Institución emisora: "));
 				cert.setNombre_especialidad(Libreria.leerStringNoVacio("Nombre de especialidad: "));
+				nuevas.add(cert);
+				crearCert = Libreria.leerSiNo("¿Desea añadir otra certificación? (s/n): ");
+			}
 
-				if (CertificacionPersistence.create(cert)) {
-					System.out.println("Certificación creada correctamente para el veterinario " + vet.getNombre() + ".");
+			// Todas las certificaciones se insertan en un único lote y una sola transacción
+			boolean[] resultados = CertificacionPersistence.createAll(nuevas);
+			for (int i = 0; i < nuevas.size(); i++) {
+				Certificacion cert = nuevas.get(i);
+				if (resultados[i]) {
+					System.out.println("Certificación '" + cert.getNombre_especialidad() + "' creada correctamente para el veterinario " + vet.getNombre() + ".");
 				} else {
-					System.out.println("Error al crear la certificación asociada.");
+					System.out.println("Error al crear la certificación '" + cert.getNombre_especialidad() + "'.");
 				}
 			}
 		} else {
@@ -139,15 +168,75 @@ public class FuncionalidadMenu {
 	}
 
 	/**
-	 * Recupera y muestra los detalles de todos los veterinarios registrados en la base de datos.
+	 * Muestra los detalles de todos los veterinarios registrados, por páginas de
+	 * {@value #TAMANO_PAGINA}. Tras cada página pregunta si se quiere ver la siguiente.
 	 */
 	public static void mostrarTodosVeterinarios() {
-		List<Veterinario> veterinarios = VeterinarioPersistence.readAll();
+		List<Veterinario> veterinarios = VeterinarioPersistence.readPage(0, TAMANO_PAGINA);
 		if (veterinarios.isEmpty()) {
 			System.out.println("No hay veterinarios registrados.");
-		} else {
-			System.out.println("\n--- LISTADO DE VETERINARIOS ---");
+			return;
+		}
+
+		System.out.println("\n--- LISTADO DE VETERINARIOS ---");
+		int pagina = 1;
+		while (true) {
+			CertificacionPersistence.precargarCertificaciones(veterinarios);
+			System.out.println("\n--- Página " + pagina + " ---");
 			veterinarios.forEach(VeterinarioPersistence::mostrarDetallesVeterinario);
+
+			if (veterinarios.size() < TAMANO_PAGINA || !Libreria.leerSiNo("\n¿Mostrar la siguiente página? (s/n): ")) {
+				break;
+			}
+			// La siguiente página empieza después de la última licencia mostrada
+			int ultimaLicencia = veterinarios.get(veterinarios.size() - 1).getNum_licencia();
+			veterinarios = VeterinarioPersistence.readPage(ultimaLicencia, TAMANO_PAGINA);
+			if (veterinarios.isEmpty()) {
+				System.out.println("No hay más veterinarios.");
+				break;
+			}
+			pagina++;
+		}
+	}
+
+	/**
+	 * Solicita un rango de fechas y lista los veterinarios contratados en él
+	 * (ambas fechas incluidas), ordenados por fecha de contratación.
+	 */
+	public static void buscarVeterinariosPorFechaContratacion() {
+		String desde;
+		do {
+			desde = Libreria.leerFechaValida("\nContratados desde [yyyy-MM-dd]: ");
+		} while (desde.isEmpty());
+		String hasta;
+		do {
+			hasta = Libreria.leerFechaValida("Contratados hasta [yyyy-MM-dd]: ");
+		} while (hasta.isEmpty());
+
+		List<Veterinario> veterinarios = VeterinarioPersistence.readByFechaContratacion(LocalDate.parse(desde), LocalDate.parse(hasta));
+		if (veterinarios.isEmpty()) {
+			System.out.println("No hay veterinarios contratados en ese periodo.");
+			return;
+		}
+
+		System.out.println("\n--- CONTRATADOS ENTRE " + desde + " Y " + hasta + " (" + veterinarios.size() + ") ---");
+		for (Veterinario v : veterinarios) {
+			System.out.println(v);
+		}
+	}
+
+	/**
+	 * Aplica un porcentaje de subida (o bajada) al salario base de todos los contratos,
+	 * en una sola transacción. Los veterinarios sin contrato no se modifican.
+	 */
+	public static void revisarSalarios() {
+		double porcentaje = Libreria.leerDoubleEnRango("\nPorcentaje de revisión salarial (-50 a 100): ", -50, 100);
+
+		int revisados = VeterinarioPersistence.revisarSalarios(porcentaje);
+		if (revisados < 0) {
+			System.out.println("Error al revisar los salarios: no se ha modificado ninguno.");
+		} else {
+			System.out.println("Salarios revisados: " + revisados + " contratos.");
 		}
 	}
 
@@ -327,6 +416,41 @@ public class FuncionalidadMenu {
 		}
 	}
 
+	/**
+	 * Solicita una lista de licencias separadas por comas y, previa confirmación, elimina
+	 * esos veterinarios con sus contratos y certificaciones en una sola transacción.
+	 */
+	public static void eliminarVariosVeterinarios() {
+		String texto = Libreria.leerStringNoVacio("\nLicencias a eliminar (separadas por comas): ");
+
+		List<Integer> licencias = new ArrayList<>();
+		for (String parte : texto.split(",")) {
+			if (!parte.isBlank()) {
+				int licencia = Libreria.parsearEntero(parte);
+				if (licencia > 0) {
+					licencias.add(licencia);
+				}
+			}
+		}
+		if (licencias.isEmpty()) {
+			System.out.println("No se indicó ninguna licencia válida.");
+			return;
+		}
+
+		if (!Libreria.leerSiNo("¿Eliminar " + licencias.size() + " veterinario(s) con todos sus datos? (s/n): ")) {
+			System.out.println("Eliminación cancelada.");
+			return;
+		}
+
+		int[] eliminados = VeterinarioPersistence.deleteAll(licencias.stream().mapToInt(Integer::intValue).toArray());
+		if (eliminados != null) {
+			System.out.println("Eliminados " + eliminados[2] + " veterinarios, " + eliminados[1] + " contratos y "
+					+ eliminados[0] + " certificaciones.");
+		} else {
+			System.out.println("Error al eliminar: no se ha modificado la base de datos.");
+		}
+	}
+
 	/**
 	 * Solicita los datos de una nueva certificación (institución, especialidad, licencia de veterinario)
 	 * y la persiste en la base de datos. Requiere que el veterinario asociado ya exista.
@@ -340,8 +464,7 @@ public class FuncionalidadMenu {
 		int licencia = Libreria.leerEnteroPositivo("Licencia del veterinario: ");
 		cert.setVeterinario_licencia(licencia);
 
-		Veterinario vet = VeterinarioPersistence.readById(licencia);
-		if (vet == null) {
+		if (!RegistroLicencias.existe(licencia)) {
 			System.out.println("Error: No existe un veterinario con licencia " + licencia);
 			return;
 		}
@@ -366,15 +489,50 @@ public class FuncionalidadMenu {
 	}
 
 	/**
-	 * Recupera y muestra los detalles de todas las certificaciones registradas.
+	 * Solicita unas palabras y muestra las certificaciones cuya especialidad o institución
+	 * las contienen (como prefijo), de más a menos relevantes.
+	 */
+	public static void buscarCertificacionesPorTexto() {
+		String texto = Libreria.leerStringNoVacio("\nTexto a buscar (especialidad o institución): ");
+		List<Certificacion> certificaciones = CertificacionPersistence.search(texto, TAMANO_PAGINA);
+
+		if (certificaciones.isEmpty()) {
+			System.out.println("No se encontraron certificaciones.");
+			return;
+		}
+
+		System.out.println("\n--- RESULTADOS PARA \"" + texto + "\" (" + certificaciones.size() + " más relevantes) ---");
+		certificaciones.forEach(CertificacionPersistence::mostrarDetallesCertificacion);
+	}
+
+	/**
+	 * Muestra los detalles de todas las certificaciones registradas, por páginas de
+	 * {@value #TAMANO_PAGINA}. Tras cada página pregunta si se quiere ver la siguiente.
 	 */
 	public static void mostrarTodasCertificaciones() {
-		List<Certificacion> lista = CertificacionPersistence.readAll();
-		if (lista.isEmpty()) {
+		List<Certificacion> certificaciones = CertificacionPersistence.readPage(0, TAMANO_PAGINA);
+		if (certificaciones.isEmpty()) {
 			System.out.println("No hay certificaciones registradas.");
-		} else {
-			System.out.println("\n--- TODAS LAS CERTIFICACIONES ---");
-			lista.forEach(CertificacionPersistence::mostrarDetallesCertificacion);
+			return;
+		}
+
+		System.out.println("\n--- TODAS LAS CERTIFICACIONES ---");
+		int pagina = 1;
+		while (true) {
+			System.out.println("\n--- Página " + pagina + " ---");
+			certificaciones.forEach(CertificacionPersistence::mostrarDetallesCertificacion);
+
+			if (certificaciones.size() < TAMANO_PAGINA || !Libreria.leerSiNo("\n¿Mostrar la siguiente página? (s/n): ")) {
+				break;
+			}
+			// La siguiente página empieza después del último ID mostrado
+			int ultimoId = certificaciones.get(certificaciones.size() - 1).getId();
+			certificaciones = CertificacionPersistence.readPage(ultimoId, TAMANO_PAGINA);
+			if (certificaciones.isEmpty()) {
+				System.out.println("No hay más certificaciones.");
+				break;
+			}
+			pagina++;
 		}
 	}
 
@@ -439,33 +597,112 @@ public class FuncionalidadMenu {
 	}
 	
 	/**
-	 * Intenta eliminar todos los registros de la base de datos (Veterinarios y sus datos asociados,
-	 * incluyendo certificaciones) para "limpiar" el sistema.
+	 * Muestra el informe de gestión: totales y medias de la nómina, veterinarios por
+	 * especialidad y por institución emisora. Se lee de las tablas resumen, sin recorrer
+	 * veterinarios ni certificaciones.
 	 */
-	public static void limpiarBD() {		
-		List<Veterinario> veterinarios = VeterinarioPersistence.readAll();
-		List<Certificacion> certificaciones = CertificacionPersistence.readAll();
- 
-		try {
-			int veterinariosEliminados = 0;
-			int certificacionesEliminadas = 0;
-			
-			for (Veterinario vet : veterinarios) {
-				if (VeterinarioPersistence.delete(vet.getNum_licencia())) {
-					veterinariosEliminados++;
-					certificacionesEliminadas += CertificacionPersistence.readByVeterinarioLicencia(vet.getNum_licencia()).size();
-				}
-			}
+	public static void mostrarInforme() {
+		InformeGestion informe = ReportPersistence.readInforme();
+		if (informe == null) {
+			System.out.println("No se pudo leer el informe.");
+			return;
+		}
 
-			List<Veterinario> veterinariosRestantes = VeterinarioPersistence.readAll();
-			List<Certificacion> certificacionesRestantes = CertificacionPersistence.readAll();
-			
-			if (veterinariosRestantes.isEmpty() && certificacionesRestantes.isEmpty()) {
-				System.out.println("Base de datos completamente vacía.");
-			}
-			
-		} catch (Exception e) {
-			System.out.println("Error durante la limpieza: " + e.getMessage());
+		System.out.println("\n=== INFORME DE NÓMINA ===");
+		if (informe.getMomento() != null) {
+			Duration antiguedad = Duration.between(informe.getMomento(), Instant.now());
+			System.out.println("(Datos de la copia de lectura de hace " + antiguedad.toSeconds() + " s)");
+		}
+		System.out.println(informe.getNomina());
+
+		System.out.println("\n--- VETERINARIOS POR ESPECIALIDAD ---");
+		if (informe.getEspecialidades().isEmpty()) {
+			System.out.println("Sin certificaciones registradas.");
+		}
+		informe.getEspecialidades().forEach(System.out::println);
+
+		System.out.println("\n--- VETERINARIOS POR INSTITUCIÓN ---");
+		if (informe.getInstituciones().isEmpty()) {
+			System.out.println("Sin certificaciones registradas.");
+		}
+		informe.getInstituciones().forEach(System.out::println);
+	}
+
+	/**
+	 * Vuelve a copiar la base de datos en la copia de lectura de los informes, para que
+	 * el siguiente informe refleje los últimos cambios.
+	 */
+	public static void refrescarCopiaInformes() {
+		if (!SnapshotLectura.isActiva()) {
+			System.out.println("La copia de lectura está desactivada: los informes leen directamente la base de datos.");
+		} else if (SnapshotLectura.refrescar()) {
+			System.out.println("Copia de lectura actualizada.");
+		} else {
+			System.out.println("No se pudo actualizar la copia de lectura.");
+		}
+	}
+
+	/**
+	 * Solicita una ruta y exporta todos los datos de la clínica a ese fichero.
+	 * Si la ruta termina en {@code .csv} se usa CSV; en otro caso, el formato binario.
+	 */
+	public static void exportarDatos() {
+		String ruta = Libreria.leerStringNoVacio("\nRuta del fichero de exportación (.csv para CSV, otra extensión para binario): ");
+		ExportacionClinica.Formato formato = ruta.toLowerCase().endsWith(".csv")
+				? ExportacionClinica.Formato.CSV
+				: ExportacionClinica.Formato.BINARIO;
+
+		long inicio = System.nanoTime();
+		int[] exportadas = ExportacionClinica.exportar(Path.of(ruta), formato);
+		if (exportadas != null) {
+			System.out.println("Exportados " + exportadas[0] + " veterinarios, " + exportadas[1] + " contratos y "
+					+ exportadas[2] + " certificaciones (" + formato + ") en " + (System.nanoTime() - inicio) / 1_000_000 + " ms.");
+		} else {
+			System.out.println("No se pudo completar la exportación.");
+		}
+	}
+
+	/**
+	 * Solicita la ruta de un fichero exportado y carga sus datos, opcionalmente
+	 * reemplazando los actuales. El formato se detecta por el contenido del fichero.
+	 */
+	public static void importarDatos() {
+		String ruta = Libreria.leerStringNoVacio("\nRuta del fichero a importar: ");
+		boolean reemplazar = Libreria.leerSiNo("¿Borrar antes los datos actuales? (s/n): ");
+
+		long inicio = System.nanoTime();
+		int[] importadas = ExportacionClinica.importar(Path.of(ruta), reemplazar);
+		if (importadas != null) {
+			System.out.println("Importados " + importadas[0] + " veterinarios, " + importadas[1] + " contratos y "
+					+ importadas[2] + " certificaciones en " + (System.nanoTime() - inicio) / 1_000_000 + " ms.");
+		} else {
+			System.out.println("Error durante la importación: no se ha modificado la base de datos.");
+		}
+	}
+
+	/**
+	 * Pide confirmación y, si se da, vacía la base de datos con {@link #limpiarBD()}.
+	 */
+	public static void confirmarLimpiarBD() {
+		if (!Libreria.leerSiNo("¿Eliminar todos los veterinarios, contratos y certificaciones? (s/n): ")) {
+			System.out.println("Limpieza cancelada.");
+			return;
+		}
+		limpiarBD();
+	}
+
+	/**
+	 * Elimina todos los registros de la base de datos (veterinarios, contratos y certificaciones)
+	 * en una sola transacción para "limpiar" el sistema, e informa de cuántas filas se borraron.
+	 */
+	public static void limpiarBD() {
+		int[] eliminados = VeterinarioPersistence.purgar();
+
+		if (eliminados != null) {
+			System.out.println("Base de datos completamente vacía: " + eliminados[2] + " veterinarios, "
+					+ eliminados[1] + " contratos y " + eliminados[0] + " certificaciones eliminados.");
+		} else {
+			System.out.println("Error durante la limpieza: no se ha modificado la base de datos.");
 		}
 	}
-}
\ No newline at end of file
+}
@@ -1,5 +1,11 @@
 package Veterinario.vet;
 
+import clinica_persistence.DatabaseConnection;
+import clinica_persistence.Instrumentacion;
+import clinica_persistence.OperacionMedida;
+import clinica_persistence.RegistroMetricas;
+import clinica_persistence.SnapshotLectura;
+
 public class Main {
 
 	// AGUSTIN
@@ -23,11 +29,14 @@ public class Main {
                     do {
                         opcionVet = FuncionalidadMenu.mostrarMenuVeterinarios();
                         switch (opcionVet) {
-                            case 1 -> FuncionalidadMenu.crearVeterinario();
-                            case 2 -> FuncionalidadMenu.buscarVeterinarioPorLicencia();
-                            case 3 -> FuncionalidadMenu.mostrarTodosVeterinarios();
-                            case 4 -> FuncionalidadMenu.actualizarVeterinario();
-                            case 5 -> FuncionalidadMenu.eliminarVeterinario();
+                            case 1 -> medir("crearVeterinario", FuncionalidadMenu::crearVeterinario);
+                            case 2 -> medir("buscarVeterinarioPorLicencia", FuncionalidadMenu::buscarVeterinarioPorLicencia);
+                            case 3 -> medir("mostrarTodosVeterinarios", FuncionalidadMenu::mostrarTodosVeterinarios);
+                            case 4 -> medir("actualizarVeterinario", FuncionalidadMenu::actualizarVeterinario);
+                            case 5 -> medir("eliminarVeterinario", FuncionalidadMenu::eliminarVeterinario);
+                            case 6 -> medir("buscarVeterinariosPorFechaContratacion", FuncionalidadMenu::buscarVeterinariosPorFechaContratacion);
+                            case 7 -> medir("revisarSalarios", FuncionalidadMenu::revisarSalarios);
+                            case 8 -> medir("eliminarVariosVeterinarios", FuncionalidadMenu::eliminarVariosVeterinarios);
                             case 0 -> System.out.println("Volviendo al menú principal...");
                             default -> System.out.println("Opción no válida.");
                         }
@@ -38,23 +47,45 @@ public class Main {
                     do {
                         opcionCert = FuncionalidadMenu.mostrarMenuCertificaciones();
                         switch (opcionCert) {
-                            case 1 -> FuncionalidadMenu.crearCertificacion();
-                            case 2 -> FuncionalidadMenu.buscarCertificacionPorId();
-                            case 3 -> FuncionalidadMenu.mostrarTodasCertificaciones();
-                            case 4 -> FuncionalidadMenu.buscarCertificacionesPorVeterinario();
-                            case 5 -> FuncionalidadMenu.actualizarCertificacion();
-                            case 6 -> FuncionalidadMenu.eliminarCertificacion();
+                            case 1 -> medir("crearCertificacion", FuncionalidadMenu::crearCertificacion);
+                            case 2 -> medir("buscarCertificacionPorId", FuncionalidadMenu::buscarCertificacionPorId);
+                            case 3 -> medir("mostrarTodasCertificaciones", FuncionalidadMenu::mostrarTodasCertificaciones);
+                            case 4 -> medir("buscarCertificacionesPorVeterinario", FuncionalidadMenu::buscarCertificacionesPorVeterinario);
+                            case 5 -> medir("actualizarCertificacion", FuncionalidadMenu::actualizarCertificacion);
+                            case 6 -> medir("eliminarCertificacion", FuncionalidadMenu::eliminarCertificacion);
+                            case 7 -> medir("buscarCertificacionesPorTexto", FuncionalidadMenu::buscarCertificacionesPorTexto);
                             case 0 -> System.out.println("Volviendo al menú principal...");
                             default -> System.out.println("Opción no válida.");
                         }
                     } while (opcionCert != 0);
                 }
-                case 3 -> FuncionalidadMenu.mostrarTodosLosDatos();
+                case 3 -> medir("mostrarTodosLosDatos", FuncionalidadMenu::mostrarTodosLosDatos);
+                case 4 -> medir("limpiarBD", FuncionalidadMenu::confirmarLimpiarBD);
+                case 5 -> medir("exportarDatos", FuncionalidadMenu::exportarDatos);
+                case 6 -> medir("importarDatos", FuncionalidadMenu::importarDatos);
+                case 7 -> medir("mostrarInforme", FuncionalidadMenu::mostrarInforme);
+                case 8 -> medir("refrescarCopiaInformes", FuncionalidadMenu::refrescarCopiaInformes);
                 case 0 -> System.out.println("Saliendo del sistema...");
                 default -> System.out.println("Opción no válida.");
             }
         } while (opcion != 0);
         
         FuncionalidadMenu.limpiarBD();
+        if (Instrumentacion.getSumidero() instanceof RegistroMetricas) {
+            System.out.println(Instrumentacion.getSumidero());
+        }
+        SnapshotLectura.cerrar();
+        DatabaseConnection.cerrar();
+    }
+
+    /**
+     * Ejecuta una acción del menú como operación medida (si metricas.activas=true),
+     * para saber cuántas sentencias SQL lanza cada opción.
+     */
+    @SuppressWarnings("try") // op solo se usa para cerrarse al salir del bloque
+    private static void medir(String nombre, Runnable accion) {
+        try (OperacionMedida op = Instrumentacion.iniciar(nombre)) {
+            accion.run();
+        }
     }
 }
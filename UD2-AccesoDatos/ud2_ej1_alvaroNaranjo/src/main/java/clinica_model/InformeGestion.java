@@ -0,0 +1,58 @@
+package clinica_model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Informe de gestión completo: nómina, especialidades e instituciones leídas juntas,
+ * del mismo estado de la base de datos.
+ */
+public class InformeGestion {
+
+	private final ResumenNomina nomina;
+	private final List<ResumenEspecialidad> especialidades;
+	private final List<ResumenInstitucion> instituciones;
+	private final Instant momento;
+
+	/**
+	 * @param nomina         Resumen de la nómina.
+	 * @param especialidades Veterinarios por especialidad.
+	 * @param instituciones  Certificaciones y veterinarios por institución.
+	 * @param momento        Momento de la copia de lectura de la que se leyó, o {@code null} si se leyó de la base de datos.
+	 */
+	public InformeGestion(ResumenNomina nomina, List<ResumenEspecialidad> especialidades,
+			List<ResumenInstitucion> instituciones, Instant momento) {
+		this.nomina = nomina;
+		this.especialidades = especialidades;
+		this.instituciones = instituciones;
+		this.momento = momento;
+	}
+
+	/**
+	 * @return Resumen de la nómina.
+	 */
+	public ResumenNomina getNomina() {
+		return nomina;
+	}
+
+	/**
+	 * @return Veterinarios por especialidad, de más a menos.
+	 */
+	public List<ResumenEspecialidad> getEspecialidades() {
+		return especialidades;
+	}
+
+	/**
+	 * @return Certificaciones y veterinarios por institución, de más a menos veterinarios.
+	 */
+	public List<ResumenInstitucion> getInstituciones() {
+		return instituciones;
+	}
+
+	/**
+	 * @return Momento de la copia de lectura de la que salen los datos, o {@code null} si son de la base de datos.
+	 */
+	public Instant getMomento() {
+		return momento;
+	}
+}
@@ -0,0 +1,351 @@
+package clinica_model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Mapa de certificaciones indexado por ID con claves {@code int} primitivas.
+ * <p>
+ * Usa direccionamiento abierto con sondeo lineal sobre arrays paralelos, por lo que no
+ * crea un {@code Integer} ni un nodo por entrada como {@link java.util.HashMap}. Los
+ * arrays se reservan con la primera inserción: un veterinario sin certificaciones no
+ * ocupa más que el propio objeto.
+ * </p>
+ * <p>
+ * Los métodos con {@code int} ({@link #get(int)}, {@link #put(int, Certificacion)}, ...)
+ * y los iteradores {@link #iteradorIds()} y {@link #iteradorValores()} no reservan memoria
+ * ni copian. La interfaz {@link java.util.Map} se mantiene por compatibilidad y sí
+ * convierte las claves a {@code Integer}. Los borrados dejan una marca en la celda para
+ * que eliminar durante una iteración sea seguro.
+ * </p>
+ */
+public class MapaCertificaciones extends AbstractMap<Integer, Certificacion> {
+
+	private static final byte LIBRE = 0;
+	private static final byte OCUPADA = 1;
+	private static final byte BORRADA = 2;
+
+	private static final int CAPACIDAD_INICIAL = 4;
+
+	private static final int[] SIN_CLAVES = new int[0];
+	private static final Certificacion[] SIN_VALORES = new Certificacion[0];
+	private static final byte[] SIN_ESTADOS = new byte[0];
+
+	private int[] claves = SIN_CLAVES;
+	private Certificacion[] valores = SIN_VALORES;
+	private byte[] estados = SIN_ESTADOS;
+
+	private int tamano;
+	private int usadas; // celdas ocupadas + borradas
+	private int modificaciones;
+
+	// ========================= API PRIMITIVA ==============================
+
+	/**
+	 * Indica si el mapa contiene el ID dado.
+	 * @param id ID de la certificación.
+	 * @return {@code true} si el ID está registrado (aunque su valor sea {@code null}).
+	 */
+	public boolean containsKey(int id) {
+		return buscar(id) >= 0;
+	}
+
+	/**
+	 * Obtiene la certificación asociada a un ID.
+	 * @param id ID de la certificación.
+	 * @return La certificación, o {@code null} si no está cargada o el ID no existe.
+	 */
+	public Certificacion get(int id) {
+		int i = buscar(id);
+		return (i >= 0) ? valores[i] : null;
+	}
+
+	/**
+	 * Asocia una certificación (o {@code null}, pendiente de carga) a un ID.
+	 * @param id ID de la certificación.
+	 * @param certificacion Certificación asociada; puede ser {@code null}.
+	 * @return El valor anterior, o {@code null} si no había.
+	 */
+	public Certificacion put(int id, Certificacion certificacion) {
+		int i = buscar(id);
+		if (i >= 0) {
+			Certificacion anterior = valores[i];
+			valores[i] = certificacion;
+			return anterior;
+		}
+
+		if ((usadas + 1) * 4 > estados.length * 3) {
+			redimensionar();
+		}
+
+		int mascara = estados.length - 1;
+		int j = dispersar(id) & mascara;
+		while (estados[j] == OCUPADA) {
+			j = (j + 1) & mascara;
+		}
+		if (estados[j] == LIBRE) {
+			usadas++;
+		}
+		estados[j] = OCUPADA;
+		claves[j] = id;
+		valores[j] = certificacion;
+		tamano++;
+		modificaciones++;
+		return null;
+	}
+
+	/**
+	 * Elimina un ID del mapa.
+	 * @param id ID de la certificación.
+	 * @return El valor que tenía asociado, o {@code null}.
+	 */
+	public Certificacion remove(int id) {
+		int i = buscar(id);
+		if (i < 0) {
+			return null;
+		}
+		Certificacion anterior = valores[i];
+		borrarCelda(i);
+		return anterior;
+	}
+
+	/**
+	 * Iterador sobre los IDs registrados. No copia ni convierte a {@code Integer}
+	 * mientras se use {@link PrimitiveIterator.OfInt#nextInt()}.
+	 * @return Iterador de IDs.
+	 */
+	public PrimitiveIterator.OfInt iteradorIds() {
+		return new IteradorIds();
+	}
+
+	/**
+	 * Iterador sobre las certificaciones registradas (incluye {@code null} para las no cargadas).
+	 * @return Iterador de valores sin copia.
+	 */
+	public Iterator<Certificacion> iteradorValores() {
+		return new IteradorValores();
+	}
+
+	/**
+	 * Recorre los IDs registrados cuyo valor aún no se ha cargado ({@code null}).
+	 * @param accion Acción a ejecutar con cada ID pendiente.
+	 */
+	public void forEachPendiente(IntConsumer accion) {
+		for (int i = 0; i < estados.length; i++) {
+			if (estados[i] == OCUPADA && valores[i] == null) {
+				accion.accept(claves[i]);
+			}
+		}
+	}
+
+	/**
+	 * Rellena los valores pendientes ({@code null}) con el resultado de la función.
+	 * Si la función devuelve {@code null} la entrada sigue pendiente.
+	 * @param cargador Función que obtiene la certificación a partir de su ID.
+	 */
+	public void completarPendientes(IntFunction<Certificacion> cargador) {
+		for (int i = 0; i < estados.length; i++) {
+			if (estados[i] == OCUPADA && valores[i] == null) {
+				valores[i] = cargador.apply(claves[i]);
+			}
+		}
+	}
+
+	// ========================= INTERFAZ Map ==============================
+
+	@Override
+	public int size() {
+		return tamano;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (key instanceof Integer) && containsKey(((Integer) key).intValue());
+	}
+
+	@Override
+	public Certificacion get(Object key) {
+		return (key instanceof Integer) ? get(((Integer) key).intValue()) : null;
+	}
+
+	@Override
+	public Certificacion put(Integer key, Certificacion value) {
+		return put(key.intValue(), value);
+	}
+
+	@Override
+	public Certificacion remove(Object key) {
+		return (key instanceof Integer) ? remove(((Integer) key).intValue()) : null;
+	}
+
+	@Override
+	public void clear() {
+		if (tamano > 0 || usadas > 0) {
+			Arrays.fill(estados, LIBRE);
+			Arrays.fill(valores, null);
+			tamano = 0;
+			usadas = 0;
+			modificaciones++;
+		}
+	}
+
+	@Override
+	public Set<Entry<Integer, Certificacion>> entrySet() {
+		return new AbstractSet<>() {
+			@Override
+			public Iterator<Entry<Integer, Certificacion>> iterator() {
+				return new IteradorEntradas();
+			}
+
+			@Override
+			public int size() {
+				return tamano;
+			}
+		};
+	}
+
+	// ========================= INTERNOS ==============================
+
+	private static int dispersar(int id) {
+		int h = id * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private int buscar(int id) {
+		if (tamano == 0) {
+			return -1;
+		}
+		int mascara = estados.length - 1;
+		int i = dispersar(id) & mascara;
+		while (estados[i] != LIBRE) {
+			if (estados[i] == OCUPADA && claves[i] == id) {
+				return i;
+			}
+			i = (i + 1) & mascara;
+		}
+		return -1;
+	}
+
+	private void borrarCelda(int i) {
+		estados[i] = BORRADA;
+		valores[i] = null;
+		tamano--;
+		modificaciones++;
+	}
+
+	private void redimensionar() {
+		int[] clavesViejas = claves;
+		Certificacion[] valoresViejos = valores;
+		byte[] estadosViejos = estados;
+
+		// Si sobran celdas borradas basta con reconstruir al mismo tamaño
+		int capacidad = Math.max(CAPACIDAD_INICIAL, estadosViejos.length);
+		if ((tamano + 1) * 2 > capacidad) {
+			capacidad *= 2;
+		}
+
+		claves = new int[capacidad];
+		valores = new Certificacion[capacidad];
+		estados = new byte[capacidad];
+		usadas = tamano;
+
+		int mascara = capacidad - 1;
+		for (int i = 0; i < estadosViejos.length; i++) {
+			if (estadosViejos[i] == OCUPADA) {
+				int j = dispersar(clavesViejas[i]) & mascara;
+				while (estados[j] != LIBRE) {
+					j = (j + 1) & mascara;
+				}
+				estados[j] = OCUPADA;
+				claves[j] = clavesViejas[i];
+				valores[j] = valoresViejos[i];
+			}
+		}
+	}
+
+	/**
+	 * Recorrido por celdas común a todos los iteradores.
+	 */
+	private abstract class Recorrido {
+		private int siguiente = -1;
+		private int actual = -1;
+		private int esperadas = modificaciones;
+
+		Recorrido() {
+			avanzar();
+		}
+
+		private void avanzar() {
+			int i = siguiente + 1;
+			while (i < estados.length && estados[i] != OCUPADA) {
+				i++;
+			}
+			siguiente = i;
+		}
+
+		public boolean hasNext() {
+			return siguiente < estados.length;
+		}
+
+		int siguienteCelda() {
+			if (esperadas != modificaciones) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			actual = siguiente;
+			avanzar();
+			return actual;
+		}
+
+		public void remove() {
+			if (actual < 0 || estados[actual] != OCUPADA) {
+				throw new IllegalStateException();
+			}
+			if (esperadas != modificaciones) {
+				throw new ConcurrentModificationException();
+			}
+			borrarCelda(actual);
+			esperadas = modificaciones;
+		}
+	}
+
+	private final class IteradorIds extends Recorrido implements PrimitiveIterator.OfInt {
+		@Override
+		public int nextInt() {
+			return claves[siguienteCelda()];
+		}
+	}
+
+	private final class IteradorValores extends Recorrido implements Iterator<Certificacion> {
+		@Override
+		public Certificacion next() {
+			return valores[siguienteCelda()];
+		}
+	}
+
+	private final class IteradorEntradas extends Recorrido implements Iterator<Entry<Integer, Certificacion>> {
+		@Override
+		public Entry<Integer, Certificacion> next() {
+			final int celda = siguienteCelda();
+			return new SimpleEntry<>(claves[celda], valores[celda]) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public Certificacion setValue(Certificacion value) {
+					valores[celda] = value;
+					return super.setValue(value);
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package clinica_model;
+
+/**
+ * Número de veterinarios certificados en una especialidad.
+ * Se lee de la tabla {@code ResumenEspecialidad}, que mantienen los disparadores de {@code Certificacion}.
+ */
+public class ResumenEspecialidad {
+
+	private final String nombreEspecialidad;
+	private final int numVeterinarios;
+
+	/**
+	 * @param nombreEspecialidad Nombre de la especialidad.
+	 * @param numVeterinarios    Veterinarios con esa especialidad.
+	 */
+	public ResumenEspecialidad(String nombreEspecialidad, int numVeterinarios) {
+		this.nombreEspecialidad = nombreEspecialidad;
+		this.numVeterinarios = numVeterinarios;
+	}
+
+	/**
+	 * @return Nombre de la especialidad.
+	 */
+	public String getNombreEspecialidad() {
+		return nombreEspecialidad;
+	}
+
+	/**
+	 * @return Veterinarios con esa especialidad.
+	 */
+	public int getNumVeterinarios() {
+		return numVeterinarios;
+	}
+
+	@Override
+	public String toString() {
+		return nombreEspecialidad + ": " + numVeterinarios + " veterinario(s)";
+	}
+}
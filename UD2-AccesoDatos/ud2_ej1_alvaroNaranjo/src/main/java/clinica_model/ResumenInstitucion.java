@@ -0,0 +1,49 @@
+package clinica_model;
+
+/**
+ * Certificaciones emitidas por una institución y número de veterinarios distintos que las tienen.
+ * Se lee de la tabla {@code ResumenInstitucion}, que mantienen los disparadores de {@code Certificacion}.
+ */
+public class ResumenInstitucion {
+
+	private final String institucionEmisora;
+	private final int numCertificaciones;
+	private final int numVeterinarios;
+
+	/**
+	 * @param institucionEmisora Nombre de la institución.
+	 * @param numCertificaciones Certificaciones emitidas por ella.
+	 * @param numVeterinarios    Veterinarios distintos con al menos una de ellas.
+	 */
+	public ResumenInstitucion(String institucionEmisora, int numCertificaciones, int numVeterinarios) {
+		this.institucionEmisora = institucionEmisora;
+		this.numCertificaciones = numCertificaciones;
+		this.numVeterinarios = numVeterinarios;
+	}
+
+	/**
+	 * @return Nombre de la institución.
+	 */
+	public String getInstitucionEmisora() {
+		return institucionEmisora;
+	}
+
+	/**
+	 * @return Certificaciones emitidas por la institución.
+	 */
+	public int getNumCertificaciones() {
+		return numCertificaciones;
+	}
+
+	/**
+	 * @return Veterinarios distintos certificados por la institución.
+	 */
+	public int getNumVeterinarios() {
+		return numVeterinarios;
+	}
+
+	@Override
+	public String toString() {
+		return institucionEmisora + ": " + numCertificaciones + " certificación(es), " + numVeterinarios + " veterinario(s)";
+	}
+}
@@ -0,0 +1,64 @@
+package clinica_model;
+
+/**
+ * Resumen de la nómina: número de contratos y totales de salario base y horas semanales.
+ * Se lee de la tabla {@code ResumenNomina}, que mantienen los disparadores de {@code DetalleContrato}.
+ */
+public class ResumenNomina {
+
+	private final int numContratos;
+	private final double totalSalario;
+	private final double totalHoras;
+
+	/**
+	 * @param numContratos Número de contratos (veterinarios con contrato).
+	 * @param totalSalario Suma de los salarios base.
+	 * @param totalHoras   Suma de las horas semanales.
+	 */
+	public ResumenNomina(int numContratos, double totalSalario, double totalHoras) {
+		this.numContratos = numContratos;
+		this.totalSalario = totalSalario;
+		this.totalHoras = totalHoras;
+	}
+
+	/**
+	 * @return Número de contratos.
+	 */
+	public int getNumContratos() {
+		return numContratos;
+	}
+
+	/**
+	 * @return Suma de los salarios base.
+	 */
+	public double getTotalSalario() {
+		return totalSalario;
+	}
+
+	/**
+	 * @return Suma de las horas semanales.
+	 */
+	public double getTotalHoras() {
+		return totalHoras;
+	}
+
+	/**
+	 * @return Salario base medio por contrato (0 si no hay contratos).
+	 */
+	public double getSalarioMedio() {
+		return numContratos > 0 ? totalSalario / numContratos : 0.0;
+	}
+
+	/**
+	 * @return Horas semanales medias por contrato (0 si no hay contratos).
+	 */
+	public double getHorasMedias() {
+		return numContratos > 0 ? totalHoras / numContratos : 0.0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Contratos: %d | Salario total: $%.2f | Salario medio: $%.2f | Horas/Semana total: %.1f | Horas/Semana media: %.1f",
+				numContratos, totalSalario, getSalarioMedio(), totalHoras, getHorasMedias());
+	}
+}
@@ -4,10 +4,11 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map; 
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
 
 import clinica_persistence.CertificacionPersistence;
 
@@ -23,11 +24,14 @@ public class Veterinario implements Iterable<Certificacion> {
 
 	private static final DateTimeFormatter ISO_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+	/** Valor de {@link #getDiaContratacion()} cuando no hay fecha de contratación (o no es válida). */
+	public static final int SIN_FECHA = Integer.MIN_VALUE;
+
 	// --- ATRIBUTOS DE LA TABLA Veterinario---
 	private int num_licencia;
 	private String nombre;
 	private String apellido;
-	private String fecha_contratacion; // String (YYYY-MM-DD) validado.
+	private int fecha_contratacion; // Días desde 1970-01-01 (LocalDate.toEpochDay) o SIN_FECHA.
 
 	// --- ATRIBUTOS DE LA TABLA DetalleContrato ---
 	private int contratoId;
@@ -35,7 +39,7 @@ public class Veterinario implements Iterable<Certificacion> {
 	private double horarioSemanal; // Horas trabajadas a la semana
 
 	// --- RELACIÓN 1:N CON CERTIFICACION ---
-	private HashMap<Integer, Certificacion> certificacionesMap;
+	private final MapaCertificaciones certificacionesMap; // claves int sin boxing
 
 	/**
 	 * Constructor vacío.
@@ -45,12 +49,12 @@ public class Veterinario implements Iterable<Certificacion> {
 		this.num_licencia = 0;
 		this.nombre = "";
 		this.apellido = "";
-		this.fecha_contratacion = "";
+		this.fecha_contratacion = SIN_FECHA;
 
 		this.salarioBase = 0.0;
 		this.horarioSemanal = 0.0;
 
-		this.certificacionesMap = new HashMap<>();
+		this.certificacionesMap = new MapaCertificaciones();
 	}
 
 	/**
@@ -76,7 +80,30 @@ public class Veterinario implements Iterable<Certificacion> {
 		this.salarioBase = (salarioBase >= 0.0) ? salarioBase : 0.0;
 		this.horarioSemanal = (horarioSemanal > 0 && horarioSemanal <= 60) ? horarioSemanal : 0;
 
-		this.certificacionesMap = new HashMap<>();
+		this.certificacionesMap = new MapaCertificaciones();
+	}
+
+	/**
+	 * Constructor de copia.
+	 * Copia los atributos y los IDs de las certificaciones, pero no los objetos
+	 * {@link Certificacion}, que se volverán a cargar bajo demanda.
+	 *
+	 * @param otro Veterinario a copiar.
+	 */
+	public Veterinario(Veterinario otro) {
+		this.num_licencia = otro.num_licencia;
+		this.nombre = otro.nombre;
+		this.apellido = otro.apellido;
+		this.fecha_contratacion = otro.fecha_contratacion;
+
+		this.contratoId = otro.contratoId;
+		this.salarioBase = otro.salarioBase;
+		this.horarioSemanal = otro.horarioSemanal;
+
+		this.certificacionesMap = new MapaCertificaciones();
+		for (PrimitiveIterator.OfInt it = otro.certificacionesMap.iteradorIds(); it.hasNext();) {
+			this.certificacionesMap.put(it.nextInt(), null);
+		}
 	}
 
 	/**
@@ -129,10 +156,10 @@ public class Veterinario implements Iterable<Certificacion> {
 
 	/**
 	 * Obtiene la fecha de contratación.
-	 * @return Fecha de contratación (formato YYYY-MM-DD).
+	 * @return Fecha de contratación (formato YYYY-MM-DD), o cadena vacía si no tiene.
 	 */
 	public String getFecha_contratacion() {
-		return fecha_contratacion;
+		return formatearFecha(fecha_contratacion);
 	}
 
 	/**
@@ -143,24 +170,136 @@ public class Veterinario implements Iterable<Certificacion> {
 		this.fecha_contratacion = validateAndFormatDate(fecha_contratacion);
 	}
 
+	/**
+	 * Obtiene la fecha de contratación como número de día.
+	 * @return Días desde 1970-01-01 (como {@link LocalDate#toEpochDay()}), o {@link #SIN_FECHA}.
+	 */
+	public int getDiaContratacion() {
+		return fecha_contratacion;
+	}
+
+	/**
+	 * Establece la fecha de contratación como número de día, sin pasar por texto.
+	 * @param diaContratacion Días desde 1970-01-01, o {@link #SIN_FECHA}.
+	 */
+	public void setDiaContratacion(int diaContratacion) {
+		this.fecha_contratacion = diaContratacion;
+	}
+
 	/**
 	 * Valida si la cadena de fecha cumple con el formato YYYY-MM-DD y es lógicamente válida.
-	 * Si es válida, devuelve la cadena formateada; de lo contrario, devuelve cadena vacía.
+	 * <p>
+	 * Las fechas ya normalizadas (las que vienen de la base de datos) se leen a mano, sin
+	 * {@link DateTimeFormatter}; solo se usa el formateador si la cadena tiene otra forma
+	 * o un día fuera de rango, para conservar su misma interpretación.
+	 * </p>
 	 *
 	 * @param fecha_contratacion_str Cadena de fecha a validar.
-	 * @return Fecha validada o cadena vacía si es inválida.
+	 * @return Día de la fecha (epoch day) o {@link #SIN_FECHA} si es inválida.
 	 */
-	private String validateAndFormatDate(String fecha_contratacion_str) {
-		if (fecha_contratacion_str == null || fecha_contratacion_str.trim().isEmpty()) {
-			return "";
+	private static int validateAndFormatDate(String fecha_contratacion_str) {
+		if (fecha_contratacion_str == null) {
+			return SIN_FECHA;
+		}
+
+		int diaIso = leerFechaIso(fecha_contratacion_str);
+		if (diaIso != SIN_FECHA) {
+			return diaIso;
+		}
+
+		if (fecha_contratacion_str.trim().isEmpty()) {
+			return SIN_FECHA;
 		}
 
 		try {
-			LocalDate date = LocalDate.parse(fecha_contratacion_str.trim(), ISO_DATE_FORMATTER);
-			return date.format(ISO_DATE_FORMATTER);
+			long dia = LocalDate.parse(fecha_contratacion_str.trim(), ISO_DATE_FORMATTER).toEpochDay();
+			return (dia > Integer.MAX_VALUE || dia <= SIN_FECHA) ? SIN_FECHA : (int) dia;
 		} catch (DateTimeParseException e) {
+			return SIN_FECHA;
+		}
+	}
+
+	/**
+	 * Lee una fecha exactamente en la forma {@code yyyy-MM-dd} (año 0001-9999, día válido para el mes).
+	 *
+	 * @return Día de la fecha (epoch day), o {@link #SIN_FECHA} si la cadena no tiene esa forma.
+	 */
+	private static int leerFechaIso(String texto) {
+		if (texto.length() != 10 || texto.charAt(4) != '-' || texto.charAt(7) != '-') {
+			return SIN_FECHA;
+		}
+		int anio = digitos(texto, 0, 4);
+		int mes = digitos(texto, 5, 7);
+		int dia = digitos(texto, 8, 10);
+		if (anio < 1 || mes < 1 || mes > 12 || dia < 1 || dia > diasDelMes(anio, mes)) {
+			return SIN_FECHA;
+		}
+		return diaDesdeFecha(anio, mes, dia);
+	}
+
+	private static int digitos(String texto, int desde, int hasta) {
+		int valor = 0;
+		for (int i = desde; i < hasta; i++) {
+			int d = texto.charAt(i) - '0';
+			if (d < 0 || d > 9) {
+				return -1;
+			}
+			valor = valor * 10 + d;
+		}
+		return valor;
+	}
+
+	private static int diasDelMes(int anio, int mes) {
+		switch (mes) {
+		case 2:
+			boolean bisiesto = (anio % 4 == 0 && anio % 100 != 0) || anio % 400 == 0;
+			return bisiesto ? 29 : 28;
+		case 4: case 6: case 9: case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+
+	/**
+	 * Días desde 1970-01-01 de una fecha del calendario gregoriano (algoritmo "days from civil").
+	 */
+	private static int diaDesdeFecha(int anio, int mes, int dia) {
+		int y = mes <= 2 ? anio - 1 : anio;
+		int era = (y >= 0 ? y : y - 399) / 400;
+		int anioDeEra = y - era * 400;
+		int diaDelAnio = (153 * (mes + (mes > 2 ? -3 : 9)) + 2) / 5 + dia - 1;
+		int diaDeEra = anioDeEra * 365 + anioDeEra / 4 - anioDeEra / 100 + diaDelAnio;
+		return era * 146097 + diaDeEra - 719468;
+	}
+
+	/**
+	 * Texto {@code yyyy-MM-dd} de un día (inverso de {@link #diaDesdeFecha(int, int, int)}).
+	 *
+	 * @return Fecha formateada, o cadena vacía para {@link #SIN_FECHA}.
+	 */
+	private static String formatearFecha(int diaEpoca) {
+		if (diaEpoca == SIN_FECHA) {
 			return "";
 		}
+
+		int z = diaEpoca + 719468;
+		int era = (z >= 0 ? z : z - 146096) / 146097;
+		int diaDeEra = z - era * 146097;
+		int anioDeEra = (diaDeEra - diaDeEra / 1460 + diaDeEra / 36524 - diaDeEra / 146096) / 365;
+		int diaDelAnio = diaDeEra - (365 * anioDeEra + anioDeEra / 4 - anioDeEra / 100);
+		int mp = (5 * diaDelAnio + 2) / 153;
+		int dia = diaDelAnio - (153 * mp + 2) / 5 + 1;
+		int mes = mp < 10 ? mp + 3 : mp - 9;
+		int anio = anioDeEra + era * 400 + (mes <= 2 ? 1 : 0);
+
+		if (anio < 1 || anio > 9999) {
+			return LocalDate.ofEpochDay(diaEpoca).format(ISO_DATE_FORMATTER);
+		}
+		char[] texto = { (char) ('0' + anio / 1000), (char) ('0' + anio / 100 % 10), (char) ('0' + anio / 10 % 10),
+				(char) ('0' + anio % 10), '-', (char) ('0' + mes / 10), (char) ('0' + mes % 10), '-',
+				(char) ('0' + dia / 10), (char) ('0' + dia % 10) };
+		return new String(texto);
 	}
 
 	/**
@@ -217,7 +356,7 @@ public class Veterinario implements Iterable<Certificacion> {
 	 * Añade una certificación al veterinario por su ID.
 	 * @param certificacionId ID de la certificación a añadir.
 	 */
-	public void addCertificacion(Integer certificacionId) {
+	public void addCertificacion(int certificacionId) {
 		this.certificacionesMap.put(certificacionId, null);
 	}
 
@@ -245,7 +384,7 @@ public class Veterinario implements Iterable<Certificacion> {
 	 * Elimina una certificación del veterinario por su ID.
 	 * @param certificacionId ID de la certificación a eliminar.
 	 */
-	public void removeCertificacion(Integer certificacionId) {
+	public void removeCertificacion(int certificacionId) {
 		this.certificacionesMap.remove(certificacionId);
 	}
 
@@ -275,7 +414,16 @@ public class Veterinario implements Iterable<Certificacion> {
 	}
 
 	/**
-	 * Obtiene la colección de objetos Certificación almacenados en el HashMap.
+	 * Indica si el veterinario tiene asociada la certificación dada.
+	 * @param certificacionId ID de la certificación.
+	 * @return {@code true} si el ID está en su mapa de certificaciones.
+	 */
+	public boolean tieneCertificacion(int certificacionId) {
+		return this.certificacionesMap.containsKey(certificacionId);
+	}
+
+	/**
+	 * Obtiene la colección de objetos Certificación almacenados en el mapa (vista, sin copia).
 	 * @return Colección de objetos {@link Certificacion}.
 	 */
 	public Collection<Certificacion> getCertificacionesMapValues() {
@@ -283,7 +431,7 @@ public class Veterinario implements Iterable<Certificacion> {
 	}
 
 	/**
-	 * Obtiene el HashMap completo de las certificaciones.
+	 * Obtiene el mapa completo de las certificaciones.
 	 * @return Mapa con los IDs como claves y objetos {@link Certificacion} como valores.
 	 */
 	public Map<Integer, Certificacion> getCertificacionesMap() {
@@ -291,13 +439,13 @@ public class Veterinario implements Iterable<Certificacion> {
 	}
 
 	/**
-	 * Reindexa una certificación en el HashMap, reemplazando una entrada temporal (ID 0)
+	 * Reindexa una certificación en el mapa, reemplazando una entrada temporal (ID 0)
 	 * con su nuevo ID autogenerado.
 	 *
 	 * @param idTemporal ID temporal (debe ser 0).
 	 * @param certificacion Objeto {@link Certificacion} con el ID real.
 	 */
-	public void reindexarCertificacion(Integer idTemporal, Certificacion certificacion) {
+	public void reindexarCertificacion(int idTemporal, Certificacion certificacion) {
 		if (this.certificacionesMap.containsKey(idTemporal) && certificacion.getId() > 0) {
 			this.certificacionesMap.remove(idTemporal);
 			this.certificacionesMap.put(certificacion.getId(), certificacion);
@@ -306,27 +454,51 @@ public class Veterinario implements Iterable<Certificacion> {
 
 	/**
 	 * Obtiene un iterador de IDs de certificaciones asociadas al veterinario.
+	 * Recorre directamente el índice, sin copiar las claves.
 	 * @return Iterador de enteros con los IDs de las certificaciones.
 	 */
-	public Iterator<Integer> getCertificacionesIds() {
-		return new ArrayList<>(this.certificacionesMap.keySet()).iterator();
+	public PrimitiveIterator.OfInt getCertificacionesIds() {
+		return this.certificacionesMap.iteradorIds();
 	}
 
 	/**
 	 * Obtiene un iterador de objetos {@link Certificacion}, cargándolos de forma perezosa.
+	 * Todas las certificaciones pendientes se recuperan juntas mediante
+	 * {@link CertificacionPersistence#readByIds(Collection)}.
 	 * @return Iterador de objetos {@link Certificacion}.
 	 */
 	public Iterator<Certificacion> getCertificaciones() {
-		for (Integer cId : this.certificacionesMap.keySet()) {
-			if (this.certificacionesMap.get(cId) == null) {
-				Certificacion c = CertificacionPersistence.readById(cId);
-				if (c != null) {
-					c.setVeterinario_licencia(this.num_licencia);
-					this.certificacionesMap.put(cId, c);
-				}
-			}
+		List<Integer> pendientes = new ArrayList<>();
+		this.certificacionesMap.forEachPendiente(pendientes::add);
+		if (!pendientes.isEmpty()) {
+			cargarCertificaciones(CertificacionPersistence.readByIds(pendientes));
 		}
-		return new ArrayList<>(this.certificacionesMap.values()).iterator();
+		return this.certificacionesMap.iteradorValores();
+	}
+
+	/**
+	 * Rellena las certificaciones pendientes de carga con las encontradas en el mapa dado.
+	 * Las que no aparecen en el mapa se dejan como estaban.
+	 *
+	 * @param cargadas Mapa id → {@link Certificacion} ya recuperado de la base de datos.
+	 */
+	public void cargarCertificaciones(Map<Integer, Certificacion> cargadas) {
+		this.certificacionesMap.completarPendientes(cId -> {
+			Certificacion c = cargadas.get(cId);
+			if (c != null) {
+				c.setVeterinario_licencia(this.num_licencia);
+			}
+			return c;
+		});
+	}
+
+	/**
+	 * Recorre los IDs de las certificaciones que todavía no se han cargado.
+	 *
+	 * @param accion Acción a ejecutar con cada ID pendiente.
+	 */
+	public void forEachCertificacionPendiente(IntConsumer accion) {
+		this.certificacionesMap.forEachPendiente(accion);
 	}
 
 	/**
@@ -349,7 +521,7 @@ public class Veterinario implements Iterable<Certificacion> {
 	    StringBuilder sb = new StringBuilder();
 	    sb.append("Licencia: ").append(num_licencia)
 	      .append(" | Nombre: ").append(nombre).append(" ").append(apellido)
-	      .append(" | Contratación: ").append(fecha_contratacion)
+	      .append(" | Contratación: ").append(getFecha_contratacion())
 	      .append(" | Salario: $").append(salarioBase)
 	      .append(" | Horas/Semana: ").append(horarioSemanal);
 	    return sb.toString();
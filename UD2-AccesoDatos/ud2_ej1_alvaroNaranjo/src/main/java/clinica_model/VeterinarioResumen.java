@@ -0,0 +1,50 @@
+package clinica_model;
+
+/**
+ * Datos mínimos de un veterinario para listados: licencia, nombre y apellido.
+ * Inmutable; se lee con una consulta que solo trae esas tres columnas, sin contrato
+ * ni certificaciones (ver {@link Veterinario} para el objeto completo).
+ */
+public final class VeterinarioResumen {
+
+	private final int licencia;
+	private final String nombre;
+	private final String apellido;
+
+	/**
+	 * @param licencia Número de licencia.
+	 * @param nombre   Nombre del veterinario.
+	 * @param apellido Apellido del veterinario.
+	 */
+	public VeterinarioResumen(int licencia, String nombre, String apellido) {
+		this.licencia = licencia;
+		this.nombre = nombre;
+		this.apellido = apellido;
+	}
+
+	/**
+	 * @return Número de licencia.
+	 */
+	public int getLicencia() {
+		return licencia;
+	}
+
+	/**
+	 * @return Nombre del veterinario.
+	 */
+	public String getNombre() {
+		return nombre;
+	}
+
+	/**
+	 * @return Apellido del veterinario.
+	 */
+	public String getApellido() {
+		return apellido;
+	}
+
+	@Override
+	public String toString() {
+		return "Licencia " + licencia + ": " + nombre + " " + apellido;
+	}
+}
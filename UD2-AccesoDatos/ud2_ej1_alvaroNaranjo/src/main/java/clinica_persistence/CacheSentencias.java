@@ -0,0 +1,208 @@
+package clinica_persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de sentencias preparadas de una conexión física.
+ * <p>
+ * {@link #preparar(String, int)} entrega una sentencia ya preparada si hay una libre con
+ * el mismo SQL; si no, la prepara. El objeto entregado es un envoltorio: su
+ * {@code close()} cierra los ResultSet abiertos, limpia parámetros y lote, y la deja
+ * libre para la siguiente llamada en lugar de finalizarla en SQLite. Las sentencias
+ * libres se guardan en orden LRU y se cierran de verdad al ser expulsadas.
+ * </p>
+ * <p>
+ * Solo la usa el hilo que tiene prestada la conexión, por lo que no necesita
+ * sincronización. Las sentencias que el código olvide cerrar se recuperan con
+ * {@link #recuperarPrestadas()} al devolver la conexión al pool.
+ * </p>
+ */
+final class CacheSentencias {
+
+	private final Connection fisica;
+	private final LinkedHashMap<String, PreparedStatement> libres;
+	private final List<SentenciaPrestada> prestadas = new ArrayList<>();
+	private final AtomicLong reutilizadas;
+	private final AtomicLong preparadas;
+
+	/**
+	 * @param fisica       Conexión física a la que pertenecen las sentencias.
+	 * @param capacidad    Número máximo de sentencias libres guardadas.
+	 * @param reutilizadas Contador compartido de sentencias entregadas desde la caché.
+	 * @param preparadas   Contador compartido de sentencias preparadas en SQLite.
+	 */
+	CacheSentencias(Connection fisica, int capacidad, AtomicLong reutilizadas, AtomicLong preparadas) {
+		this.fisica = fisica;
+		this.reutilizadas = reutilizadas;
+		this.preparadas = preparadas;
+		this.libres = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+				if (size() > capacidad) {
+					cerrarSilenciosamente(eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Entrega una sentencia preparada para el SQL dado, reutilizando una libre si la hay.
+	 *
+	 * @param sql               Sentencia SQL.
+	 * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} o {@link Statement#NO_GENERATED_KEYS}.
+	 * @return Envoltorio de la sentencia; debe cerrarse para devolverla a la caché.
+	 * @throws SQLException si falla la preparación.
+	 */
+	PreparedStatement preparar(String sql, int autoGeneratedKeys) throws SQLException {
+		String clave = autoGeneratedKeys + ":" + sql;
+		PreparedStatement real = libres.remove(clave);
+		if (real != null) {
+			reutilizadas.incrementAndGet();
+		} else {
+			real = (autoGeneratedKeys == Statement.NO_GENERATED_KEYS)
+					? fisica.prepareStatement(sql)
+					: fisica.prepareStatement(sql, autoGeneratedKeys);
+			preparadas.incrementAndGet();
+		}
+
+		SentenciaPrestada prestada = new SentenciaPrestada(clave, sql, real);
+		prestadas.add(prestada);
+		return (PreparedStatement) Proxy.newProxyInstance(
+				PreparedStatement.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class },
+				prestada);
+	}
+
+	/**
+	 * Devuelve a la caché las sentencias que siguen prestadas (olvidadas sin cerrar,
+	 * normalmente en un camino de error).
+	 */
+	void recuperarPrestadas() {
+		for (SentenciaPrestada prestada : new ArrayList<>(prestadas)) {
+			prestada.devolver();
+		}
+	}
+
+	/**
+	 * Cierra todas las sentencias, libres y prestadas, antes de cerrar la conexión física.
+	 */
+	void cerrar() {
+		for (SentenciaPrestada prestada : prestadas) {
+			prestada.cerrada = true;
+			cerrarSilenciosamente(prestada.real);
+		}
+		prestadas.clear();
+		for (PreparedStatement real : libres.values()) {
+			cerrarSilenciosamente(real);
+		}
+		libres.clear();
+	}
+
+	private static void cerrarSilenciosamente(Statement stmt) {
+		try {
+			stmt.close();
+		} catch (SQLException e) {
+			// La sentencia ya no se va a usar
+		}
+	}
+
+	/**
+	 * Envoltorio que intercepta {@code close()} para devolver la sentencia a la caché.
+	 */
+	private final class SentenciaPrestada implements InvocationHandler {
+		private final String clave;
+		private final String sql;
+		private final PreparedStatement real;
+		private final List<ResultSet> resultados = new ArrayList<>(2);
+		private boolean cerrada;
+
+		private SentenciaPrestada(String clave, String sql, PreparedStatement real) {
+			this.clave = clave;
+			this.sql = sql;
+			this.real = real;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				devolver();
+				return null;
+			case "isClosed":
+				return cerrada;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "SentenciaPrestada[" + real + "]";
+			default:
+				break;
+			}
+
+			if (cerrada) {
+				throw new SQLException("La sentencia ya fue cerrada");
+			}
+			Object resultado;
+			OperacionMedida op = Instrumentacion.actual();
+			if (op != null) {
+				resultado = Instrumentacion.invocarMedido(op, sql, real, method, args);
+			} else {
+				try {
+					resultado = method.invoke(real, args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+			}
+			if (resultado instanceof ResultSet) {
+				// Se cierran al devolver: un cursor abierto mantendría viva la transacción de lectura
+				resultados.add((ResultSet) resultado);
+			}
+			return resultado;
+		}
+
+		private void devolver() {
+			if (cerrada) {
+				return;
+			}
+			cerrada = true;
+			prestadas.remove(this);
+
+			try {
+				for (ResultSet rs : resultados) {
+					rs.close();
+				}
+				real.clearParameters();
+				real.clearBatch();
+				real.clearWarnings();
+			} catch (SQLException e) {
+				// No se puede dejar limpia: se descarta
+				cerrarSilenciosamente(real);
+				return;
+			}
+
+			PreparedStatement anterior = libres.put(clave, real);
+			if (anterior != null) {
+				// Ya había una libre con el mismo SQL (préstamos anidados): sobra una
+				cerrarSilenciosamente(anterior);
+			}
+		}
+	}
+}
@@ -0,0 +1,227 @@
+package clinica_persistence;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+import clinica_model.Veterinario;
+
+/**
+ * Caché de lectura de veterinarios por número de licencia, con expulsión LRU y
+ * caducidad opcional (TTL).
+ * <p>
+ * Se usa como caché de lectura: {@link #obtener(int, IntFunction)} devuelve el valor
+ * guardado o llama al cargador y guarda el resultado. Se guarda una copia privada y se
+ * entrega otra copia en cada acierto, de modo que modificar el objeto devuelto (como
+ * hace el menú antes de llamar a {@code update}) no altera lo que hay en la caché.
+ * </p>
+ * <p>
+ * Las escrituras deben llamar a {@link #invalidar(int)} o
+ * {@link #invalidarPorCertificacion(int)}. Una carga que empezó antes de una invalidación
+ * no se guarda, así que no puede volver a meter un dato obsoleto.
+ * </p>
+ */
+public class CacheVeterinarios {
+
+	private final int capacidad;
+	private final long ttlNanos;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final LinkedHashMap<Integer, Entrada> entradas;
+	private long generacion;
+
+	private final AtomicLong aciertos = new AtomicLong();
+	private final AtomicLong fallos = new AtomicLong();
+	private final AtomicLong expulsiones = new AtomicLong();
+
+	/**
+	 * Crea la caché.
+	 *
+	 * @param capacidad Número máximo de veterinarios guardados (0 desactiva la caché).
+	 * @param ttlMs     Tiempo de vida de cada entrada en milisegundos (0 = sin caducidad).
+	 */
+	public CacheVeterinarios(int capacidad, long ttlMs) {
+		this.capacidad = Math.max(0, capacidad);
+		this.ttlNanos = (ttlMs > 0) ? ttlMs * 1_000_000L : 0;
+		this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Entrada> eldest) {
+				if (size() > CacheVeterinarios.this.capacidad) {
+					expulsiones.incrementAndGet();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Crea la caché con la configuración de {@code db.properties}
+	 * ({@code cache.veterinarios.capacidad} y {@code cache.veterinarios.ttl.ms}).
+	 *
+	 * @return Caché configurada.
+	 */
+	static CacheVeterinarios desdeConfiguracion() {
+		Properties properties = DatabaseConnection.getPropiedades();
+		int capacidad = Integer.parseInt(properties.getProperty("cache.veterinarios.capacidad", "512"));
+		long ttl = Long.parseLong(properties.getProperty("cache.veterinarios.ttl.ms", "0"));
+		return new CacheVeterinarios(capacidad, ttl);
+	}
+
+	/**
+	 * Devuelve una copia del veterinario guardado o lo carga si no está (o ha caducado).
+	 * Los resultados {@code null} no se guardan.
+	 *
+	 * @param licencia Número de licencia.
+	 * @param cargador Función que lee el veterinario de la base de datos.
+	 * @return Copia del veterinario, o {@code null} si el cargador no lo encuentra.
+	 */
+	public Veterinario obtener(int licencia, IntFunction<Veterinario> cargador) {
+		long generacionInicial;
+
+		lock.lock();
+		try {
+			Entrada entrada = entradas.get(licencia);
+			if (entrada != null) {
+				if (ttlNanos == 0 || System.nanoTime() - entrada.cargadoEn < ttlNanos) {
+					aciertos.incrementAndGet();
+					return new Veterinario(entrada.veterinario);
+				}
+				entradas.remove(licencia);
+			}
+			generacionInicial = generacion;
+		} finally {
+			lock.unlock();
+		}
+
+		// La consulta se hace sin el bloqueo para no serializar las lecturas
+		fallos.incrementAndGet();
+		Veterinario cargado = cargador.apply(licencia);
+		if (cargado == null || capacidad == 0) {
+			return cargado;
+		}
+
+		lock.lock();
+		try {
+			if (generacion == generacionInicial) {
+				entradas.put(licencia, new Entrada(new Veterinario(cargado), System.nanoTime()));
+			}
+		} finally {
+			lock.unlock();
+		}
+		return cargado;
+	}
+
+	/**
+	 * Elimina de la caché el veterinario con la licencia dada.
+	 *
+	 * @param licencia Número de licencia.
+	 */
+	public void invalidar(int licencia) {
+		lock.lock();
+		try {
+			generacion++;
+			entradas.remove(licencia);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Elimina de la caché los veterinarios que tienen asociada la certificación dada.
+	 * Recorre solo las entradas en memoria, sin consultar la base de datos.
+	 *
+	 * @param certificacionId ID de la certificación modificada o eliminada.
+	 */
+	public void invalidarPorCertificacion(int certificacionId) {
+		lock.lock();
+		try {
+			generacion++;
+			Iterator<Entrada> it = entradas.values().iterator();
+			while (it.hasNext()) {
+				if (it.next().veterinario.tieneCertificacion(certificacionId)) {
+					it.remove();
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Vacía la caché (los contadores se mantienen).
+	 */
+	public void invalidarTodo() {
+		lock.lock();
+		try {
+			generacion++;
+			entradas.clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return Número de lecturas servidas desde la caché.
+	 */
+	public long getAciertos() {
+		return aciertos.get();
+	}
+
+	/**
+	 * @return Número de lecturas que tuvieron que ir a la base de datos.
+	 */
+	public long getFallos() {
+		return fallos.get();
+	}
+
+	/**
+	 * @return Número de entradas expulsadas por superar la capacidad.
+	 */
+	public long getExpulsiones() {
+		return expulsiones.get();
+	}
+
+	/**
+	 * @return Número de veterinarios guardados actualmente.
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			return entradas.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return Capacidad máxima configurada.
+	 */
+	public int getCapacidad() {
+		return capacidad;
+	}
+
+	@Override
+	public String toString() {
+		long total = getAciertos() + getFallos();
+		double ratio = (total == 0) ? 0.0 : 100.0 * getAciertos() / total;
+		return String.format("CacheVeterinarios[%d/%d, aciertos=%d, fallos=%d, expulsiones=%d, ratio=%.1f%%]",
+				size(), capacidad, getAciertos(), getFallos(), getExpulsiones(), ratio);
+	}
+
+	private static final class Entrada {
+		private final Veterinario veterinario;
+		private final long cargadoEn;
+
+		private Entrada(Veterinario veterinario, long cargadoEn) {
+			this.veterinario = veterinario;
+			this.cargadoEn = cargadoEn;
+		}
+	}
+}
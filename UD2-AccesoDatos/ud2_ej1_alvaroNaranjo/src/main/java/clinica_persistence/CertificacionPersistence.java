@@ -4,9 +4,14 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import clinica_model.Certificacion;
 import clinica_model.Veterinario;
@@ -21,6 +26,17 @@ import errores.Errores;
  */
 public class CertificacionPersistence {
 
+    // Consultas por clave; MigracionesEsquema comprueba sus planes al arrancar
+    static final String SQL_LEER_CERTIFICACION = "SELECT id, institucion_emisora, nombre_especialidad, veterinario_licencia FROM Certificacion WHERE id = ?";
+    static final String SQL_LEER_POR_VETERINARIO = "SELECT id, institucion_emisora, nombre_especialidad, veterinario_licencia FROM Certificacion WHERE veterinario_licencia = ?";
+    static final String SQL_PAGINA = "SELECT id, institucion_emisora, nombre_especialidad, veterinario_licencia FROM Certificacion "
+            + "WHERE id > ? ORDER BY id LIMIT ?";
+    static final String SQL_ACTUALIZAR = "UPDATE Certificacion SET institucion_emisora = ?, nombre_especialidad = ?, veterinario_licencia = ? WHERE id = ?";
+    static final String SQL_BORRAR = "DELETE FROM Certificacion WHERE id = ?";
+
+    // Inicio de readByIds: faltan los marcadores y el paréntesis final
+    static final String SQL_LEER_EN = "SELECT id, institucion_emisora, nombre_especialidad, veterinario_licencia FROM Certificacion WHERE id IN (";
+
     // MÉTODOS CRUD 
 
     /**
@@ -30,60 +46,186 @@ public class CertificacionPersistence {
      * @return {@code true} si la operación fue exitosa, {@code false} en caso contrario
      */
     public static boolean create(Certificacion certificacion) {
-        String sql = "INSERT INTO Certificacion (institucion_emisora, nombre_especialidad, veterinario_licencia) VALUES (?, ?, ?)";
-
-        Connection connection = null;
-        boolean insertado = false;
+        Escritura escritura = crear(certificacion);
+        return escritura != null && escritura.ejecutar();
+    }
 
+    /**
+     * Escritura de {@link #create(Certificacion)}, sin transacción propia.
+     * El ID generado se asigna al objeto y se vuelve a 0 si la escritura se descarta.
+     *
+     * @param certificacion objeto {@link Certificacion} a insertar
+     * @return la escritura, o {@code null} si la certificación no es válida
+     */
+    static Escritura crear(Certificacion certificacion) {
         if (certificacion == null || certificacion.getVeterinario_licencia() <= 0) {
-            return false;
+            return null;
         }
 
-        try {
-            connection = DatabaseConnection.getConnection();
-            connection.setAutoCommit(false);
+        return new Escritura("crear certificacion") {
+            @Override
+            boolean aplicar(Connection connection) throws SQLException {
+                String sql = "INSERT INTO Certificacion (institucion_emisora, nombre_especialidad, veterinario_licencia) VALUES (?, ?, ?)";
+                boolean insertado;
+
+                try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    stmt.setString(1, certificacion.getInstitucion_emisora());
+                    stmt.setString(2, certificacion.getNombre_especialidad());
+                    stmt.setInt(3, certificacion.getVeterinario_licencia());
+
+                    insertado = stmt.executeUpdate() > 0;
+
+                    if (insertado) {
+                        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                            if (generatedKeys.next()) {
+                                certificacion.setId(generatedKeys.getInt(1));
+                            }
+                        }
+                    }
+                }
+                return insertado;
+            }
 
-            PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            stmt.setString(1, certificacion.getInstitucion_emisora());
-            stmt.setString(2, certificacion.getNombre_especialidad());
-            stmt.setInt(3, certificacion.getVeterinario_licencia());
+            @Override
+            void confirmada() {
+                VeterinarioPersistence.getCache().invalidar(certificacion.getVeterinario_licencia());
+            }
+
+            @Override
+            void descartada() {
+                certificacion.setId(0);
+            }
+        };
+    }
+
+    /**
+     * Inserta varias certificaciones en una sola transacción usando lotes JDBC.
+     * <p>Los IDs generados se asignan a cada objeto. Las filas que fallan (nulas, sin
+     * veterinario o que violan alguna restricción) se marcan como fallidas y el resto
+     * se confirma igualmente.</p>
+     *
+     * @param certificaciones certificaciones a insertar
+     * @return un resultado por certificación, en el orden de iteración de la colección:
+     *         {@code true} si se insertó, {@code false} si falló
+     */
+    public static boolean[] createAll(Collection<Certificacion> certificaciones) {
+        List<Certificacion> lista = new ArrayList<>(certificaciones);
+        boolean[] resultados = new boolean[lista.size()];
+        if (lista.isEmpty()) {
+            return resultados;
+        }
 
-            insertado = stmt.executeUpdate() > 0;
+        Escritura escritura = new Escritura("crear certificaciones en lote") {
+            @Override
+            boolean aplicar(Connection connection) throws SQLException {
+                boolean[] insertadas = insertarLote(connection, lista);
+                System.arraycopy(insertadas, 0, resultados, 0, insertadas.length);
+                return true;
+            }
 
-            if (insertado) {
-                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        certificacion.setId(generatedKeys.getInt(1));
+            @Override
+            void confirmada() {
+                for (int i = 0; i < resultados.length; i++) {
+                    if (resultados[i]) {
+                        VeterinarioPersistence.getCache().invalidar(lista.get(i).getVeterinario_licencia());
                     }
                 }
-                connection.commit();
-            } else {
-                connection.rollback();
             }
 
-            stmt.close();
-
-        } catch (SQLException e) {
-            Errores.notificarError("crear certificacion", e);
-            insertado = false;
-            try {
-                if (connection != null) {
-                    connection.rollback();
+            @Override
+            void descartada() {
+                // Ninguna fila quedó guardada: los IDs asignados no existen
+                for (int i = 0; i < resultados.length; i++) {
+                    if (resultados[i]) {
+                        lista.get(i).setId(0);
+                        resultados[i] = false;
+                    }
                 }
-            } catch (SQLException e1) {
-                Errores.notificarError("hacer rollback al crear certificacion", e1);
             }
-        } finally {
-            if (connection != null) {
+        };
+
+        escritura.ejecutar();
+        return resultados;
+    }
+
+    /**
+     * Inserta las certificaciones con {@code addBatch}/{@code executeBatch} dentro de la
+     * transacción ya abierta en la conexión, sin confirmarla.
+     * <p>Si el lote completo entra, los IDs se deducen de {@code last_insert_rowid()}: con
+     * AUTOINCREMENT y la transacción de escritura en curso, los IDs de un lote son
+     * consecutivos. Si alguna fila falla, se deshace el lote y se insertan una a una para
+     * saber exactamente cuáles fallan.</p>
+     *
+     * @param connection      conexión con autoCommit desactivado
+     * @param certificaciones certificaciones a insertar
+     * @return un resultado por certificación, en el mismo orden
+     * @throws SQLException si falla algo distinto de una fila concreta
+     */
+    static boolean[] insertarLote(Connection connection, List<Certificacion> certificaciones) throws SQLException {
+        String sql = "INSERT INTO Certificacion (institucion_emisora, nombre_especialidad, veterinario_licencia) VALUES (?, ?, ?)";
+        boolean[] resultados = new boolean[certificaciones.size()];
+
+        List<Integer> validas = new ArrayList<>(certificaciones.size());
+        for (int i = 0; i < certificaciones.size(); i++) {
+            Certificacion c = certificaciones.get(i);
+            if (c != null && c.getVeterinario_licencia() > 0) {
+                validas.add(i);
+            }
+        }
+        if (validas.isEmpty()) {
+            return resultados;
+        }
+
+        Savepoint antesDelLote = connection.setSavepoint();
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i : validas) {
+                Certificacion c = certificaciones.get(i);
+                stmt.setString(1, c.getInstitucion_emisora());
+                stmt.setString(2, c.getNombre_especialidad());
+                stmt.setInt(3, c.getVeterinario_licencia());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+
+            int id = ultimoIdInsertado(connection) - validas.size() + 1;
+            for (int i : validas) {
+                certificaciones.get(i).setId(id++);
+                resultados[i] = true;
+            }
+            connection.releaseSavepoint(antesDelLote);
+            return resultados;
+
+        } catch (SQLException e) {
+            // El driver de SQLite no siempre lanza BatchUpdateException: cualquier fallo del lote cae aquí
+            connection.rollback(antesDelLote);
+        }
+
+        // Algún registro viola una restricción: se repite fila a fila para aislarlo
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i : validas) {
+                Certificacion c = certificaciones.get(i);
+                stmt.setString(1, c.getInstitucion_emisora());
+                stmt.setString(2, c.getNombre_especialidad());
+                stmt.setInt(3, c.getVeterinario_licencia());
                 try {
-                    connection.setAutoCommit(true);
+                    resultados[i] = stmt.executeUpdate() > 0;
+                    if (resultados[i]) {
+                        c.setId(ultimoIdInsertado(connection));
+                    }
                 } catch (SQLException e) {
-                    Errores.notificarError("cerrar conexión al crear certificacion", e);
+                    Errores.notificarError("crear certificacion '" + c.getNombre_especialidad() + "'", e);
+                    resultados[i] = false;
                 }
             }
         }
+        return resultados;
+    }
 
-        return insertado;
+    private static int ultimoIdInsertado(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
     }
 
     /**
@@ -118,18 +260,132 @@ public class CertificacionPersistence {
             Errores.notificarError("leer todas las certificaciones", e);
             certificaciones = new ArrayList<>();
         } finally {
-            try {
-                if (connection != null) {
-                    connection.setAutoCommit(true);
-                }
-            } catch (SQLException e) {
-                Errores.notificarError("restaurar autoCommit", e);
+            DatabaseConnection.liberar(connection);
+        }
+
+        return certificaciones;
+    }
+
+    /**
+     * Recupera una página de certificaciones ordenadas por identificador.
+     * <p>Usa paginación por clave ({@code WHERE id > ? ORDER BY id LIMIT ?}) en lugar de
+     * {@code OFFSET}, así que el coste de una página no depende de su posición.</p>
+     *
+     * @param despuesDeId último ID de la página anterior (0 para la primera página)
+     * @param limite      número máximo de certificaciones de la página
+     * @return lista de certificaciones con ID mayor que {@code despuesDeId}; vacía si no hay más o si ocurre un error
+     */
+    public static List<Certificacion> readPage(int despuesDeId, int limite) {
+        List<Certificacion> certificaciones = new ArrayList<>();
+        if (limite <= 0) {
+            return certificaciones;
+        }
+
+        Connection connection = null;
+
+        try {
+            connection = DatabaseConnection.getConnection();
+            PreparedStatement stmt = connection.prepareStatement(SQL_PAGINA);
+            stmt.setInt(1, despuesDeId);
+            stmt.setInt(2, limite);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                certificaciones.add(new Certificacion(
+                        rs.getInt("id"),
+                        rs.getString("institucion_emisora"),
+                        rs.getString("nombre_especialidad"),
+                        rs.getInt("veterinario_licencia")));
+            }
+
+            rs.close();
+            stmt.close();
+
+        } catch (SQLException e) {
+            Errores.notificarError("leer página de certificaciones", e);
+            certificaciones = new ArrayList<>();
+        } finally {
+            DatabaseConnection.liberar(connection);
+        }
+
+        return certificaciones;
+    }
+
+    /**
+     * Busca certificaciones por texto en la especialidad y en la institución emisora.
+     * <p>Usa el índice de texto completo {@code CertificacionFts} (migración 4), que mantienen
+     * disparadores sobre {@code Certificacion}. Cada palabra de la consulta se busca como
+     * prefijo ("cirug" encuentra "Cirugía"), sin distinguir mayúsculas ni tildes, y deben
+     * aparecer todas. Los resultados se ordenan por relevancia (bm25), de más a menos, dando
+     * el doble de peso a la especialidad que a la institución.</p>
+     *
+     * @param consulta palabras a buscar; los signos de puntuación se ignoran
+     * @param limite   número máximo de resultados
+     * @return certificaciones encontradas; vacía si la consulta no tiene palabras, si no hay
+     *         coincidencias o si ocurre un error
+     */
+    public static List<Certificacion> search(String consulta, int limite) {
+        List<Certificacion> certificaciones = new ArrayList<>();
+        String expresion = expresionBusqueda(consulta);
+        if (expresion.isEmpty() || limite <= 0) {
+            return certificaciones;
+        }
+
+        String sql = "SELECT c.id, c.institucion_emisora, c.nombre_especialidad, c.veterinario_licencia "
+                + "FROM CertificacionFts f JOIN Certificacion c ON c.id = f.rowid "
+                + "WHERE CertificacionFts MATCH ? ORDER BY bm25(CertificacionFts, 2.0, 1.0) LIMIT ?";
+
+        Connection connection = null;
+
+        try {
+            connection = DatabaseConnection.getConnection();
+            PreparedStatement stmt = connection.prepareStatement(sql);
+            stmt.setString(1, expresion);
+            stmt.setInt(2, limite);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                certificaciones.add(new Certificacion(
+                        rs.getInt("id"),
+                        rs.getString("institucion_emisora"),
+                        rs.getString("nombre_especialidad"),
+                        rs.getInt("veterinario_licencia")));
             }
+
+            rs.close();
+            stmt.close();
+
+        } catch (SQLException e) {
+            Errores.notificarError("buscar certificaciones", e);
+            certificaciones = new ArrayList<>();
+        } finally {
+            DatabaseConnection.liberar(connection);
         }
 
         return certificaciones;
     }
 
+    /**
+     * Convierte el texto del usuario en una expresión FTS5: cada palabra entre comillas
+     * (así no se interpreta como operador) y con {@code *} para buscarla como prefijo.
+     * Separa por lo mismo que el tokenizador {@code unicode61}: todo lo que no sea letra o número.
+     */
+    static String expresionBusqueda(String consulta) {
+        if (consulta == null) {
+            return "";
+        }
+        StringBuilder expresion = new StringBuilder();
+        for (String palabra : consulta.split("[^\\p{L}\\p{N}]+")) {
+            if (!palabra.isEmpty()) {
+                if (expresion.length() > 0) {
+                    expresion.append(' ');
+                }
+                expresion.append('"').append(palabra).append("\"*");
+            }
+        }
+        return expresion.toString();
+    }
+
     /**
      * Recupera una certificación específica por su identificador.
      *
@@ -137,14 +393,13 @@ public class CertificacionPersistence {
      * @return objeto {@link Certificacion} si existe, o {@code null} si no se encuentra
      */
     public static Certificacion readById(int id) {
-        String sql = "SELECT id, institucion_emisora, nombre_especialidad, veterinario_licencia FROM Certificacion WHERE id = ?";
         Certificacion certificacion = null;
 
         Connection connection = null;
 
         try {
             connection = DatabaseConnection.getConnection();
-            PreparedStatement stmt = connection.prepareStatement(sql);
+            PreparedStatement stmt = connection.prepareStatement(SQL_LEER_CERTIFICACION);
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
 
@@ -162,13 +417,7 @@ public class CertificacionPersistence {
         } catch (SQLException e) {
             Errores.notificarError("leer certificacion por ID", e);
         } finally {
-            try {
-                if (connection != null) {
-                    connection.setAutoCommit(true);
-                }
-            } catch (SQLException e) {
-                Errores.notificarError("restaurar autoCommit", e);
-            }
+            DatabaseConnection.liberar(connection);
         }
 
         return certificacion;
@@ -182,13 +431,12 @@ public class CertificacionPersistence {
      */
     public static List<Certificacion> readByVeterinarioLicencia(int veterinarioLicencia) {
         List<Certificacion> certificaciones = new ArrayList<>();
-        String sql = "SELECT id, institucion_emisora, nombre_especialidad, veterinario_licencia FROM Certificacion WHERE veterinario_licencia = ?";
 
         Connection connection = null;
 
         try {
             connection = DatabaseConnection.getConnection();
-            PreparedStatement stmt = connection.prepareStatement(sql);
+            PreparedStatement stmt = connection.prepareStatement(SQL_LEER_POR_VETERINARIO);
             stmt.setInt(1, veterinarioLicencia);
             ResultSet rs = stmt.executeQuery();
 
@@ -208,126 +456,267 @@ public class CertificacionPersistence {
             Errores.notificarError("leer certificaciones por licencia de veterinario", e);
             certificaciones = new ArrayList<>();
         } finally {
-            try {
-                if (connection != null) {
-                    connection.setAutoCommit(true);
-                }
-            } catch (SQLException e) {
-                Errores.notificarError("restaurar autoCommit", e);
-            }
+            DatabaseConnection.liberar(connection);
         }
 
         return certificaciones;
     }
 
     /**
-     * Actualiza los datos de una certificación existente en la base de datos.
+     * Tamaño de lote por defecto con el que el cursor JDBC trae filas de la base de datos.
+     */
+    public static final int FETCH_SIZE_POR_DEFECTO = 256;
+
+    /**
+     * Recorre todas las certificaciones con un único cursor, sin cargarlas en una lista.
+     * Equivale a {@link #recorrerTodas(Consumer, int, boolean)} con el tamaño de lote por
+     * defecto y un objeto nuevo por fila.
      *
-     * @param certificacion objeto {@link Certificacion} con los datos actualizados
-     * @return {@code true} si la operación fue exitosa, {@code false} si no se actualizó
+     * @param accion acción a ejecutar con cada certificación
+     * @return número de filas procesadas
      */
-    public static boolean update(Certificacion certificacion) {
-        if (certificacion == null || certificacion.getId() <= 0) {
-            return false;
-        }
+    public static int recorrerTodas(Consumer<Certificacion> accion) {
+        return recorrerTodas(accion, FETCH_SIZE_POR_DEFECTO, false);
+    }
+
+    /**
+     * Recorre todas las certificaciones con un único cursor, en memoria constante.
+     * <p>La primera fila llega a la acción en cuanto el cursor la lee, sin esperar al resto.
+     * Si {@code reutilizarFila} es {@code true}, se pasa siempre la misma instancia de
+     * {@link Certificacion} con los datos de la fila actual: la acción no debe guardarla.</p>
+     *
+     * @param accion         acción a ejecutar con cada certificación
+     * @param fetchSize      número de filas que el driver trae por lote
+     * @param reutilizarFila {@code true} para reutilizar un único objeto en todas las filas
+     * @return número de filas procesadas
+     */
+    public static int recorrerTodas(Consumer<Certificacion> accion, int fetchSize, boolean reutilizarFila) {
+        String sql = "SELECT id, institucion_emisora, nombre_especialidad, veterinario_licencia FROM Certificacion";
+        return recorrer(sql, 0, accion, fetchSize, reutilizarFila, "recorrer todas las certificaciones");
+    }
 
-        String sql = "UPDATE Certificacion SET institucion_emisora = ?, nombre_especialidad = ?, veterinario_licencia = ? WHERE id = ?";
+    /**
+     * Recorre con un único cursor las certificaciones de un veterinario, sin cargarlas en una lista.
+     * Mismas reglas que {@link #recorrerTodas(Consumer, int, boolean)}.
+     *
+     * @param veterinarioLicencia número de licencia del veterinario
+     * @param accion              acción a ejecutar con cada certificación
+     * @param fetchSize           número de filas que el driver trae por lote
+     * @param reutilizarFila      {@code true} para reutilizar un único objeto en todas las filas
+     * @return número de filas procesadas
+     */
+    public static int recorrerPorVeterinarioLicencia(int veterinarioLicencia, Consumer<Certificacion> accion,
+            int fetchSize, boolean reutilizarFila) {
+        return recorrer(SQL_LEER_POR_VETERINARIO, veterinarioLicencia, accion, fetchSize, reutilizarFila,
+                "recorrer certificaciones por licencia de veterinario");
+    }
+
+    /**
+     * Ejecuta la consulta y entrega cada fila a la acción mientras el cursor está abierto.
+     *
+     * @param sql            consulta con como mucho un parámetro entero
+     * @param parametro      valor del parámetro (se ignora si la consulta no tiene ninguno)
+     * @param accion         acción a ejecutar con cada certificación
+     * @param fetchSize      número de filas que el driver trae por lote
+     * @param reutilizarFila {@code true} para reutilizar un único objeto en todas las filas
+     * @param descripcion    descripción de la operación para los mensajes de error
+     * @return número de filas procesadas
+     */
+    private static int recorrer(String sql, int parametro, Consumer<Certificacion> accion, int fetchSize,
+            boolean reutilizarFila, String descripcion) {
+        int filas = 0;
+        Certificacion fila = reutilizarFila ? new Certificacion() : null;
 
         Connection connection = null;
-        boolean actualizado = false;
 
         try {
             connection = DatabaseConnection.getConnection();
-            connection.setAutoCommit(false);
-
-            PreparedStatement stmt = connection.prepareStatement(sql);
-            stmt.setString(1, certificacion.getInstitucion_emisora());
-            stmt.setString(2, certificacion.getNombre_especialidad());
-            stmt.setInt(3, certificacion.getVeterinario_licencia());
-            stmt.setInt(4, certificacion.getId());
-
-            actualizado = stmt.executeUpdate() > 0;
-            stmt.close();
-
-            if (actualizado)
-                connection.commit();
-            else
-                connection.rollback();
-
-        } catch (SQLException e) {
-            Errores.notificarError("actualizar certificacion", e);
-            actualizado = false;
-            try {
-                if (connection != null) {
-                    connection.rollback();
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                if (sql.indexOf('?') >= 0) {
+                    stmt.setInt(1, parametro);
                 }
-            } catch (SQLException e1) {
-                Errores.notificarError("hacer rollback al actualizar certificacion", e1);
-            }
-        } finally {
-            if (connection != null) {
-                try {
-                    connection.setAutoCommit(true);
-                } catch (SQLException e) {
-                    Errores.notificarError("cerrar conexión al actualizar certificacion", e);
+                stmt.setFetchSize(fetchSize);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Certificacion certificacion = reutilizarFila ? fila : new Certificacion();
+                        certificacion.setId(rs.getInt("id"));
+                        certificacion.setInstitucion_emisora(rs.getString("institucion_emisora"));
+                        certificacion.setNombre_especialidad(rs.getString("nombre_especialidad"));
+                        certificacion.setVeterinario_licencia(rs.getInt("veterinario_licencia"));
+                        accion.accept(certificacion);
+                        filas++;
+                    }
                 }
             }
+
+        } catch (SQLException e) {
+            Errores.notificarError(descripcion, e);
+        } finally {
+            DatabaseConnection.liberar(connection);
         }
 
-        return actualizado;
+        return filas;
     }
 
     /**
-     * Elimina una certificación de la base de datos por su identificador.
+     * Recupera varias certificaciones por sus identificadores.
+     * <p>Las consultas se agrupan en lotes {@code WHERE id IN (...)}, de modo que el número
+     * de consultas depende del número de lotes y no del número de certificaciones.</p>
      *
-     * @param id identificador único de la certificación
-     * @return {@code true} si fue eliminada correctamente, {@code false} si no se eliminó
+     * @param ids identificadores a recuperar; se ignoran los nulos y los no positivos
+     * @return mapa id → {@link Certificacion} con las certificaciones encontradas
      */
-    public static boolean delete(int id) {
-        if (id <= 0) {
-            return false;
+    public static Map<Integer, Certificacion> readByIds(Collection<Integer> ids) {
+        Map<Integer, Certificacion> certificaciones = new HashMap<>();
+        List<Integer> pendientes = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            if (id != null && id > 0) {
+                pendientes.add(id);
+            }
+        }
+        if (pendientes.isEmpty()) {
+            return certificaciones;
         }
-
-        String sql = "DELETE FROM Certificacion WHERE id = ?";
 
         Connection connection = null;
-        boolean eliminado = false;
 
         try {
             connection = DatabaseConnection.getConnection();
-            connection.setAutoCommit(false);
-
-            PreparedStatement stmt = connection.prepareStatement(sql);
-            stmt.setInt(1, id);
-            eliminado = stmt.executeUpdate() > 0;
-            stmt.close();
 
-            if (eliminado)
-                connection.commit();
-            else
-                connection.rollback();
+            for (int desde = 0; desde < pendientes.size(); desde += Consultas.TAMANO_LOTE) {
+                List<Integer> lote = pendientes.subList(desde, Math.min(desde + Consultas.TAMANO_LOTE, pendientes.size()));
 
-        } catch (SQLException e) {
-            Errores.notificarError("eliminar certificacion", e);
-            eliminado = false;
-            try {
-                if (connection != null) {
-                    connection.rollback();
+                PreparedStatement stmt = connection.prepareStatement(SQL_LEER_EN + Consultas.marcadores(lote.size()) + ")");
+                for (int i = 0; i < lote.size(); i++) {
+                    stmt.setInt(i + 1, lote.get(i));
                 }
-            } catch (SQLException e1) {
-                Errores.notificarError("hacer rollback al eliminar certificacion", e1);
+                ResultSet rs = stmt.executeQuery();
+
+                while (rs.next()) {
+                    Certificacion certificacion = new Certificacion(
+                            rs.getInt("id"),
+                            rs.getString("institucion_emisora"),
+                            rs.getString("nombre_especialidad"),
+                            rs.getInt("veterinario_licencia"));
+                    certificaciones.put(certificacion.getId(), certificacion);
+                }
+
+                rs.close();
+                stmt.close();
             }
+
+        } catch (SQLException e) {
+            Errores.notificarError("leer certificaciones por lote de IDs", e);
+            certificaciones = new HashMap<>();
         } finally {
-            if (connection != null) {
-                try {
-                    connection.setAutoCommit(true);
-                } catch (SQLException e) {
-                    Errores.notificarError("cerrar conexión al eliminar certificacion", e);
+            DatabaseConnection.liberar(connection);
+        }
+
+        return certificaciones;
+    }
+
+    /**
+     * Carga de una sola pasada las certificaciones pendientes de todos los veterinarios indicados.
+     * <p>Tras la llamada, iterar sobre cualquiera de ellos no lanza consultas adicionales.</p>
+     *
+     * @param veterinarios veterinarios cuyas certificaciones se quieren precargar
+     */
+    public static void precargarCertificaciones(Collection<Veterinario> veterinarios) {
+        List<Integer> pendientes = new ArrayList<>();
+        for (Veterinario v : veterinarios) {
+            v.forEachCertificacionPendiente(pendientes::add);
+        }
+        if (pendientes.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Certificacion> cargadas = readByIds(pendientes);
+        for (Veterinario v : veterinarios) {
+            v.cargarCertificaciones(cargadas);
+        }
+    }
+
+    /**
+     * Actualiza los datos de una certificación existente en la base de datos.
+     *
+     * @param certificacion objeto {@link Certificacion} con los datos actualizados
+     * @return {@code true} si la operación fue exitosa, {@code false} si no se actualizó
+     */
+    public static boolean update(Certificacion certificacion) {
+        Escritura escritura = actualizar(certificacion);
+        return escritura != null && escritura.ejecutar();
+    }
+
+    /**
+     * Escritura de {@link #update(Certificacion)}, sin transacción propia.
+     *
+     * @param certificacion objeto {@link Certificacion} con los datos actualizados
+     * @return la escritura, o {@code null} si la certificación no es válida
+     */
+    static Escritura actualizar(Certificacion certificacion) {
+        if (certificacion == null || certificacion.getId() <= 0) {
+            return null;
+        }
+
+        return new Escritura("actualizar certificacion") {
+            @Override
+            boolean aplicar(Connection connection) throws SQLException {
+                try (PreparedStatement stmt = connection.prepareStatement(SQL_ACTUALIZAR)) {
+                    stmt.setString(1, certificacion.getInstitucion_emisora());
+                    stmt.setString(2, certificacion.getNombre_especialidad());
+                    stmt.setInt(3, certificacion.getVeterinario_licencia());
+                    stmt.setInt(4, certificacion.getId());
+
+                    return stmt.executeUpdate() > 0;
                 }
             }
+
+            @Override
+            void confirmada() {
+                // Puede haber cambiado de veterinario: se invalidan el anterior y el nuevo
+                VeterinarioPersistence.getCache().invalidarPorCertificacion(certificacion.getId());
+                VeterinarioPersistence.getCache().invalidar(certificacion.getVeterinario_licencia());
+            }
+        };
+    }
+
+    /**
+     * Elimina una certificación de la base de datos por su identificador.
+     *
+     * @param id identificador único de la certificación
+     * @return {@code true} si fue eliminada correctamente, {@code false} si no se eliminó
+     */
+    public static boolean delete(int id) {
+        Escritura escritura = eliminar(id);
+        return escritura != null && escritura.ejecutar();
+    }
+
+    /**
+     * Escritura de {@link #delete(int)}, sin transacción propia.
+     *
+     * @param id identificador único de la certificación
+     * @return la escritura, o {@code null} si el identificador no es válido
+     */
+    static Escritura eliminar(int id) {
+        if (id <= 0) {
+            return null;
         }
 
-        return eliminado;
+        return new Escritura("eliminar certificacion") {
+            @Override
+            boolean aplicar(Connection connection) throws SQLException {
+                try (PreparedStatement stmt = connection.prepareStatement(SQL_BORRAR)) {
+                    stmt.setInt(1, id);
+                    return stmt.executeUpdate() > 0;
+                }
+            }
+
+            @Override
+            void confirmada() {
+                VeterinarioPersistence.getCache().invalidarPorCertificacion(id);
+            }
+        };
     }
 
     /**
@@ -377,15 +766,16 @@ public class CertificacionPersistence {
      * Muestra en consola todas las certificaciones registradas en el sistema.
      */
     public static void mostrarTodasCertificaciones() {
-        List<Certificacion> certificaciones = readAll();
-        if (certificaciones == null || certificaciones.isEmpty()) {
-            System.out.println("No hay certificaciones registradas.");
-            return;
-        }
-
-        System.out.println("\n--- TODAS LAS CERTIFICACIONES ---");
-        for (Certificacion cert : certificaciones) {
+        int[] mostradas = { 0 };
+        recorrerTodas(cert -> {
+            if (mostradas[0]++ == 0) {
+                System.out.println("\n--- TODAS LAS CERTIFICACIONES ---");
+            }
             mostrarDetallesCertificacion(cert);
+        }, FETCH_SIZE_POR_DEFECTO, true);
+
+        if (mostradas[0] == 0) {
+            System.out.println("No hay certificaciones registradas.");
         }
     }
 
@@ -395,15 +785,16 @@ public class CertificacionPersistence {
      * @param licenciaVet número de licencia del veterinario
      */
     public static void mostrarCertificacionesPorVeterinario(int licenciaVet) {
-        List<Certificacion> certificaciones = readByVeterinarioLicencia(licenciaVet);
-        if (certificaciones == null || certificaciones.isEmpty()) {
-            System.out.println("No se encontraron certificaciones para el veterinario con licencia " + licenciaVet);
-            return;
-        }
-
-        System.out.println("\n--- CERTIFICACIONES DEL VETERINARIO " + licenciaVet + " ---");
-        for (Certificacion cert : certificaciones) {
+        int[] mostradas = { 0 };
+        recorrerPorVeterinarioLicencia(licenciaVet, cert -> {
+            if (mostradas[0]++ == 0) {
+                System.out.println("\n--- CERTIFICACIONES DEL VETERINARIO " + licenciaVet + " ---");
+            }
             mostrarDetallesCertificacion(cert);
+        }, FETCH_SIZE_POR_DEFECTO, true);
+
+        if (mostradas[0] == 0) {
+            System.out.println("No se encontraron certificaciones para el veterinario con licencia " + licenciaVet);
         }
     }
 
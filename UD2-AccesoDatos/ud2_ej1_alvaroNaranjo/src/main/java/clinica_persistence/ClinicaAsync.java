@@ -0,0 +1,260 @@
+package clinica_persistence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import clinica_model.Certificacion;
+import clinica_model.Veterinario;
+
+/**
+ * Fachada asíncrona de {@link VeterinarioPersistence} y {@link CertificacionPersistence}.
+ * <p>
+ * Cada método devuelve un {@link CompletableFuture} con el mismo resultado que el método
+ * síncrono equivalente (los errores SQL se siguen notificando con {@code Errores} y se
+ * traducen en {@code false}, {@code null} o listas vacías; el futuro no falla por ellos).
+ * </p>
+ * <ul>
+ * <li>Las lecturas se ejecutan cada una en un hilo virtual y toman una conexión del pool,
+ * así que su paralelismo real está limitado por {@code db.pool.size}.</li>
+ * <li>Las escrituras pasan por un único hilo escritor ({@link EscritorAgrupado}), en orden
+ * de llegada, igual que SQLite solo admite un escritor a la vez. Así no compiten entre ellas
+ * por el bloqueo de escritura ni acaban en {@code SQLITE_BUSY}, y las que llegan a la vez
+ * comparten transacción y commit. Cada futuro se completa tras el commit de su lote.
+ * El escritor es compartido por todas las instancias: se arranca con la primera escritura y
+ * se detiene con {@link #cerrarEscritor()}.</li>
+ * </ul>
+ */
+public class ClinicaAsync implements AutoCloseable {
+
+	/** Escritor común a todas las instancias; {@code null} hasta la primera escritura. */
+	private static EscritorAgrupado escritor;
+
+	private final ExecutorService lecturas;
+	/** Escrituras de esta instancia aún sin completar, para esperarlas en {@link #close()}. */
+	private final Set<CompletableFuture<Boolean>> escriturasPendientes = ConcurrentHashMap.newKeySet();
+	private volatile boolean cerrada;
+
+	/**
+	 * Crea la fachada con su propio ejecutor de lecturas. Debe cerrarse con {@link #close()}.
+	 */
+	public ClinicaAsync() {
+		this.lecturas = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("clinica-lectura-", 0).factory());
+	}
+
+	// ========================= VETERINARIOS ==============================
+
+	/**
+	 * Versión asíncrona de {@link VeterinarioPersistence#readAll()}.
+	 */
+	public CompletableFuture<List<Veterinario>> readAllVeterinarios() {
+		return leer(VeterinarioPersistence::readAll);
+	}
+
+	/**
+	 * Versión asíncrona de {@link VeterinarioPersistence#readById(int)}.
+	 */
+	public CompletableFuture<Veterinario> readVeterinario(int licencia) {
+		return leer(() -> VeterinarioPersistence.readById(licencia));
+	}
+
+	/**
+	 * Versión asíncrona de {@link VeterinarioPersistence#exists(int)}.
+	 */
+	public CompletableFuture<Boolean> existsVeterinario(int licencia) {
+		return leer(() -> VeterinarioPersistence.exists(licencia));
+	}
+
+	/**
+	 * Lee varios veterinarios en paralelo, una lectura por licencia.
+	 *
+	 * @param licencias Licencias a buscar.
+	 * @return Mapa licencia → veterinario (en el orden recibido), sin las licencias que no existen.
+	 */
+	public CompletableFuture<Map<Integer, Veterinario>> readVeterinarios(Collection<Integer> licencias) {
+		List<Integer> orden = new ArrayList<>(licencias);
+		List<CompletableFuture<Veterinario>> lecturasPendientes = new ArrayList<>(orden.size());
+		for (Integer licencia : orden) {
+			lecturasPendientes.add(readVeterinario(licencia));
+		}
+
+		return CompletableFuture.allOf(lecturasPendientes.toArray(new CompletableFuture<?>[0]))
+				.thenApply(ignorado -> {
+					Map<Integer, Veterinario> resultado = new LinkedHashMap<>();
+					for (int i = 0; i < orden.size(); i++) {
+						Veterinario v = lecturasPendientes.get(i).join();
+						if (v != null) {
+							resultado.put(orden.get(i), v);
+						}
+					}
+					return resultado;
+				});
+	}
+
+	/**
+	 * Versión asíncrona de {@link VeterinarioPersistence#create(Veterinario)} (agrupada en el hilo escritor).
+	 */
+	public CompletableFuture<Boolean> createVeterinario(Veterinario veterinario) {
+		return escribir(VeterinarioPersistence.crear(veterinario));
+	}
+
+	/**
+	 * Versión asíncrona de {@link VeterinarioPersistence#update(Veterinario)} (agrupada en el hilo escritor).
+	 */
+	public CompletableFuture<Boolean> updateVeterinario(Veterinario veterinario) {
+		return escribir(VeterinarioPersistence.actualizar(veterinario));
+	}
+
+	/**
+	 * Versión asíncrona de {@link VeterinarioPersistence#delete(int)} (agrupada en el hilo escritor).
+	 */
+	public CompletableFuture<Boolean> deleteVeterinario(int licencia) {
+		return escribir(VeterinarioPersistence.eliminar(licencia));
+	}
+
+	// ========================= CERTIFICACIONES ==============================
+
+	/**
+	 * Versión asíncrona de {@link CertificacionPersistence#readAll()}.
+	 */
+	public CompletableFuture<List<Certificacion>> readAllCertificaciones() {
+		return leer(CertificacionPersistence::readAll);
+	}
+
+	/**
+	 * Versión asíncrona de {@link CertificacionPersistence#readById(int)}.
+	 */
+	public CompletableFuture<Certificacion> readCertificacion(int id) {
+		return leer(() -> CertificacionPersistence.readById(id));
+	}
+
+	/**
+	 * Versión asíncrona de {@link CertificacionPersistence#readByVeterinarioLicencia(int)}.
+	 */
+	public CompletableFuture<List<Certificacion>> readCertificacionesPorVeterinario(int licencia) {
+		return leer(() -> CertificacionPersistence.readByVeterinarioLicencia(licencia));
+	}
+
+	/**
+	 * Versión asíncrona de {@link CertificacionPersistence#readByIds(Collection)}.
+	 */
+	public CompletableFuture<Map<Integer, Certificacion>> readCertificaciones(Collection<Integer> ids) {
+		List<Integer> copia = new ArrayList<>(ids);
+		return leer(() -> CertificacionPersistence.readByIds(copia));
+	}
+
+	/**
+	 * Versión asíncrona de {@link CertificacionPersistence#create(Certificacion)} (agrupada en el hilo escritor).
+	 */
+	public CompletableFuture<Boolean> createCertificacion(Certificacion certificacion) {
+		return escribir(CertificacionPersistence.crear(certificacion));
+	}
+
+	/**
+	 * Versión asíncrona de {@link CertificacionPersistence#createAll(Collection)}: cada
+	 * certificación es una escritura independiente dentro del lote del hilo escritor.
+	 */
+	public CompletableFuture<boolean[]> createCertificaciones(Collection<Certificacion> certificaciones) {
+		List<CompletableFuture<Boolean>> altas = new ArrayList<>(certificaciones.size());
+		for (Certificacion certificacion : certificaciones) {
+			altas.add(escribir(CertificacionPersistence.crear(certificacion)));
+		}
+
+		return CompletableFuture.allOf(altas.toArray(new CompletableFuture<?>[0]))
+				.thenApply(ignorado -> {
+					boolean[] resultados = new boolean[altas.size()];
+					for (int i = 0; i < resultados.length; i++) {
+						resultados[i] = altas.get(i).join();
+					}
+					return resultados;
+				});
+	}
+
+	/**
+	 * Versión asíncrona de {@link CertificacionPersistence#update(Certificacion)} (agrupada en el hilo escritor).
+	 */
+	public CompletableFuture<Boolean> updateCertificacion(Certificacion certificacion) {
+		return escribir(CertificacionPersistence.actualizar(certificacion));
+	}
+
+	/**
+	 * Versión asíncrona de {@link CertificacionPersistence#delete(int)} (agrupada en el hilo escritor).
+	 */
+	public CompletableFuture<Boolean> deleteCertificacion(int id) {
+		return escribir(CertificacionPersistence.eliminar(id));
+	}
+
+	// ========================= CICLO DE VIDA ==============================
+
+	/**
+	 * Deja de aceptar operaciones y espera (hasta 30 s) a que terminen las pendientes de esta
+	 * instancia. No detiene el escritor compartido ni cierra el pool de conexiones.
+	 */
+	@Override
+	public void close() {
+		cerrada = true;
+		lecturas.shutdown();
+		try {
+			CompletableFuture.allOf(escriturasPendientes.toArray(new CompletableFuture<?>[0]))
+					.get(30, TimeUnit.SECONDS);
+			lecturas.awaitTermination(30, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException | TimeoutException e) {
+			// Quien envió cada escritura ya ve su fallo en el futuro correspondiente
+		}
+	}
+
+	/**
+	 * Detiene el escritor compartido después de aplicar las escrituras que tenga en cola.
+	 * Si después se vuelve a escribir, se arranca uno nuevo.
+	 */
+	public static void cerrarEscritor() {
+		EscritorAgrupado actual;
+		synchronized (ClinicaAsync.class) {
+			actual = escritor;
+			escritor = null;
+		}
+		if (actual != null) {
+			actual.close();
+		}
+	}
+
+	/**
+	 * @return El escritor compartido, arrancándolo si aún no existe o si su hilo terminó.
+	 */
+	private static synchronized EscritorAgrupado escritor() {
+		if (escritor == null || escritor.isCerrado()) {
+			escritor = EscritorAgrupado.desdeConfiguracion();
+		}
+		return escritor;
+	}
+
+	private CompletableFuture<Boolean> escribir(Escritura escritura) {
+		if (cerrada) {
+			throw new RejectedExecutionException("ClinicaAsync está cerrada");
+		}
+		CompletableFuture<Boolean> futuro = escritor().enviar(escritura);
+		if (!futuro.isDone()) {
+			escriturasPendientes.add(futuro);
+			futuro.whenComplete((resultado, error) -> escriturasPendientes.remove(futuro));
+		}
+		return futuro;
+	}
+
+	private <T> CompletableFuture<T> leer(Supplier<T> lectura) {
+		return CompletableFuture.supplyAsync(lectura, lecturas);
+	}
+}
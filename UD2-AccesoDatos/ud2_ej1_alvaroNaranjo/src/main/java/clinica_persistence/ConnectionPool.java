@@ -0,0 +1,318 @@
+package clinica_persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool acotado de conexiones JDBC, seguro para entornos multihilo.
+ * <p>
+ * Cada hilo obtiene su propia conexión física mientras la tenga prestada. Si un hilo
+ * vuelve a pedir conexión sin haber devuelto la anterior (por ejemplo, cuando
+ * {@link VeterinarioPersistence#create} llama a {@link CertificacionPersistence#create}
+ * dentro de su transacción), recibe la misma conexión física, de modo que ambas
+ * operaciones comparten transacción y no compiten por el bloqueo de escritura de SQLite.
+ * </p>
+ * <p>
+ * Las conexiones entregadas son envoltorios: llamar a {@code close()} las devuelve al pool
+ * en lugar de cerrarlas. Al devolverse se deshace cualquier transacción pendiente y se
+ * restaura el autoCommit.
+ * </p>
+ * <p>
+ * Cada conexión física tiene su {@link CacheSentencias}: {@code prepareStatement(sql)} y
+ * {@code prepareStatement(sql, autoGeneratedKeys)} reutilizan sentencias ya preparadas en
+ * lugar de que SQLite vuelva a analizar y planificar el SQL en cada llamada.
+ * </p>
+ */
+public class ConnectionPool {
+
+	private final String url;
+	private final String user;
+	private final String password;
+	private final long timeoutMs;
+	private final List<String> pragmas;
+	private final int capacidadSentencias;
+
+	private final AtomicLong sentenciasReutilizadas = new AtomicLong();
+	private final AtomicLong sentenciasPreparadas = new AtomicLong();
+
+	private final BlockingQueue<ConexionFisica> libres;
+	private final Semaphore permisos;
+	private final ThreadLocal<Prestamo> prestamoActual = new ThreadLocal<>();
+
+	private volatile boolean cerrado;
+
+	/**
+	 * Crea el pool. Las conexiones físicas se abren bajo demanda.
+	 *
+	 * @param url           URL JDBC de la base de datos.
+	 * @param user          Usuario (puede estar vacío en SQLite).
+	 * @param password      Contraseña (puede estar vacía en SQLite).
+	 * @param maxConexiones Número máximo de conexiones físicas abiertas a la vez.
+	 * @param timeoutMs     Tiempo máximo de espera por una conexión libre, en milisegundos.
+	 * @param pragmas       Sentencias PRAGMA que se ejecutan al abrir cada conexión física.
+	 * @param capacidadSentencias Sentencias preparadas libres que se guardan por conexión (0 = ninguna).
+	 */
+	public ConnectionPool(String url, String user, String password, int maxConexiones, long timeoutMs,
+			List<String> pragmas, int capacidadSentencias) {
+		if (maxConexiones <= 0) {
+			throw new IllegalArgumentException("El tamaño del pool debe ser mayor que 0");
+		}
+		this.url = url;
+		this.user = user;
+		this.password = password;
+		this.timeoutMs = timeoutMs;
+		this.pragmas = List.copyOf(pragmas);
+		this.capacidadSentencias = Math.max(0, capacidadSentencias);
+		this.libres = new ArrayBlockingQueue<>(maxConexiones);
+		this.permisos = new Semaphore(maxConexiones, true);
+	}
+
+	/**
+	 * Obtiene una conexión del pool. Debe cerrarse al terminar para devolverla.
+	 *
+	 * @return Conexión prestada al hilo actual.
+	 * @throws SQLException si el pool está cerrado, se agota el tiempo de espera o no se puede abrir la conexión.
+	 */
+	public Connection getConnection() throws SQLException {
+		if (cerrado) {
+			throw new SQLException("El pool de conexiones está cerrado");
+		}
+
+		Prestamo prestamo = prestamoActual.get();
+		if (prestamo == null || prestamo.profundidad <= 0) {
+			// Sin préstamo activo (o devuelto desde otro hilo): se toma una conexión nueva
+			prestamo = new Prestamo(adquirir());
+			prestamoActual.set(prestamo);
+		}
+		prestamo.profundidad++;
+		return envolver(prestamo);
+	}
+
+	/**
+	 * Cierra todas las conexiones libres. Las prestadas se cierran al devolverse.
+	 */
+	public void cerrar() {
+		cerrado = true;
+		ConexionFisica c;
+		while ((c = libres.poll()) != null) {
+			cerrarFisica(c);
+		}
+	}
+
+	/**
+	 * Número de conexiones físicas libres en este momento.
+	 *
+	 * @return Conexiones disponibles sin necesidad de abrir una nueva.
+	 */
+	public int getConexionesLibres() {
+		return libres.size();
+	}
+
+	/**
+	 * Número de {@code prepareStatement} resueltos con una sentencia de la caché,
+	 * es decir, preparaciones que SQLite se ha ahorrado.
+	 *
+	 * @return Sentencias reutilizadas desde que se creó el pool.
+	 */
+	public long getSentenciasReutilizadas() {
+		return sentenciasReutilizadas.get();
+	}
+
+	/**
+	 * Número de sentencias que se han tenido que preparar en SQLite.
+	 *
+	 * @return Sentencias preparadas desde que se creó el pool.
+	 */
+	public long getSentenciasPreparadas() {
+		return sentenciasPreparadas.get();
+	}
+
+	// ========================= INTERNOS ==============================
+
+	private ConexionFisica adquirir() throws SQLException {
+		try {
+			if (!permisos.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+				throw new SQLException("Tiempo de espera agotado al obtener una conexión del pool");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrumpido mientras se esperaba una conexión del pool", e);
+		}
+
+		try {
+			ConexionFisica fisica = libres.poll();
+			// Validación en cada préstamo: se descartan las conexiones rotas
+			while (fisica != null && !esValida(fisica)) {
+				cerrarFisica(fisica);
+				fisica = libres.poll();
+			}
+			return (fisica != null) ? fisica : abrir();
+		} catch (SQLException | RuntimeException e) {
+			permisos.release();
+			throw e;
+		}
+	}
+
+	private ConexionFisica abrir() throws SQLException {
+		Connection conexion = DriverManager.getConnection(url, user, password);
+		try (Statement stmt = conexion.createStatement()) {
+			for (String pragma : pragmas) {
+				stmt.execute(pragma);
+			}
+		} catch (SQLException e) {
+			try {
+				conexion.close();
+			} catch (SQLException e1) {
+				e.addSuppressed(e1);
+			}
+			throw e;
+		}
+		return new ConexionFisica(conexion, new CacheSentencias(conexion, capacidadSentencias,
+				sentenciasReutilizadas, sentenciasPreparadas));
+	}
+
+	private boolean esValida(ConexionFisica fisica) {
+		try {
+			return !fisica.conexion.isClosed() && fisica.conexion.isValid(1);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private void devolver(Prestamo prestamo) {
+		prestamo.profundidad--;
+		if (prestamo.profundidad > 0) {
+			return;
+		}
+		prestamoActual.remove();
+
+		ConexionFisica fisica = prestamo.fisica;
+		try {
+			fisica.sentencias.recuperarPrestadas();
+			if (!fisica.conexion.getAutoCommit()) {
+				fisica.conexion.rollback();
+				fisica.conexion.setAutoCommit(true);
+			}
+			if (cerrado || !libres.offer(fisica)) {
+				cerrarFisica(fisica);
+			}
+		} catch (SQLException e) {
+			cerrarFisica(fisica);
+		} finally {
+			permisos.release();
+		}
+	}
+
+	private static void cerrarFisica(ConexionFisica fisica) {
+		fisica.sentencias.cerrar();
+		try {
+			fisica.conexion.close();
+		} catch (SQLException e) {
+			// La conexión ya no es utilizable; no hay nada más que hacer
+		}
+	}
+
+	private Connection envolver(Prestamo prestamo) {
+		return (Connection) Proxy.newProxyInstance(
+				Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class },
+				new ConexionPrestada(prestamo));
+	}
+
+	/**
+	 * Conexión física junto con su caché de sentencias preparadas.
+	 */
+	private static final class ConexionFisica {
+		private final Connection conexion;
+		private final CacheSentencias sentencias;
+
+		private ConexionFisica(Connection conexion, CacheSentencias sentencias) {
+			this.conexion = conexion;
+			this.sentencias = sentencias;
+		}
+	}
+
+	/**
+	 * Conexión física asignada a un hilo y número de envoltorios abiertos sobre ella.
+	 */
+	private static final class Prestamo {
+		private final ConexionFisica fisica;
+		private int profundidad;
+
+		private Prestamo(ConexionFisica fisica) {
+			this.fisica = fisica;
+		}
+	}
+
+	/**
+	 * Envoltorio que intercepta {@code close()} para devolver la conexión al pool.
+	 */
+	private final class ConexionPrestada implements InvocationHandler {
+		private final Prestamo prestamo;
+		private boolean cerrada;
+
+		private ConexionPrestada(Prestamo prestamo) {
+			this.prestamo = prestamo;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				if (!cerrada) {
+					cerrada = true;
+					devolver(prestamo);
+				}
+				return null;
+			case "isClosed":
+				return cerrada || prestamo.fisica.conexion.isClosed();
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "ConexionPrestada[" + prestamo.fisica.conexion + "]";
+			case "prepareStatement":
+				if (cerrada) {
+					throw new SQLException("La conexión ya fue devuelta al pool");
+				}
+				if (args.length == 1) {
+					return prestamo.fisica.sentencias.preparar((String) args[0], Statement.NO_GENERATED_KEYS);
+				}
+				if (args.length == 2 && args[1] instanceof Integer) {
+					return prestamo.fisica.sentencias.preparar((String) args[0], (Integer) args[1]);
+				}
+				break; // resto de variantes: sin caché
+			case "createStatement":
+				OperacionMedida op = Instrumentacion.actual();
+				if (op != null && !cerrada && (args == null || args.length == 0)) {
+					return Instrumentacion.medir(op, prestamo.fisica.conexion.createStatement());
+				}
+				break;
+			default:
+				break;
+			}
+
+			if (cerrada) {
+				throw new SQLException("La conexión ya fue devuelta al pool");
+			}
+			try {
+				return method.invoke(prestamo.fisica.conexion, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+}
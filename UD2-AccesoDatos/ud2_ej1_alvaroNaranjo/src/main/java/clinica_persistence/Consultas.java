@@ -0,0 +1,34 @@
+package clinica_persistence;
+
+/**
+ * Utilidades compartidas para construir sentencias SQL en la capa de persistencia.
+ */
+final class Consultas {
+
+	/**
+	 * Número máximo de parámetros por cláusula {@code IN (...)}. Queda por debajo del
+	 * límite histórico de SQLite (999 variables por sentencia).
+	 */
+	static final int TAMANO_LOTE = 500;
+
+	private Consultas() {
+		// Clase de utilidad
+	}
+
+	/**
+	 * Genera la lista de marcadores de una cláusula {@code IN}, por ejemplo {@code "?, ?, ?"}.
+	 *
+	 * @param n Número de marcadores (mayor que 0).
+	 * @return Cadena con {@code n} marcadores separados por comas.
+	 */
+	static String marcadores(int n) {
+		StringBuilder sb = new StringBuilder(n * 3);
+		for (int i = 0; i < n; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append('?');
+		}
+		return sb.toString();
+	}
+}
@@ -1,34 +1,143 @@
 package clinica_persistence;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
+import errores.Errores;
+
 /**
- * Singleton para manejar la conexión a la base de datos.
- * NO ES SEGURO PARA ENTORNOS MULTIHILO.
+ * Punto de acceso a la base de datos.
+ * Entrega conexiones de un {@link ConnectionPool} acotado, por lo que es seguro
+ * usarlo desde varios hilos. Cada conexión obtenida debe cerrarse (o pasarse a
+ * {@link #liberar(Connection)}) para devolverla al pool.
+ * Al crear el pool se aplican las {@link MigracionesEsquema migraciones} pendientes.
  */
 public class DatabaseConnection {
 
-    private static Connection connection;
+    private static volatile ConnectionPool pool;
+    private static Properties propiedades;
+
+    private DatabaseConnection() {
+        // Clase de utilidad
+    }
 
-    private DatabaseConnection() throws SQLException {
-        Properties properties = new Properties();
-        try {
-            properties.load(DatabaseConnection.class.getResourceAsStream("/db.properties"));
-        } catch (Exception e) {
-            throw new RuntimeException("Fallo al cargar la conexión a la base de datos: fin del programa.", e);
+    /**
+     * Obtiene una conexión del pool, creándolo en la primera llamada.
+     *
+     * @return Conexión prestada al hilo actual.
+     * @throws SQLException si no hay conexiones disponibles a tiempo o falla la apertura.
+     */
+    public static Connection getConnection() throws SQLException {
+        return getPool().getConnection();
+    }
+
+    /**
+     * Devuelve la conexión al pool sin propagar errores.
+     *
+     * @param connection Conexión obtenida con {@link #getConnection()}; puede ser {@code null}.
+     */
+    public static void liberar(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                Errores.notificarError("liberar conexión", e);
+            }
         }
+    }
+
+    /**
+     * Cierra el pool y todas sus conexiones libres.
+     */
+    public static synchronized void cerrar() {
+        if (pool != null) {
+            pool.cerrar();
+            pool = null;
+        }
+    }
+
+    /**
+     * Resumen del uso de la caché de sentencias preparadas del pool.
+     *
+     * @return Texto con las sentencias preparadas y las reutilizadas (preparaciones ahorradas).
+     */
+    public static String getEstadisticasSentencias() {
+        ConnectionPool p = getPool();
+        return String.format("Sentencias preparadas: %d | reutilizadas (preparaciones ahorradas): %d",
+                p.getSentenciasPreparadas(), p.getSentenciasReutilizadas());
+    }
+
+    private static ConnectionPool getPool() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (DatabaseConnection.class) {
+                p = pool;
+                if (p == null) {
+                    p = crearPool();
+                    pool = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Devuelve la configuración de {@code db.properties}, cargándola la primera vez.
+     * Cualquier clave puede sobrescribirse con una propiedad del sistema del mismo nombre
+     * (por ejemplo {@code -Ddb.url=jdbc:sqlite:/tmp/prueba.db}).
+     *
+     * @return Propiedades de configuración de la base de datos.
+     */
+    static synchronized Properties getPropiedades() {
+        if (propiedades == null) {
+            Properties properties = new Properties();
+            try {
+                properties.load(DatabaseConnection.class.getResourceAsStream("/db.properties"));
+            } catch (Exception e) {
+                throw new RuntimeException("Fallo al cargar la conexión a la base de datos: fin del programa.", e);
+            }
+            for (String clave : System.getProperties().stringPropertyNames()) {
+                if (clave.startsWith("db.") || clave.startsWith("cache.") || clave.startsWith("metricas.")) {
+                    properties.setProperty(clave, System.getProperty(clave));
+                }
+            }
+            propiedades = properties;
+        }
+        return propiedades;
+    }
+
+    private static ConnectionPool crearPool() {
+        Properties properties = getPropiedades();
         String url = properties.getProperty("db.url");
         String user = properties.getProperty("db.user");
         String password = properties.getProperty("db.password");
-        connection = DriverManager.getConnection(url, user, password);
-    }
 
-    public static Connection getConnection() throws SQLException {
-        if (connection == null) {
-            new DatabaseConnection();
+        int tamano = Integer.parseInt(properties.getProperty("db.pool.size",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        long timeout = Long.parseLong(properties.getProperty("db.pool.timeout.ms", "30000"));
+
+        // WAL permite que los lectores no bloqueen al escritor (y viceversa)
+        List<String> pragmas = new ArrayList<>();
+        pragmas.add("PRAGMA journal_mode = " + properties.getProperty("db.journal_mode", "WAL"));
+        pragmas.add("PRAGMA busy_timeout = " + properties.getProperty("db.busy_timeout.ms", "5000"));
+
+        int sentencias = Integer.parseInt(properties.getProperty("db.statement_cache.size", "64"));
+
+        ConnectionPool nuevo = new ConnectionPool(url, user, password, tamano, timeout, pragmas, sentencias);
+
+        // Esquema al día antes de entregar ninguna conexión
+        boolean comprobarPlanes = Boolean.parseBoolean(properties.getProperty("db.migraciones.comprobar_planes", "true"));
+        try (Connection connection = nuevo.getConnection()) {
+            MigracionesEsquema.migrar(connection, comprobarPlanes);
+        } catch (SQLException e) {
+            nuevo.cerrar();
+            throw new RuntimeException("Fallo al migrar el esquema de la base de datos: fin del programa.", e);
+        } catch (RuntimeException e) {
+            nuevo.cerrar();
+            throw e;
         }
-        return connection;
+        return nuevo;
     }
-}
\ No newline at end of file
+}
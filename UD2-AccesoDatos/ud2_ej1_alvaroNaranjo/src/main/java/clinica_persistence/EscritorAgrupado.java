@@ -0,0 +1,305 @@
+package clinica_persistence;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import errores.Errores;
+
+/**
+ * Escritor con commit agrupado ("group commit").
+ * <p>
+ * Las escrituras enviadas con {@link #enviar(Escritura)} se encolan y un único hilo las
+ * aplica por lotes: toma la primera que llegue, espera como mucho {@code espera} a que
+ * lleguen más (hasta {@code maxLote}) y las aplica todas en una sola transacción, con un
+ * único commit. Cada escritura va dentro de su propio savepoint, así que si una falla
+ * solo se deshacen sus cambios y las demás del lote se confirman igualmente.
+ * </p>
+ * <p>
+ * El futuro de cada escritura se completa después del commit del lote: con {@code true}
+ * si sus cambios quedaron confirmados y con {@code false} si se descartaron (devolvió
+ * {@code false}, lanzó una SQLException o falló el commit). Si lanzó otra excepción, solo
+ * se deshace esa escritura y su futuro se completa con la excepción. La durabilidad del commit es
+ * la que fije {@code PRAGMA synchronous} (FULL por defecto en SQLite).
+ * </p>
+ */
+final class EscritorAgrupado implements AutoCloseable {
+
+	/** Marca de fin de la cola: el hilo escritor termina al llegar a ella. */
+	private static final Pendiente FIN = new Pendiente(null);
+
+	private final BlockingQueue<Pendiente> cola = new LinkedBlockingQueue<>();
+	private final int maxLote;
+	private final long esperaNanos;
+	private final Thread hilo;
+	private boolean cerrado;
+
+	private final AtomicLong lotes = new AtomicLong();
+	private final AtomicLong escrituras = new AtomicLong();
+
+	/**
+	 * Crea el escritor y arranca su hilo (daemon).
+	 *
+	 * @param maxLote  Número máximo de escrituras por transacción (mínimo 1).
+	 * @param esperaMs Tiempo máximo que se espera a completar un lote desde que llega la primera escritura.
+	 */
+	EscritorAgrupado(int maxLote, long esperaMs) {
+		this.maxLote = Math.max(1, maxLote);
+		this.esperaNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, esperaMs));
+		this.hilo = new Thread(this::ejecutar, "clinica-escritor");
+		this.hilo.setDaemon(true);
+		this.hilo.start();
+	}
+
+	/**
+	 * Crea un escritor con los valores de {@code db.escritor.max_lote} y {@code db.escritor.espera.ms}.
+	 *
+	 * @return Escritor ya arrancado.
+	 */
+	static EscritorAgrupado desdeConfiguracion() {
+		Properties properties = DatabaseConnection.getPropiedades();
+		int maxLote = Integer.parseInt(properties.getProperty("db.escritor.max_lote", "256"));
+		long espera = Long.parseLong(properties.getProperty("db.escritor.espera.ms", "2"));
+		return new EscritorAgrupado(maxLote, espera);
+	}
+
+	/**
+	 * Encola una escritura para el próximo lote.
+	 *
+	 * @param escritura Escritura a aplicar; si es {@code null} (datos no válidos) el resultado es {@code false}.
+	 * @return Futuro que se completa tras el commit del lote que la incluye.
+	 * @throws RejectedExecutionException si el escritor ya está cerrado.
+	 */
+	CompletableFuture<Boolean> enviar(Escritura escritura) {
+		if (escritura == null) {
+			return CompletableFuture.completedFuture(false);
+		}
+		Pendiente pendiente = new Pendiente(escritura);
+		synchronized (this) {
+			if (cerrado) {
+				throw new RejectedExecutionException("El escritor está cerrado");
+			}
+			cola.add(pendiente);
+		}
+		return pendiente.futuro;
+	}
+
+	/**
+	 * @return {@code true} si ya no acepta escrituras (se cerró o su hilo terminó).
+	 */
+	synchronized boolean isCerrado() {
+		return cerrado;
+	}
+
+	/**
+	 * @return Número de transacciones (lotes) confirmadas o intentadas.
+	 */
+	long getLotes() {
+		return lotes.get();
+	}
+
+	/**
+	 * @return Número de escrituras procesadas en todos los lotes.
+	 */
+	long getEscrituras() {
+		return escrituras.get();
+	}
+
+	/**
+	 * Deja de aceptar escrituras y espera (hasta 30 s) a que se apliquen las ya encoladas.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (cerrado) {
+				return;
+			}
+			cerrado = true;
+			cola.add(FIN);
+		}
+		try {
+			hilo.join(TimeUnit.SECONDS.toMillis(30));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void ejecutar() {
+		List<Pendiente> lote = new ArrayList<>(maxLote);
+		boolean fin = false;
+
+		while (!fin) {
+			try {
+				Pendiente primera = cola.take();
+				if (primera == FIN) {
+					break;
+				}
+				lote.add(primera);
+
+				// Se espera a que lleguen más, como mucho hasta el límite de tiempo o de tamaño
+				long limite = System.nanoTime() + esperaNanos;
+				while (lote.size() < maxLote) {
+					long restante = limite - System.nanoTime();
+					Pendiente siguiente = restante > 0 ? cola.poll(restante, TimeUnit.NANOSECONDS) : cola.poll();
+					if (siguiente == null) {
+						break;
+					}
+					if (siguiente == FIN) {
+						fin = true;
+						break;
+					}
+					lote.add(siguiente);
+				}
+			} catch (InterruptedException e) {
+				fin = true;
+			}
+
+			if (!lote.isEmpty()) {
+				try {
+					aplicarLote(lote);
+				} catch (RuntimeException e) {
+					// El hilo escritor no debe morir: se avisa a quien esperase
+					for (Pendiente p : lote) {
+						descartar(p, e);
+					}
+				}
+				lote.clear();
+			}
+		}
+
+		descartarPendientes();
+	}
+
+	/**
+	 * Al terminar el hilo (p. ej. si se interrumpe) deja de aceptar escrituras y completa
+	 * con {@code false} las que quedaran en la cola, para que nadie espere indefinidamente.
+	 */
+	private void descartarPendientes() {
+		List<Pendiente> restantes = new ArrayList<>();
+		synchronized (this) {
+			cerrado = true;
+			cola.drainTo(restantes);
+		}
+		for (Pendiente p : restantes) {
+			if (p != FIN) {
+				descartar(p, null);
+			}
+		}
+	}
+
+	/**
+	 * Avisa a la escritura de que sus cambios no se guardaron y completa su futuro: con
+	 * {@code false}, o con la excepción si la hubo.
+	 */
+	private static void descartar(Pendiente p, RuntimeException fallo) {
+		try {
+			p.escritura.descartada();
+		} catch (RuntimeException e) {
+			if (fallo == null) {
+				fallo = e;
+			} else {
+				fallo.addSuppressed(e);
+			}
+		}
+		if (fallo != null) {
+			p.futuro.completeExceptionally(fallo);
+		} else {
+			p.futuro.complete(false);
+		}
+	}
+
+	private void aplicarLote(List<Pendiente> lote) {
+		Connection connection = null;
+		boolean[] aplicadas = new boolean[lote.size()];
+		RuntimeException[] fallos = new RuntimeException[lote.size()];
+		boolean confirmado = false;
+
+		lotes.incrementAndGet();
+		escrituras.addAndGet(lote.size());
+
+		try {
+			connection = DatabaseConnection.getConnection();
+			connection.setAutoCommit(false);
+
+			for (int i = 0; i < lote.size(); i++) {
+				Escritura escritura = lote.get(i).escritura;
+				Savepoint antes = connection.setSavepoint();
+				try {
+					aplicadas[i] = escritura.aplicar(connection);
+				} catch (SQLException e) {
+					Errores.notificarError(escritura.getAccion(), e);
+					aplicadas[i] = false;
+				} catch (RuntimeException e) {
+					// Solo falla esta escritura: su futuro se completa con la excepción
+					fallos[i] = e;
+					aplicadas[i] = false;
+				}
+
+				if (aplicadas[i]) {
+					connection.releaseSavepoint(antes);
+				} else {
+					// Solo se deshace esta escritura; las anteriores del lote siguen
+					connection.rollback(antes);
+					connection.releaseSavepoint(antes);
+				}
+			}
+
+			connection.commit();
+			confirmado = true;
+
+		} catch (SQLException e) {
+			Errores.notificarError("confirmar lote de escrituras", e);
+		} finally {
+			if (connection != null) {
+				try {
+					if (!confirmado) {
+						connection.rollback();
+					}
+				} catch (SQLException e) {
+					Errores.notificarError("hacer rollback del lote de escrituras", e);
+				}
+				try {
+					connection.setAutoCommit(true);
+				} catch (SQLException e) {
+					Errores.notificarError("restaurar autoCommit", e);
+				}
+			}
+			DatabaseConnection.liberar(connection);
+		}
+
+		for (int i = 0; i < lote.size(); i++) {
+			Pendiente p = lote.get(i);
+			if (!confirmado || !aplicadas[i]) {
+				descartar(p, fallos[i]);
+				continue;
+			}
+			try {
+				p.escritura.confirmada();
+				p.futuro.complete(true);
+			} catch (RuntimeException e) {
+				p.futuro.completeExceptionally(e);
+			}
+		}
+	}
+
+	/**
+	 * Escritura en espera junto con el futuro de su resultado.
+	 */
+	private static final class Pendiente {
+		private final Escritura escritura;
+		private final CompletableFuture<Boolean> futuro = new CompletableFuture<>();
+
+		private Pendiente(Escritura escritura) {
+			this.escritura = escritura;
+		}
+	}
+}
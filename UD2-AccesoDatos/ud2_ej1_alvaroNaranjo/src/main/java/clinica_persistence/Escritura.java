@@ -0,0 +1,112 @@
+package clinica_persistence;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import errores.Errores;
+
+/**
+ * Operación de escritura separada de su transacción.
+ * <p>
+ * {@link #aplicar(Connection)} hace los cambios sobre una conexión que ya está en una
+ * transacción, sin confirmar ni deshacer nada. {@link #confirmada()} y {@link #descartada()}
+ * se llaman después, según se haya hecho commit o rollback, para actualizar el estado en
+ * memoria (IDs generados, {@link RegistroLicencias}, {@link CacheVeterinarios}...).
+ * </p>
+ * <p>
+ * Así la misma escritura puede ir en su propia transacción ({@link #ejecutar()}, lo que
+ * hacen los métodos {@code create}/{@code update}/{@code delete}) o compartirla con otras
+ * en el {@link EscritorAgrupado}.
+ * </p>
+ */
+abstract class Escritura {
+
+	private final String accion;
+
+	/**
+	 * @param accion Descripción para los mensajes de error (p. ej. "actualizar veterinario").
+	 */
+	Escritura(String accion) {
+		this.accion = accion;
+	}
+
+	String getAccion() {
+		return accion;
+	}
+
+	/**
+	 * Aplica los cambios dentro de la transacción en curso.
+	 *
+	 * @param connection Conexión con autoCommit desactivado.
+	 * @return {@code true} si la operación tuvo efecto; {@code false} si sus cambios deben deshacerse.
+	 * @throws SQLException si falla alguna sentencia (sus cambios deben deshacerse).
+	 */
+	abstract boolean aplicar(Connection connection) throws SQLException;
+
+	/**
+	 * Se llama tras el commit que incluye esta escritura.
+	 */
+	void confirmada() {
+	}
+
+	/**
+	 * Se llama cuando los cambios de esta escritura se han deshecho.
+	 */
+	void descartada() {
+	}
+
+	/**
+	 * Ejecuta la escritura en su propia transacción.
+	 *
+	 * @return {@code true} si se aplicó y se hizo commit.
+	 * @throws RuntimeException la que lance {@link #aplicar(Connection)}, después de deshacer
+	 *                          los cambios y llamar a {@link #descartada()}.
+	 */
+	boolean ejecutar() {
+		Connection connection = null;
+		boolean aplicada = false;
+		RuntimeException fallo = null;
+
+		try {
+			connection = DatabaseConnection.getConnection();
+			connection.setAutoCommit(false);
+
+			if (aplicar(connection)) {
+				connection.commit();
+				aplicada = true;
+			}
+
+		} catch (SQLException e) {
+			Errores.notificarError(accion, e);
+		} catch (RuntimeException e) {
+			// Se relanza después de deshacer y de avisar con descartada()
+			fallo = e;
+		} finally {
+			if (connection != null) {
+				// Restaurar autoCommit confirmaría lo pendiente
+				try {
+					if (!aplicada)
+						connection.rollback();
+				} catch (SQLException e) {
+					Errores.notificarError("hacer rollback", e);
+				}
+				try {
+					connection.setAutoCommit(true);
+				} catch (SQLException e) {
+					Errores.notificarError("restaurar autoCommit", e);
+				}
+			}
+			DatabaseConnection.liberar(connection);
+		}
+
+		if (aplicada) {
+			confirmada();
+		} else {
+			descartada();
+		}
+		if (fallo != null) {
+			throw fallo;
+		}
+		return aplicada;
+	}
+}
@@ -0,0 +1,718 @@
+package clinica_persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import errores.Errores;
+
+/**
+ * Exportación e importación masiva de los datos de la clínica ({@code Veterinario},
+ * {@code DetalleContrato} y {@code Certificacion}) a un fichero.
+ * <p>
+ * Formatos:
+ * </p>
+ * <ul>
+ * <li>{@link Formato#CSV}: una línea por fila, con el tipo como primer campo
+ * ({@code V,licencia,nombre,apellido,fecha}, {@code D,licencia,salario,horario},
+ * {@code C,id,institucion,especialidad,licencia}). Los textos con comas, comillas o saltos
+ * de línea van entre comillas dobles, duplicando las comillas internas.</li>
+ * <li>{@link Formato#BINARIO}: cabecera {@code "CLIN"} + versión, y cada fila como
+ * {@code [tipo:1][longitud:4][datos]}. Los enteros y reales van en big-endian y los
+ * textos como {@code [longitud:4][UTF-8]}.</li>
+ * </ul>
+ * <p>
+ * Las filas siempre se escriben en el orden veterinarios, contratos, certificaciones, y
+ * se leen y escriben por un {@link FileChannel} con un buffer directo grande. La
+ * importación divide el fichero en trozos de filas completas, los interpreta en paralelo
+ * y los inserta en orden con lotes JDBC dentro de una única transacción: o se importa
+ * todo o no se importa nada.
+ * </p>
+ */
+public final class ExportacionClinica {
+
+	/**
+	 * Formato del fichero de exportación.
+	 */
+	public enum Formato {
+		CSV, BINARIO
+	}
+
+	private static final byte[] CABECERA_BINARIO = { 'C', 'L', 'I', 'N' };
+	private static final int VERSION_BINARIO = 1;
+	private static final String CABECERA_CSV = "# clinica v1: V,licencia,nombre,apellido,fecha | "
+			+ "D,licencia,salario,horario | C,id,institucion,especialidad,licencia\n";
+
+	private static final byte VETERINARIO = 'V';
+	private static final byte CONTRATO = 'D';
+	private static final byte CERTIFICACION = 'C';
+
+	/** Tamaño del buffer directo de lectura/escritura (y tamaño máximo de un trozo al importar). */
+	static final int TAMANO_BUFFER = 4 * 1024 * 1024;
+	/** Filas acumuladas en cada lote JDBC al importar. */
+	private static final int TAMANO_LOTE = 1000;
+	private static final int FETCH_SIZE = 1000;
+
+	private ExportacionClinica() {
+		// Clase de utilidad
+	}
+
+	// ========================= EXPORTAR ==============================
+
+	/**
+	 * Escribe todos los datos de la clínica en un fichero (que se sobrescribe si existe).
+	 * Las tres tablas se leen dentro de la misma transacción de lectura, así que el
+	 * fichero es una foto coherente aunque haya escrituras concurrentes.
+	 *
+	 * @param fichero Ruta del fichero de salida.
+	 * @param formato Formato del fichero.
+	 * @return Filas exportadas: {@code [veterinarios, contratos, certificaciones]},
+	 *         o {@code null} si la operación falló.
+	 */
+	public static int[] exportar(Path fichero, Formato formato) {
+		Connection connection = null;
+		int[] exportadas = null;
+
+		try (FileChannel canal = FileChannel.open(fichero, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			Salida salida = new Salida(canal, formato);
+			connection = DatabaseConnection.getConnection();
+			connection.setAutoCommit(false);
+
+			if (formato == Formato.BINARIO) {
+				salida.asegurar(CABECERA_BINARIO.length + 4);
+				salida.buffer.put(CABECERA_BINARIO).putInt(VERSION_BINARIO);
+			} else {
+				salida.bytes(CABECERA_CSV.getBytes(StandardCharsets.UTF_8));
+			}
+
+			int veterinarios = 0;
+			try (PreparedStatement stmt = connection.prepareStatement(
+					"SELECT num_licencia, nombre, apellido, fecha_contratacion FROM Veterinario ORDER BY num_licencia")) {
+				stmt.setFetchSize(FETCH_SIZE);
+				try (ResultSet rs = stmt.executeQuery()) {
+					while (rs.next()) {
+						salida.inicio(VETERINARIO);
+						salida.entero(rs.getInt(1));
+						salida.texto(rs.getString(2));
+						salida.texto(rs.getString(3));
+						salida.texto(rs.getString(4));
+						salida.fin();
+						veterinarios++;
+					}
+				}
+			}
+
+			int contratos = 0;
+			try (PreparedStatement stmt = connection.prepareStatement(
+					"SELECT veterinario_licencia, salario_base, horario_semanal FROM DetalleContrato ORDER BY veterinario_licencia")) {
+				stmt.setFetchSize(FETCH_SIZE);
+				try (ResultSet rs = stmt.executeQuery()) {
+					while (rs.next()) {
+						salida.inicio(CONTRATO);
+						salida.entero(rs.getInt(1));
+						salida.real(rs.getDouble(2));
+						salida.real(rs.getDouble(3));
+						salida.fin();
+						contratos++;
+					}
+				}
+			}
+
+			int certificaciones = 0;
+			try (PreparedStatement stmt = connection.prepareStatement(
+					"SELECT id, institucion_emisora, nombre_especialidad, veterinario_licencia FROM Certificacion ORDER BY id")) {
+				stmt.setFetchSize(FETCH_SIZE);
+				try (ResultSet rs = stmt.executeQuery()) {
+					while (rs.next()) {
+						salida.inicio(CERTIFICACION);
+						salida.entero(rs.getInt(1));
+						salida.texto(rs.getString(2));
+						salida.texto(rs.getString(3));
+						salida.entero(rs.getInt(4));
+						salida.fin();
+						certificaciones++;
+					}
+				}
+			}
+
+			salida.vaciar();
+			canal.force(false);
+			exportadas = new int[] { veterinarios, contratos, certificaciones };
+
+		} catch (SQLException e) {
+			Errores.notificarError("exportar datos", e);
+		} catch (IOException e) {
+			Errores.notificarError("exportar datos a " + fichero, e);
+		} finally {
+			if (connection != null) {
+				try {
+					// Solo se ha leído: se cierra la transacción de lectura
+					connection.rollback();
+					connection.setAutoCommit(true);
+				} catch (SQLException e) {
+					Errores.notificarError("restaurar autoCommit", e);
+				}
+			}
+			DatabaseConnection.liberar(connection);
+		}
+
+		return exportadas;
+	}
+
+	/**
+	 * Escritura de filas en un buffer directo que se vuelca al canal cuando se llena.
+	 */
+	private static final class Salida {
+		private final FileChannel canal;
+		private final boolean binario;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANO_BUFFER);
+		private final List<Object> campos = new ArrayList<>(5);
+		private byte tipo;
+
+		private Salida(FileChannel canal, Formato formato) {
+			this.canal = canal;
+			this.binario = formato == Formato.BINARIO;
+		}
+
+		private void inicio(byte tipoFila) {
+			tipo = tipoFila;
+			campos.clear();
+		}
+
+		private void entero(int valor) {
+			campos.add(valor);
+		}
+
+		private void real(double valor) {
+			campos.add(valor);
+		}
+
+		private void texto(String valor) {
+			String texto = valor == null ? "" : valor;
+			campos.add(binario ? texto.getBytes(StandardCharsets.UTF_8) : texto);
+		}
+
+		/**
+		 * Escribe la fila acumulada con {@link #entero}, {@link #real} y {@link #texto}.
+		 */
+		private void fin() throws IOException {
+			if (binario) {
+				int longitud = 0;
+				for (Object campo : campos) {
+					longitud += campo instanceof Integer ? 4 : campo instanceof Double ? 8 : 4 + ((byte[]) campo).length;
+				}
+				asegurar(5 + longitud);
+				buffer.put(tipo).putInt(longitud);
+				for (Object campo : campos) {
+					if (campo instanceof Integer i) {
+						buffer.putInt(i);
+					} else if (campo instanceof Double d) {
+						buffer.putDouble(d);
+					} else {
+						byte[] utf8 = (byte[]) campo;
+						buffer.putInt(utf8.length).put(utf8);
+					}
+				}
+			} else {
+				StringBuilder linea = new StringBuilder(64).append((char) tipo);
+				for (Object campo : campos) {
+					linea.append(',');
+					if (campo instanceof String texto) {
+						anadirCsv(linea, texto);
+					} else {
+						linea.append(campo);
+					}
+				}
+				bytes(linea.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+			}
+		}
+
+		private static void anadirCsv(StringBuilder linea, String valor) {
+			boolean comillas = false;
+			for (int i = 0; i < valor.length() && !comillas; i++) {
+				char c = valor.charAt(i);
+				comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+			}
+			if (!comillas) {
+				linea.append(valor);
+			} else {
+				linea.append('"').append(valor.replace("\"", "\"\"")).append('"');
+			}
+		}
+
+		private void bytes(byte[] datos) throws IOException {
+			if (datos.length > buffer.capacity()) {
+				vaciar();
+				ByteBuffer directo = ByteBuffer.wrap(datos);
+				while (directo.hasRemaining()) {
+					canal.write(directo);
+				}
+				return;
+			}
+			asegurar(datos.length);
+			buffer.put(datos);
+		}
+
+		private void asegurar(int bytes) throws IOException {
+			if (bytes > buffer.capacity()) {
+				throw new IOException("Fila de " + bytes + " bytes: supera el tamaño máximo de " + buffer.capacity());
+			}
+			if (buffer.remaining() < bytes) {
+				vaciar();
+			}
+		}
+
+		private void vaciar() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				canal.write(buffer);
+			}
+			buffer.clear();
+		}
+	}
+
+	// ========================= IMPORTAR ==============================
+
+	/**
+	 * Importa un fichero generado por {@link #exportar(Path, Formato)}; el formato se
+	 * detecta por la cabecera. Los IDs de las certificaciones se conservan.
+	 *
+	 * @param fichero    Ruta del fichero a importar.
+	 * @param reemplazar Si es {@code true}, borra antes los datos actuales (en la misma transacción).
+	 *                   Si es {@code false} y alguna licencia o ID ya existe, la importación falla entera.
+	 * @return Filas importadas: {@code [veterinarios, contratos, certificaciones]},
+	 *         o {@code null} si la operación falló y se deshizo.
+	 */
+	public static int[] importar(Path fichero, boolean reemplazar) {
+		int[] importadas = new int[3];
+		Escritura escritura = new Escritura("importar datos") {
+			@Override
+			boolean aplicar(Connection connection) throws SQLException {
+				try (FileChannel canal = FileChannel.open(fichero, StandardOpenOption.READ)) {
+					int[] filas = cargar(connection, canal, reemplazar);
+					System.arraycopy(filas, 0, importadas, 0, filas.length);
+					return true;
+				} catch (IOException e) {
+					Errores.notificarError("importar datos de " + fichero, e);
+				} catch (CompletionException e) {
+					// Un trozo con datos mal formados
+					Errores.notificarError("importar datos de " + fichero,
+							new IOException("Formato no válido: " + e.getCause().getMessage(), e.getCause()));
+				} catch (RuntimeException e) {
+					Errores.notificarError("importar datos de " + fichero, new IOException("Formato no válido: " + e.getMessage(), e));
+				}
+				return false;
+			}
+
+			@Override
+			void confirmada() {
+				// Con reemplazar también cambian las filas que ya había: se recarga todo
+				RegistroLicencias.invalidar();
+				VeterinarioPersistence.getCache().invalidarTodo();
+			}
+		};
+
+		return escritura.ejecutar() ? importadas : null;
+	}
+
+	/**
+	 * Lee el fichero y vuelca sus filas en la transacción abierta en la conexión, sin confirmarla.
+	 *
+	 * @return Filas insertadas: {@code [veterinarios, contratos, certificaciones]}.
+	 */
+	private static int[] cargar(Connection connection, FileChannel canal, boolean reemplazar) throws SQLException, IOException {
+		if (reemplazar) {
+			try (Statement stmt = connection.createStatement()) {
+				stmt.executeUpdate("DELETE FROM Certificacion");
+				stmt.executeUpdate("DELETE FROM DetalleContrato");
+				stmt.executeUpdate("DELETE FROM Veterinario");
+			}
+		}
+
+		Insercion insercion = new Insercion(connection);
+		Deque<CompletableFuture<Fragmento>> pendientes = new ArrayDeque<>();
+		// Trozos interpretándose a la vez: suficientes para ocupar los núcleos, sin cargar todo el fichero
+		int maxEnVuelo = Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2);
+
+		ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANO_BUFFER);
+		Formato formato = null;
+		boolean finFichero = false;
+
+		while (!finFichero) {
+			finFichero = canal.read(buffer) < 0;
+			buffer.flip();
+
+			if (formato == null) {
+				formato = detectarFormato(buffer, finFichero);
+				if (formato == null) {
+					buffer.compact();
+					continue;
+				}
+			}
+
+			int completos = formato == Formato.BINARIO ? finRegistrosBinario(buffer) : finRegistrosCsv(buffer);
+			if (finFichero && formato == Formato.CSV) {
+				completos = buffer.remaining(); // la última línea puede no terminar en '\n'
+			}
+			if (completos == 0 && buffer.remaining() == buffer.capacity()) {
+				throw new IOException("Fila mayor que " + buffer.capacity() + " bytes");
+			}
+			if (finFichero && completos < buffer.remaining()) {
+				throw new IOException("Fichero truncado: la última fila está incompleta");
+			}
+
+			if (completos > 0) {
+				byte[] trozo = new byte[completos];
+				buffer.get(trozo);
+				boolean binario = formato == Formato.BINARIO;
+				pendientes.add(CompletableFuture.supplyAsync(
+						() -> binario ? interpretarBinario(trozo) : interpretarCsv(trozo)));
+			}
+			buffer.compact();
+
+			// Se inserta en orden de fichero mientras los trozos siguientes se interpretan
+			while (pendientes.size() >= maxEnVuelo) {
+				insercion.insertar(pendientes.poll().join());
+			}
+		}
+		while (!pendientes.isEmpty()) {
+			insercion.insertar(pendientes.poll().join());
+		}
+		insercion.vaciar();
+
+		return new int[] { insercion.veterinarios, insercion.contratos, insercion.certificaciones };
+	}
+
+	/**
+	 * Identifica el formato por la cabecera y deja el buffer justo detrás de ella.
+	 *
+	 * @return Formato, o {@code null} si aún no hay bytes suficientes para decidir.
+	 */
+	private static Formato detectarFormato(ByteBuffer buffer, boolean finFichero) throws IOException {
+		int cabecera = CABECERA_BINARIO.length + 4;
+		if (buffer.remaining() < cabecera && !finFichero) {
+			return null;
+		}
+		if (buffer.remaining() >= cabecera) {
+			boolean binario = true;
+			for (int i = 0; i < CABECERA_BINARIO.length; i++) {
+				binario &= buffer.get(buffer.position() + i) == CABECERA_BINARIO[i];
+			}
+			if (binario) {
+				int version = buffer.getInt(buffer.position() + CABECERA_BINARIO.length);
+				if (version != VERSION_BINARIO) {
+					throw new IOException("Versión de fichero no soportada: " + version);
+				}
+				buffer.position(buffer.position() + cabecera);
+				return Formato.BINARIO;
+			}
+		}
+		return Formato.CSV;
+	}
+
+	/**
+	 * @return Bytes desde la posición del buffer que forman filas binarias completas.
+	 * @throws IOException si una fila declara una longitud negativa o mayor que el buffer.
+	 */
+	private static int finRegistrosBinario(ByteBuffer buffer) throws IOException {
+		int p = buffer.position();
+		while (p + 5 <= buffer.limit()) {
+			int longitud = buffer.getInt(p + 1);
+			if (longitud < 0 || longitud > buffer.capacity() - 5) {
+				throw new IOException("Longitud de fila no válida: " + longitud);
+			}
+			int siguiente = p + 5 + longitud;
+			if (siguiente > buffer.limit()) {
+				break;
+			}
+			p = siguiente;
+		}
+		return p - buffer.position();
+	}
+
+	/**
+	 * @return Bytes desde la posición del buffer hasta el último salto de línea que no está entre comillas.
+	 */
+	private static int finRegistrosCsv(ByteBuffer buffer) {
+		boolean entreComillas = false;
+		int fin = buffer.position();
+		for (int i = buffer.position(); i < buffer.limit(); i++) {
+			byte b = buffer.get(i);
+			if (b == '"') {
+				entreComillas = !entreComillas; // las comillas escapadas ("") se anulan entre sí
+			} else if (b == '\n' && !entreComillas) {
+				fin = i + 1;
+			}
+		}
+		return fin - buffer.position();
+	}
+
+	private static Fragmento interpretarBinario(byte[] trozo) {
+		Fragmento fragmento = new Fragmento();
+		ByteBuffer datos = ByteBuffer.wrap(trozo);
+		while (datos.hasRemaining()) {
+			byte tipo = datos.get();
+			int longitud = datos.getInt();
+			int fin = datos.position() + longitud;
+			switch (tipo) {
+			case VETERINARIO -> fragmento.veterinarios.add(new FilaVeterinario(
+					datos.getInt(), leerTexto(datos), leerTexto(datos), leerTexto(datos)));
+			case CONTRATO -> fragmento.contratos.add(new FilaContrato(
+					datos.getInt(), datos.getDouble(), datos.getDouble()));
+			case CERTIFICACION -> fragmento.certificaciones.add(new FilaCertificacion(
+					datos.getInt(), leerTexto(datos), leerTexto(datos), datos.getInt()));
+			default -> throw new IllegalArgumentException("tipo de fila desconocido '" + (char) tipo + "'");
+			}
+			if (datos.position() != fin) {
+				throw new IllegalArgumentException("longitud de fila incorrecta");
+			}
+		}
+		return fragmento;
+	}
+
+	private static String leerTexto(ByteBuffer datos) {
+		int longitud = datos.getInt();
+		if (longitud < 0 || longitud > datos.remaining()) {
+			throw new IllegalArgumentException("longitud de texto no válida: " + longitud);
+		}
+		String texto = new String(datos.array(), datos.arrayOffset() + datos.position(), longitud, StandardCharsets.UTF_8);
+		datos.position(datos.position() + longitud);
+		return texto;
+	}
+
+	private static Fragmento interpretarCsv(byte[] trozo) {
+		Fragmento fragmento = new Fragmento();
+		List<String> campos = new ArrayList<>(5);
+		int p = 0;
+		while (p < trozo.length) {
+			if (trozo[p] == '#' || trozo[p] == '\n' || trozo[p] == '\r') {
+				// Comentario o línea vacía
+				while (p < trozo.length && trozo[p] != '\n') {
+					p++;
+				}
+				p++;
+				continue;
+			}
+
+			campos.clear();
+			p = leerLineaCsv(trozo, p, campos);
+			try {
+				switch (campos.get(0)) {
+				case "V" -> fragmento.veterinarios.add(new FilaVeterinario(
+						Integer.parseInt(campos.get(1)), campos.get(2), campos.get(3), campos.get(4)));
+				case "D" -> fragmento.contratos.add(new FilaContrato(
+						Integer.parseInt(campos.get(1)), Double.parseDouble(campos.get(2)), Double.parseDouble(campos.get(3))));
+				case "C" -> fragmento.certificaciones.add(new FilaCertificacion(
+						Integer.parseInt(campos.get(1)), campos.get(2), campos.get(3), Integer.parseInt(campos.get(4))));
+				default -> throw new IllegalArgumentException("tipo de fila desconocido '" + campos.get(0) + "'");
+				}
+			} catch (IndexOutOfBoundsException e) {
+				throw new IllegalArgumentException("faltan campos en la fila " + campos, e);
+			}
+		}
+		return fragmento;
+	}
+
+	/**
+	 * Lee los campos de una línea CSV.
+	 *
+	 * @return Posición del inicio de la línea siguiente.
+	 */
+	private static int leerLineaCsv(byte[] trozo, int p, List<String> campos) {
+		while (true) {
+			if (p < trozo.length && trozo[p] == '"') {
+				StringBuilder valor = new StringBuilder();
+				int inicio = ++p;
+				while (true) {
+					if (p >= trozo.length) {
+						throw new IllegalArgumentException("comillas sin cerrar");
+					}
+					if (trozo[p] == '"') {
+						valor.append(new String(trozo, inicio, p - inicio, StandardCharsets.UTF_8));
+						if (p + 1 < trozo.length && trozo[p + 1] == '"') {
+							valor.append('"');
+							p += 2;
+							inicio = p;
+							continue;
+						}
+						p++;
+						break;
+					}
+					p++;
+				}
+				campos.add(valor.toString());
+			} else {
+				int inicio = p;
+				while (p < trozo.length && trozo[p] != ',' && trozo[p] != '\n' && trozo[p] != '\r') {
+					p++;
+				}
+				campos.add(new String(trozo, inicio, p - inicio, StandardCharsets.UTF_8));
+			}
+
+			if (p < trozo.length && trozo[p] == ',') {
+				p++;
+				continue;
+			}
+			// Fin de línea ("\n" o "\r\n") o de trozo
+			while (p < trozo.length && trozo[p] != '\n') {
+				p++;
+			}
+			return p + 1;
+		}
+	}
+
+	/**
+	 * Inserciones por lotes de las filas interpretadas, en la transacción de la importación.
+	 */
+	private static final class Insercion {
+		private final PreparedStatement stmtVeterinario;
+		private final PreparedStatement stmtContrato;
+		private final PreparedStatement stmtCertificacion;
+		private int enLoteVeterinario;
+		private int enLoteContrato;
+		private int enLoteCertificacion;
+		private int veterinarios;
+		private int contratos;
+		private int certificaciones;
+
+		private Insercion(Connection connection) throws SQLException {
+			stmtVeterinario = connection.prepareStatement(
+					"INSERT INTO Veterinario (num_licencia, nombre, apellido, fecha_contratacion) VALUES (?, ?, ?, ?)");
+			stmtContrato = connection.prepareStatement(
+					"INSERT INTO DetalleContrato (salario_base, horario_semanal, veterinario_licencia) VALUES (?, ?, ?)");
+			stmtCertificacion = connection.prepareStatement(
+					"INSERT INTO Certificacion (id, institucion_emisora, nombre_especialidad, veterinario_licencia) VALUES (?, ?, ?, ?)");
+		}
+
+		private void insertar(Fragmento fragmento) throws SQLException {
+			// Mismo orden que en el fichero: veterinarios antes que lo que depende de ellos
+			for (FilaVeterinario v : fragmento.veterinarios) {
+				stmtVeterinario.setInt(1, v.licencia);
+				stmtVeterinario.setString(2, v.nombre);
+				stmtVeterinario.setString(3, v.apellido);
+				stmtVeterinario.setString(4, v.fecha);
+				stmtVeterinario.addBatch();
+				if (++enLoteVeterinario == TAMANO_LOTE) {
+					stmtVeterinario.executeBatch();
+					enLoteVeterinario = 0;
+				}
+			}
+			veterinarios += fragmento.veterinarios.size();
+			if (enLoteVeterinario > 0 && !fragmento.contratos.isEmpty()) {
+				stmtVeterinario.executeBatch();
+				enLoteVeterinario = 0;
+			}
+
+			for (FilaContrato d : fragmento.contratos) {
+				stmtContrato.setDouble(1, d.salario);
+				stmtContrato.setDouble(2, d.horario);
+				stmtContrato.setInt(3, d.licencia);
+				stmtContrato.addBatch();
+				if (++enLoteContrato == TAMANO_LOTE) {
+					stmtContrato.executeBatch();
+					enLoteContrato = 0;
+				}
+			}
+			contratos += fragmento.contratos.size();
+			if ((enLoteVeterinario > 0 || enLoteContrato > 0) && !fragmento.certificaciones.isEmpty()) {
+				stmtVeterinario.executeBatch();
+				stmtContrato.executeBatch();
+				enLoteVeterinario = 0;
+				enLoteContrato = 0;
+			}
+
+			for (FilaCertificacion c : fragmento.certificaciones) {
+				stmtCertificacion.setInt(1, c.id);
+				stmtCertificacion.setString(2, c.institucion);
+				stmtCertificacion.setString(3, c.especialidad);
+				stmtCertificacion.setInt(4, c.licencia);
+				stmtCertificacion.addBatch();
+				if (++enLoteCertificacion == TAMANO_LOTE) {
+					stmtCertificacion.executeBatch();
+					enLoteCertificacion = 0;
+				}
+			}
+			certificaciones += fragmento.certificaciones.size();
+		}
+
+		/**
+		 * Ejecuta los lotes incompletos y cierra las sentencias.
+		 */
+		private void vaciar() throws SQLException {
+			try {
+				stmtVeterinario.executeBatch();
+				stmtContrato.executeBatch();
+				stmtCertificacion.executeBatch();
+			} finally {
+				stmtVeterinario.close();
+				stmtContrato.close();
+				stmtCertificacion.close();
+			}
+		}
+	}
+
+	/**
+	 * Filas interpretadas de un trozo del fichero.
+	 */
+	private static final class Fragmento {
+		private final List<FilaVeterinario> veterinarios = new ArrayList<>();
+		private final List<FilaContrato> contratos = new ArrayList<>();
+		private final List<FilaCertificacion> certificaciones = new ArrayList<>();
+	}
+
+	private static final class FilaVeterinario {
+		private final int licencia;
+		private final String nombre;
+		private final String apellido;
+		private final String fecha;
+
+		private FilaVeterinario(int licencia, String nombre, String apellido, String fecha) {
+			this.licencia = licencia;
+			this.nombre = nombre;
+			this.apellido = apellido;
+			this.fecha = fecha;
+		}
+	}
+
+	private static final class FilaContrato {
+		private final int licencia;
+		private final double salario;
+		private final double horario;
+
+		private FilaContrato(int licencia, double salario, double horario) {
+			this.licencia = licencia;
+			this.salario = salario;
+			this.horario = horario;
+		}
+	}
+
+	private static final class FilaCertificacion {
+		private final int id;
+		private final String institucion;
+		private final String especialidad;
+		private final int licencia;
+
+		private FilaCertificacion(int id, String institucion, String especialidad, int licencia) {
+			this.id = id;
+			this.institucion = institucion;
+			this.especialidad = especialidad;
+			this.licencia = licencia;
+		}
+	}
+}
@@ -0,0 +1,198 @@
+package clinica_persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Instrumentación de las sentencias SQL por operación lógica.
+ * <p>
+ * Uso:
+ * </p>
+ * <pre>
+ * try (OperacionMedida op = Instrumentacion.iniciar("mostrarTodosVeterinarios")) {
+ *     VeterinarioPersistence.mostrarTodosVeterinarios();
+ * }
+ * </pre>
+ * <p>
+ * Las conexiones del {@link ConnectionPool} miden las sentencias del hilo que tiene una
+ * operación abierta; sin operación abierta no se mide nada. Se configura en
+ * {@code db.properties} con {@code metricas.activas} (desactivada por defecto),
+ * {@code metricas.sumidero} ({@code log} o {@code memoria}) y {@code metricas.n1.umbral}.
+ * </p>
+ */
+public final class Instrumentacion {
+
+	private static final ThreadLocal<OperacionMedida> actual = new ThreadLocal<>();
+
+	private static volatile boolean activa;
+	private static volatile SumideroMetricas sumidero = SumideroMetricas.LOG;
+	private static volatile int umbralN1 = 5;
+
+	static {
+		Properties properties = DatabaseConnection.getPropiedades();
+		activa = Boolean.parseBoolean(properties.getProperty("metricas.activas", "false"));
+		umbralN1 = Integer.parseInt(properties.getProperty("metricas.n1.umbral", "5"));
+		if ("memoria".equalsIgnoreCase(properties.getProperty("metricas.sumidero", "log"))) {
+			sumidero = new RegistroMetricas();
+		}
+	}
+
+	private Instrumentacion() {
+		// Clase de utilidad
+	}
+
+	/**
+	 * Abre una operación medida en el hilo actual. Si ya hay una abierta, se devuelve la
+	 * misma y sus sentencias cuentan para la más externa.
+	 *
+	 * @param nombre Nombre de la operación.
+	 * @return Operación a cerrar con try-with-resources, o {@code null} si la
+	 *         instrumentación está desactivada (try-with-resources admite {@code null}).
+	 */
+	public static OperacionMedida iniciar(String nombre) {
+		if (!activa) {
+			return null;
+		}
+		OperacionMedida op = actual.get();
+		if (op != null) {
+			op.anidar();
+			return op;
+		}
+		op = new OperacionMedida(nombre, umbralN1);
+		actual.set(op);
+		return op;
+	}
+
+	/**
+	 * Cambia la configuración en tiempo de ejecución.
+	 *
+	 * @param activar      {@code true} para medir.
+	 * @param nuevoSumidero Destino de las operaciones terminadas.
+	 * @param umbral       Ejecuciones de una misma sentencia a partir de las cuales se avisa de N+1.
+	 */
+	public static void configurar(boolean activar, SumideroMetricas nuevoSumidero, int umbral) {
+		sumidero = nuevoSumidero;
+		umbralN1 = umbral;
+		activa = activar;
+	}
+
+	/**
+	 * @return {@code true} si la instrumentación está activada.
+	 */
+	public static boolean isActiva() {
+		return activa;
+	}
+
+	/**
+	 * @return Sumidero actual ({@link RegistroMetricas} si se configuró {@code memoria}).
+	 */
+	public static SumideroMetricas getSumidero() {
+		return sumidero;
+	}
+
+	// ========================= USO INTERNO ==============================
+
+	/**
+	 * Operación abierta en el hilo actual, o {@code null}.
+	 */
+	static OperacionMedida actual() {
+		return activa ? actual.get() : null;
+	}
+
+	static void terminar(OperacionMedida op) {
+		if (actual.get() == op) {
+			actual.remove();
+		}
+		try {
+			sumidero.registrar(op);
+		} catch (RuntimeException e) {
+			// Un fallo del sumidero no debe afectar a la operación medida
+			System.out.println("[metricas] error en el sumidero: " + e);
+		}
+	}
+
+	/**
+	 * Ejecuta un método de sentencia midiéndolo si es de la familia {@code execute*}.
+	 * Los ResultSet devueltos se envuelven para contar sus filas y el tiempo de lectura.
+	 *
+	 * @param op     Operación abierta.
+	 * @param sql    Texto SQL de la sentencia (o {@code null} si va en los argumentos).
+	 * @param real   Sentencia real.
+	 * @param method Método invocado.
+	 * @param args   Argumentos.
+	 * @return Resultado del método.
+	 * @throws Throwable la excepción original del método.
+	 */
+	static Object invocarMedido(OperacionMedida op, String sql, Statement real, Method method, Object[] args)
+			throws Throwable {
+		String nombre = method.getName();
+		if (!nombre.startsWith("execute")) {
+			return invocar(real, method, args);
+		}
+		if (sql == null) {
+			sql = (args != null && args.length > 0 && args[0] instanceof String) ? (String) args[0] : "(lote)";
+		}
+
+		long inicio = System.nanoTime();
+		Object resultado = invocar(real, method, args);
+		long nanos = System.nanoTime() - inicio;
+
+		long filas = 0;
+		if (resultado instanceof Integer) {
+			filas = Math.max(0, (Integer) resultado);
+		} else if (resultado instanceof Long) {
+			filas = Math.max(0, (Long) resultado);
+		} else if (resultado instanceof int[]) {
+			for (int n : (int[]) resultado) {
+				filas += Math.max(0, n);
+			}
+		}
+		OperacionMedida.EstadisticaSentencia estadistica = op.registrar(sql, nanos, filas);
+
+		if (resultado instanceof ResultSet) {
+			return contarFilas(op, estadistica, (ResultSet) resultado);
+		}
+		return resultado;
+	}
+
+	private static Object invocar(Object real, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(real, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static ResultSet contarFilas(OperacionMedida op, OperacionMedida.EstadisticaSentencia estadistica,
+			ResultSet real) {
+		InvocationHandler handler = (proxy, method, args) -> {
+			if (!"next".equals(method.getName())) {
+				return invocar(real, method, args);
+			}
+			long inicio = System.nanoTime();
+			Object hayFila = invocar(real, method, args);
+			op.sumarLectura(estadistica, System.nanoTime() - inicio, (Boolean) hayFila);
+			return hayFila;
+		};
+		return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+				new Class<?>[] { ResultSet.class }, handler);
+	}
+
+	/**
+	 * Envuelve una sentencia sin preparar ({@code createStatement}) para medir sus ejecuciones.
+	 *
+	 * @param op   Operación abierta.
+	 * @param real Sentencia real.
+	 * @return Sentencia medida.
+	 */
+	static Statement medir(OperacionMedida op, Statement real) {
+		InvocationHandler handler = (proxy, method, args) -> invocarMedido(op, null, real, method, args);
+		return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+				new Class<?>[] { Statement.class }, handler);
+	}
+}
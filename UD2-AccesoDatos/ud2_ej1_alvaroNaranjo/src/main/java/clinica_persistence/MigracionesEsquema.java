@@ -0,0 +1,327 @@
+package clinica_persistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migraciones versionadas del esquema de {@code clinica.db}.
+ * <p>
+ * Cada migración tiene un número de versión y una lista de sentencias SQL. Al crear el pool
+ * ({@link DatabaseConnection}) se aplican en orden las que aún no constan en la tabla
+ * {@code VersionEsquema}, cada una en su propia transacción junto con su registro, así que
+ * una migración a medias nunca queda anotada como aplicada.
+ * </p>
+ * <p>
+ * Después se comprueba con {@code EXPLAIN QUERY PLAN} que ninguna de las
+ * {@link #CONSULTAS_CRITICAS consultas críticas} recorre una tabla entera, ni los
+ * {@link #LISTADOS_CRITICOS listados críticos} más que su tabla principal: si falta un índice
+ * el programa no arranca, en lugar de degradarse en silencio según crecen las tablas.
+ * </p>
+ * <p>
+ * Las migraciones ya publicadas no se modifican; los cambios nuevos van en una versión nueva
+ * al final de {@link #MIGRACIONES}.
+ * </p>
+ */
+final class MigracionesEsquema {
+
+	/**
+	 * Migraciones en orden de versión.
+	 * <p>
+	 * {@code DetalleContrato.veterinario_licencia} no necesita índice propio: su restricción
+	 * {@code UNIQUE} ya crea {@code sqlite_autoindex_DetalleContrato_1}.
+	 * </p>
+	 */
+	private static final List<Migracion> MIGRACIONES = List.of(
+			new Migracion(1, "Índice de certificaciones por veterinario",
+					"CREATE INDEX IF NOT EXISTS idx_certificacion_veterinario ON Certificacion (veterinario_licencia)"),
+			new Migracion(2, "Índice de veterinarios por fecha de contratación",
+					"CREATE INDEX IF NOT EXISTS idx_veterinario_fecha ON Veterinario (fecha_contratacion)"),
+			new Migracion(3, "Tablas resumen de nómina, especialidades e instituciones",
+					// Tablas
+					"CREATE TABLE ResumenNomina ("
+							+ "id INTEGER PRIMARY KEY CHECK (id = 1), "
+							+ "num_contratos INTEGER NOT NULL, "
+							+ "total_salario REAL NOT NULL, "
+							+ "total_horas REAL NOT NULL)",
+					"CREATE TABLE ResumenEspecialidad ("
+							+ "nombre_especialidad TEXT PRIMARY KEY, "
+							+ "num_certificaciones INTEGER NOT NULL)",
+					"CREATE TABLE ResumenInstitucion ("
+							+ "institucion_emisora TEXT PRIMARY KEY, "
+							+ "num_certificaciones INTEGER NOT NULL, "
+							+ "num_veterinarios INTEGER NOT NULL)",
+					// Certificaciones de cada veterinario por institución: permite contar veterinarios distintos
+					"CREATE TABLE ResumenInstitucionVeterinario ("
+							+ "institucion_emisora TEXT NOT NULL, "
+							+ "veterinario_licencia INTEGER NOT NULL, "
+							+ "num_certificaciones INTEGER NOT NULL, "
+							+ "PRIMARY KEY (institucion_emisora, veterinario_licencia))",
+					// Relleno con los datos actuales (misma transacción: no se pierde ninguna escritura)
+					"INSERT INTO ResumenNomina (id, num_contratos, total_salario, total_horas) "
+							+ "SELECT 1, COUNT(*), COALESCE(SUM(salario_base), 0), COALESCE(SUM(horario_semanal), 0) FROM DetalleContrato",
+					"INSERT INTO ResumenEspecialidad (nombre_especialidad, num_certificaciones) "
+							+ "SELECT nombre_especialidad, COUNT(*) FROM Certificacion GROUP BY nombre_especialidad",
+					"INSERT INTO ResumenInstitucionVeterinario (institucion_emisora, veterinario_licencia, num_certificaciones) "
+							+ "SELECT institucion_emisora, veterinario_licencia, COUNT(*) FROM Certificacion "
+							+ "GROUP BY institucion_emisora, veterinario_licencia",
+					"INSERT INTO ResumenInstitucion (institucion_emisora, num_certificaciones, num_veterinarios) "
+							+ "SELECT institucion_emisora, SUM(num_certificaciones), COUNT(*) FROM ResumenInstitucionVeterinario "
+							+ "GROUP BY institucion_emisora",
+					// Disparadores de DetalleContrato
+					"CREATE TRIGGER trg_resumen_contrato_insert AFTER INSERT ON DetalleContrato BEGIN "
+							+ "UPDATE ResumenNomina SET num_contratos = num_contratos + 1, "
+							+ "total_salario = total_salario + NEW.salario_base, total_horas = total_horas + NEW.horario_semanal "
+							+ "WHERE id = 1; END",
+					"CREATE TRIGGER trg_resumen_contrato_delete AFTER DELETE ON DetalleContrato BEGIN "
+							+ "UPDATE ResumenNomina SET num_contratos = num_contratos - 1, "
+							+ "total_salario = total_salario - OLD.salario_base, total_horas = total_horas - OLD.horario_semanal "
+							+ "WHERE id = 1; END",
+					"CREATE TRIGGER trg_resumen_contrato_update AFTER UPDATE OF salario_base, horario_semanal ON DetalleContrato BEGIN "
+							+ "UPDATE ResumenNomina SET total_salario = total_salario - OLD.salario_base + NEW.salario_base, "
+							+ "total_horas = total_horas - OLD.horario_semanal + NEW.horario_semanal "
+							+ "WHERE id = 1; END",
+					// Disparadores de Certificacion (una modificación resta la fila antigua y suma la nueva)
+					"CREATE TRIGGER trg_resumen_certificacion_insert AFTER INSERT ON Certificacion BEGIN "
+							+ sumarCertificacion("NEW") + "END",
+					"CREATE TRIGGER trg_resumen_certificacion_delete AFTER DELETE ON Certificacion BEGIN "
+							+ restarCertificacion("OLD") + "END",
+					"CREATE TRIGGER trg_resumen_certificacion_update "
+							+ "AFTER UPDATE OF institucion_emisora, nombre_especialidad, veterinario_licencia ON Certificacion BEGIN "
+							+ restarCertificacion("OLD") + sumarCertificacion("NEW") + "END"),
+			new Migracion(4, "Índice de texto completo de certificaciones",
+					// Contenido externo: el índice no duplica el texto, lo lee de Certificacion por id.
+					// Los índices de prefijos de 2 a 4 letras evitan recorrer todos los términos en búsquedas cortas
+					"CREATE VIRTUAL TABLE CertificacionFts USING fts5("
+							+ "nombre_especialidad, institucion_emisora, "
+							+ "content = 'Certificacion', content_rowid = 'id', "
+							+ "tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3 4')",
+					"INSERT INTO CertificacionFts (CertificacionFts) VALUES ('rebuild')",
+					"CREATE TRIGGER trg_fts_certificacion_insert AFTER INSERT ON Certificacion BEGIN "
+							+ "INSERT INTO CertificacionFts (rowid, nombre_especialidad, institucion_emisora) "
+							+ "VALUES (NEW.id, NEW.nombre_especialidad, NEW.institucion_emisora); END",
+					"CREATE TRIGGER trg_fts_certificacion_delete AFTER DELETE ON Certificacion BEGIN "
+							+ "INSERT INTO CertificacionFts (CertificacionFts, rowid, nombre_especialidad, institucion_emisora) "
+							+ "VALUES ('delete', OLD.id, OLD.nombre_especialidad, OLD.institucion_emisora); END",
+					"CREATE TRIGGER trg_fts_certificacion_update "
+							+ "AFTER UPDATE OF nombre_especialidad, institucion_emisora ON Certificacion BEGIN "
+							+ "INSERT INTO CertificacionFts (CertificacionFts, rowid, nombre_especialidad, institucion_emisora) "
+							+ "VALUES ('delete', OLD.id, OLD.nombre_especialidad, OLD.institucion_emisora); "
+							+ "INSERT INTO CertificacionFts (rowid, nombre_especialidad, institucion_emisora) "
+							+ "VALUES (NEW.id, NEW.nombre_especialidad, NEW.institucion_emisora); END"));
+
+	/**
+	 * Consultas por clave de {@link VeterinarioPersistence} y {@link CertificacionPersistence},
+	 * tomadas de sus propias constantes. Ninguna debe necesitar un recorrido completo de tabla.
+	 * Las que llevan {@code IN (...)} se comprueban con dos marcadores.
+	 */
+	static final List<String> CONSULTAS_CRITICAS = List.of(
+			VeterinarioPersistence.SQL_LEER_VETERINARIO,
+			VeterinarioPersistence.SQL_LEER_CONTRATO,
+			VeterinarioPersistence.SQL_LEER_CERTIFICACIONES,
+			VeterinarioPersistence.SQL_EXISTE,
+			VeterinarioPersistence.SQL_PAGINA,
+			VeterinarioPersistence.SQL_PAGINA_CERTIFICACIONES,
+			VeterinarioPersistence.SQL_PAGINA_RESUMEN,
+			VeterinarioPersistence.SQL_POR_FECHA,
+			VeterinarioPersistence.SQL_POR_FECHA_CERTIFICACIONES,
+			VeterinarioPersistence.SQL_ACTUALIZAR_VETERINARIO,
+			VeterinarioPersistence.SQL_ACTUALIZAR_CONTRATO,
+			VeterinarioPersistence.SQL_BORRAR_CERTIFICACIONES,
+			VeterinarioPersistence.SQL_BORRAR_CONTRATO,
+			VeterinarioPersistence.SQL_BORRAR_VETERINARIO,
+			VeterinarioPersistence.SQL_BORRAR_CERTIFICACIONES_EN + Consultas.marcadores(2) + ")",
+			VeterinarioPersistence.SQL_BORRAR_CONTRATOS_EN + Consultas.marcadores(2) + ")",
+			VeterinarioPersistence.SQL_BORRAR_VETERINARIOS_EN + Consultas.marcadores(2) + ")",
+			CertificacionPersistence.SQL_LEER_CERTIFICACION,
+			CertificacionPersistence.SQL_LEER_POR_VETERINARIO,
+			CertificacionPersistence.SQL_LEER_EN + Consultas.marcadores(2) + ")",
+			CertificacionPersistence.SQL_PAGINA,
+			CertificacionPersistence.SQL_ACTUALIZAR,
+			CertificacionPersistence.SQL_BORRAR);
+
+	/**
+	 * Listados completos: recorren su tabla principal una vez (el primer {@code SCAN} del plan
+	 * es lo esperado), pero todo lo que resuelven por cada fila debe ir por índice.
+	 */
+	static final List<String> LISTADOS_CRITICOS = List.of(
+			VeterinarioPersistence.SQL_CON_CERTIFICACIONES);
+
+	private MigracionesEsquema() {
+		// Clase de utilidad
+	}
+
+	/**
+	 * Aplica las migraciones pendientes y, si se pide, comprueba los planes de las consultas críticas.
+	 *
+	 * @param connection      Conexión en modo autoCommit.
+	 * @param comprobarPlanes Si es {@code true}, falla cuando alguna consulta crítica recorre una tabla entera.
+	 * @throws SQLException          si falla alguna migración (sus cambios se deshacen).
+	 * @throws IllegalStateException si la comprobación de planes encuentra recorridos completos.
+	 */
+	static void migrar(Connection connection, boolean comprobarPlanes) throws SQLException {
+		aplicar(connection);
+
+		if (comprobarPlanes) {
+			List<String> recorridos = comprobarPlanes(connection);
+			if (!recorridos.isEmpty()) {
+				throw new IllegalStateException("Consultas sin índice (recorren la tabla entera): fin del programa.\n  "
+						+ String.join("\n  ", recorridos));
+			}
+		}
+	}
+
+	/**
+	 * Crea la tabla de versiones si no existe y aplica las migraciones que faltan.
+	 *
+	 * @param connection Conexión en modo autoCommit.
+	 * @return Número de migraciones aplicadas en esta llamada.
+	 * @throws SQLException si falla alguna migración (sus cambios se deshacen).
+	 */
+	static int aplicar(Connection connection) throws SQLException {
+		try (Statement stmt = connection.createStatement()) {
+			stmt.executeUpdate("CREATE TABLE IF NOT EXISTS VersionEsquema ("
+					+ "version INTEGER PRIMARY KEY, "
+					+ "descripcion TEXT NOT NULL, "
+					+ "aplicada_en TEXT NOT NULL)");
+		}
+
+		int actual = versionActual(connection);
+		int aplicadas = 0;
+
+		for (Migracion migracion : MIGRACIONES) {
+			if (migracion.version <= actual) {
+				continue;
+			}
+
+			connection.setAutoCommit(false);
+			try (Statement stmt = connection.createStatement();
+					PreparedStatement registro = connection.prepareStatement(
+							"INSERT INTO VersionEsquema (version, descripcion, aplicada_en) VALUES (?, ?, ?)")) {
+				for (String sql : migracion.sentencias) {
+					stmt.executeUpdate(sql);
+				}
+				registro.setInt(1, migracion.version);
+				registro.setString(2, migracion.descripcion);
+				registro.setString(3, LocalDateTime.now().withNano(0).toString());
+				registro.executeUpdate();
+
+				connection.commit();
+				aplicadas++;
+				System.out.println("Migración " + migracion.version + " aplicada: " + migracion.descripcion);
+			} catch (SQLException e) {
+				connection.rollback();
+				throw new SQLException("Fallo en la migración " + migracion.version + " (" + migracion.descripcion + ")", e);
+			} finally {
+				connection.setAutoCommit(true);
+			}
+		}
+
+		return aplicadas;
+	}
+
+	/**
+	 * @param connection Conexión abierta.
+	 * @return Versión más alta registrada en {@code VersionEsquema} (0 si no hay ninguna).
+	 * @throws SQLException si la tabla no existe o falla la consulta.
+	 */
+	static int versionActual(Connection connection) throws SQLException {
+		try (Statement stmt = connection.createStatement();
+				ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM VersionEsquema")) {
+			return rs.next() ? rs.getInt(1) : 0;
+		}
+	}
+
+	/**
+	 * Ejecuta {@code EXPLAIN QUERY PLAN} sobre cada consulta crítica y cada listado crítico.
+	 *
+	 * @param connection Conexión abierta.
+	 * @return Una línea "consulta → paso del plan" por cada recorrido completo ({@code SCAN})
+	 *         no esperado; vacía si todas usan la clave primaria o un índice.
+	 * @throws SQLException si alguna consulta no se puede preparar (por ejemplo, falta una columna).
+	 */
+	static List<String> comprobarPlanes(Connection connection) throws SQLException {
+		List<String> recorridos = new ArrayList<>();
+		for (String sql : CONSULTAS_CRITICAS) {
+			buscarRecorridos(connection, sql, false, recorridos);
+		}
+		for (String sql : LISTADOS_CRITICOS) {
+			buscarRecorridos(connection, sql, true, recorridos);
+		}
+		return recorridos;
+	}
+
+	private static void buscarRecorridos(Connection connection, String sql, boolean listado, List<String> recorridos)
+			throws SQLException {
+		boolean permitido = listado;
+		try (PreparedStatement stmt = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+				ResultSet rs = stmt.executeQuery()) {
+			while (rs.next()) {
+				// Columnas: id, parent, notused, detail. "SEARCH ..." usa índice; "SCAN ..." recorre todo
+				String detalle = rs.getString("detail");
+				if (detalle != null && detalle.startsWith("SCAN ")) {
+					if (permitido) {
+						permitido = false;
+					} else {
+						recorridos.add(sql + " → " + detalle);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Cuerpo de disparador que suma a los resúmenes la certificación {@code fila} (NEW).
+	 */
+	private static String sumarCertificacion(String fila) {
+		return "INSERT INTO ResumenEspecialidad (nombre_especialidad, num_certificaciones) "
+				+ "VALUES (" + fila + ".nombre_especialidad, 1) "
+				+ "ON CONFLICT (nombre_especialidad) DO UPDATE SET num_certificaciones = num_certificaciones + 1; "
+				+ "INSERT INTO ResumenInstitucionVeterinario (institucion_emisora, veterinario_licencia, num_certificaciones) "
+				+ "VALUES (" + fila + ".institucion_emisora, " + fila + ".veterinario_licencia, 1) "
+				+ "ON CONFLICT (institucion_emisora, veterinario_licencia) DO UPDATE SET num_certificaciones = num_certificaciones + 1; "
+				// El veterinario es nuevo en la institución si su contador acaba de pasar a 1
+				+ "INSERT INTO ResumenInstitucion (institucion_emisora, num_certificaciones, num_veterinarios) "
+				+ "VALUES (" + fila + ".institucion_emisora, 1, 1) "
+				+ "ON CONFLICT (institucion_emisora) DO UPDATE SET num_certificaciones = num_certificaciones + 1, "
+				+ "num_veterinarios = num_veterinarios + (SELECT num_certificaciones = 1 FROM ResumenInstitucionVeterinario "
+				+ "WHERE institucion_emisora = " + fila + ".institucion_emisora AND veterinario_licencia = " + fila + ".veterinario_licencia); ";
+	}
+
+	/**
+	 * Cuerpo de disparador que resta de los resúmenes la certificación {@code fila} (OLD).
+	 */
+	private static String restarCertificacion(String fila) {
+		String par = "institucion_emisora = " + fila + ".institucion_emisora AND veterinario_licencia = " + fila + ".veterinario_licencia";
+		return "UPDATE ResumenEspecialidad SET num_certificaciones = num_certificaciones - 1 "
+				+ "WHERE nombre_especialidad = " + fila + ".nombre_especialidad; "
+				+ "DELETE FROM ResumenEspecialidad WHERE nombre_especialidad = " + fila + ".nombre_especialidad AND num_certificaciones <= 0; "
+				+ "UPDATE ResumenInstitucionVeterinario SET num_certificaciones = num_certificaciones - 1 WHERE " + par + "; "
+				// El veterinario deja la institución si su contador acaba de llegar a 0
+				+ "UPDATE ResumenInstitucion SET num_certificaciones = num_certificaciones - 1, "
+				+ "num_veterinarios = num_veterinarios - (SELECT num_certificaciones <= 0 FROM ResumenInstitucionVeterinario WHERE " + par + ") "
+				+ "WHERE institucion_emisora = " + fila + ".institucion_emisora; "
+				+ "DELETE FROM ResumenInstitucionVeterinario WHERE " + par + " AND num_certificaciones <= 0; "
+				+ "DELETE FROM ResumenInstitucion WHERE institucion_emisora = " + fila + ".institucion_emisora AND num_certificaciones <= 0; ";
+	}
+
+	/**
+	 * Una versión del esquema: sentencias que se aplican juntas en una transacción.
+	 */
+	private static final class Migracion {
+		private final int version;
+		private final String descripcion;
+		private final String[] sentencias;
+
+		private Migracion(int version, String descripcion, String... sentencias) {
+			this.version = version;
+			this.descripcion = descripcion;
+			this.sentencias = sentencias;
+		}
+	}
+}
@@ -0,0 +1,188 @@
+package clinica_persistence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Métricas SQL de una operación lógica (por ejemplo, una opción del menú).
+ * <p>
+ * Se obtiene con {@link Instrumentacion#iniciar(String)} y se cierra con
+ * try-with-resources. Mientras está abierta, cada sentencia que ejecuta el hilo actual
+ * con una conexión del pool suma aquí su número de ejecuciones, filas y tiempo,
+ * agrupadas por texto SQL. Al cerrarse se entrega al {@link SumideroMetricas} configurado.
+ * </p>
+ * <p>
+ * Si una sentencia se ejecuta más de {@code umbralN1} veces dentro de la misma
+ * operación se considera sospechosa de patrón N+1 (una consulta por elemento de una
+ * lista en lugar de una sola consulta para todos).
+ * </p>
+ */
+public final class OperacionMedida implements AutoCloseable {
+
+	private final String nombre;
+	private final int umbralN1;
+	private final long inicio;
+	private long fin;
+	private int profundidad = 1;
+
+	private final Map<String, EstadisticaSentencia> porSentencia = new LinkedHashMap<>();
+	private int sentencias;
+	private long filas;
+
+	OperacionMedida(String nombre, int umbralN1) {
+		this.nombre = nombre;
+		this.umbralN1 = umbralN1;
+		this.inicio = System.nanoTime();
+	}
+
+	/**
+	 * Termina la operación (la más externa, si hay anidadas) y la entrega al sumidero.
+	 */
+	@Override
+	public void close() {
+		if (--profundidad > 0) {
+			return;
+		}
+		fin = System.nanoTime();
+		Instrumentacion.terminar(this);
+	}
+
+	/**
+	 * @return Nombre de la operación.
+	 */
+	public String getNombre() {
+		return nombre;
+	}
+
+	/**
+	 * @return Duración total en nanosegundos (hasta ahora, si sigue abierta).
+	 */
+	public long getDuracionNanos() {
+		return ((fin != 0) ? fin : System.nanoTime()) - inicio;
+	}
+
+	/**
+	 * @return Número de sentencias ejecutadas.
+	 */
+	public int getSentencias() {
+		return sentencias;
+	}
+
+	/**
+	 * @return Filas leídas más filas modificadas.
+	 */
+	public long getFilas() {
+		return filas;
+	}
+
+	/**
+	 * @return Estadísticas por texto SQL, en orden de primera ejecución.
+	 */
+	public Collection<EstadisticaSentencia> getEstadisticas() {
+		return Collections.unmodifiableCollection(porSentencia.values());
+	}
+
+	/**
+	 * @return Sentencias ejecutadas más veces que el umbral N+1.
+	 */
+	public List<EstadisticaSentencia> getSospechasN1() {
+		List<EstadisticaSentencia> sospechas = new ArrayList<>();
+		for (EstadisticaSentencia e : porSentencia.values()) {
+			if (e.ejecuciones > umbralN1) {
+				sospechas.add(e);
+			}
+		}
+		return sospechas;
+	}
+
+	/**
+	 * Línea resumen de la operación.
+	 * @return Texto con sentencias, filas, duración y avisos N+1.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(nombre).append(": ").append(sentencias).append(" sentencias, ")
+		  .append(filas).append(" filas, ")
+		  .append(String.format("%.3f ms", getDuracionNanos() / 1e6));
+		for (EstadisticaSentencia e : getSospechasN1()) {
+			sb.append(" | N+1: ").append(e.ejecuciones).append("x ").append(e.sql);
+		}
+		return sb.toString();
+	}
+
+	// ========================= REGISTRO (paquete) ==============================
+
+	void anidar() {
+		profundidad++;
+	}
+
+	EstadisticaSentencia registrar(String sql, long nanos, long filasSentencia) {
+		EstadisticaSentencia e = porSentencia.computeIfAbsent(sql, EstadisticaSentencia::new);
+		e.ejecuciones++;
+		e.nanos += nanos;
+		e.maxNanos = Math.max(e.maxNanos, nanos);
+		e.filas += filasSentencia;
+		sentencias++;
+		filas += filasSentencia;
+		return e;
+	}
+
+	void sumarLectura(EstadisticaSentencia e, long nanos, boolean fila) {
+		e.nanos += nanos;
+		if (fila) {
+			e.filas++;
+			filas++;
+		}
+	}
+
+	/**
+	 * Acumulado de un mismo texto SQL dentro de una operación.
+	 */
+	public static final class EstadisticaSentencia {
+		private final String sql;
+		private int ejecuciones;
+		private long filas;
+		private long nanos;
+		private long maxNanos;
+
+		private EstadisticaSentencia(String sql) {
+			this.sql = sql;
+		}
+
+		public String getSql() {
+			return sql;
+		}
+
+		public int getEjecuciones() {
+			return ejecuciones;
+		}
+
+		public long getFilas() {
+			return filas;
+		}
+
+		/**
+		 * @return Tiempo total: ejecución más lectura de sus filas.
+		 */
+		public long getNanos() {
+			return nanos;
+		}
+
+		/**
+		 * @return Tiempo de la ejecución más lenta (sin contar la lectura de filas).
+		 */
+		public long getMaxNanos() {
+			return maxNanos;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%dx %d filas %.3f ms  %s", ejecuciones, filas, nanos / 1e6, sql);
+		}
+	}
+}
@@ -0,0 +1,220 @@
+package clinica_persistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import errores.Errores;
+
+/**
+ * Registro en memoria de los números de licencia existentes.
+ * <p>
+ * Guarda las licencias en un array de {@code int} ordenado y responde a
+ * {@link #existe(int)} con una búsqueda binaria, sin acceder a la base de datos.
+ * Se carga una sola vez desde {@code Veterinario.num_licencia} y lo mantienen al día
+ * los métodos de alta y baja de {@link VeterinarioPersistence}. Solo es fiable si todas
+ * las escrituras sobre la tabla pasan por esta aplicación; si no, basta con
+ * {@link #invalidar()} para que se recargue en la siguiente consulta.
+ * </p>
+ */
+public final class RegistroLicencias {
+
+	private static final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private static int[] licencias = new int[0];
+	private static int tamano;
+	private static boolean cargado;
+
+	private RegistroLicencias() {
+		// Clase de utilidad
+	}
+
+	/**
+	 * Indica si existe un veterinario con la licencia dada.
+	 * Si el registro no se puede cargar, se consulta directamente la base de datos.
+	 *
+	 * @param licencia Número de licencia.
+	 * @return {@code true} si la licencia ya está en uso.
+	 */
+	public static boolean existe(int licencia) {
+		if (licencia <= 0) {
+			return false;
+		}
+		if (!asegurarCargado()) {
+			return VeterinarioPersistence.exists(licencia);
+		}
+
+		lock.readLock().lock();
+		try {
+			return Arrays.binarySearch(licencias, 0, tamano, licencia) >= 0;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Número de licencias registradas (carga el registro si hace falta).
+	 *
+	 * @return Número de veterinarios conocidos.
+	 */
+	public static int size() {
+		asegurarCargado();
+		lock.readLock().lock();
+		try {
+			return tamano;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Descarta el contenido; se volverá a cargar en la siguiente consulta.
+	 */
+	public static void invalidar() {
+		lock.writeLock().lock();
+		try {
+			licencias = new int[0];
+			tamano = 0;
+			cargado = false;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Añade una licencia tras un alta confirmada.
+	 *
+	 * @param licencia Número de licencia insertado.
+	 */
+	static void registrar(int licencia) {
+		lock.writeLock().lock();
+		try {
+			if (!cargado) {
+				return; // se leerá de la base de datos al cargar
+			}
+			int pos = Arrays.binarySearch(licencias, 0, tamano, licencia);
+			if (pos >= 0) {
+				return;
+			}
+			pos = -pos - 1;
+			if (tamano == licencias.length) {
+				licencias = Arrays.copyOf(licencias, Math.max(16, tamano + (tamano >> 1)));
+			}
+			System.arraycopy(licencias, pos, licencias, pos + 1, tamano - pos);
+			licencias[pos] = licencia;
+			tamano++;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Quita una licencia tras una baja confirmada.
+	 *
+	 * @param licencia Número de licencia eliminado.
+	 */
+	static void eliminar(int licencia) {
+		lock.writeLock().lock();
+		try {
+			int pos = Arrays.binarySearch(licencias, 0, tamano, licencia);
+			if (pos >= 0) {
+				System.arraycopy(licencias, pos + 1, licencias, pos, tamano - pos - 1);
+				tamano--;
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Quita varias licencias tras una baja en lote confirmada, con una sola pasada
+	 * sobre el array en lugar de un desplazamiento por licencia.
+	 *
+	 * @param eliminadas Licencias eliminadas, ordenadas de menor a mayor.
+	 */
+	static void eliminarTodas(int[] eliminadas) {
+		lock.writeLock().lock();
+		try {
+			int j = 0;
+			int escritas = 0;
+			for (int i = 0; i < tamano; i++) {
+				while (j < eliminadas.length && eliminadas[j] < licencias[i]) {
+					j++;
+				}
+				if (j < eliminadas.length && eliminadas[j] == licencias[i]) {
+					continue;
+				}
+				licencias[escritas++] = licencias[i];
+			}
+			tamano = escritas;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Deja el registro cargado y vacío, tras borrar todos los veterinarios.
+	 */
+	static void vaciar() {
+		lock.writeLock().lock();
+		try {
+			tamano = 0;
+			cargado = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private static boolean asegurarCargado() {
+		lock.readLock().lock();
+		try {
+			if (cargado) {
+				return true;
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		lock.writeLock().lock();
+		try {
+			if (!cargado) {
+				cargar();
+			}
+			return cargado;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private static void cargar() {
+		String sql = "SELECT num_licencia FROM Veterinario ORDER BY num_licencia";
+		int[] leidas = new int[Math.max(16, licencias.length)];
+		int n = 0;
+
+		Connection connection = null;
+
+		try {
+			connection = DatabaseConnection.getConnection();
+			try (PreparedStatement stmt = connection.prepareStatement(sql);
+					ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					if (n == leidas.length) {
+						leidas = Arrays.copyOf(leidas, n + (n >> 1));
+					}
+					leidas[n++] = rs.getInt(1);
+				}
+			}
+			licencias = leidas;
+			tamano = n;
+			cargado = true;
+
+		} catch (SQLException e) {
+			Errores.notificarError("cargar el registro de licencias", e);
+		} finally {
+			DatabaseConnection.liberar(connection);
+		}
+	}
+}
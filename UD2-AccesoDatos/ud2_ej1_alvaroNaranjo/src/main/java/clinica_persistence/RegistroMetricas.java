@@ -0,0 +1,133 @@
+package clinica_persistence;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sumidero de métricas en memoria.
+ * Acumula, por nombre de operación, llamadas, sentencias, filas, tiempo y sospechas N+1,
+ * y guarda las últimas operaciones completas para poder inspeccionarlas.
+ */
+public class RegistroMetricas implements SumideroMetricas {
+
+	private static final int ULTIMAS = 100;
+
+	private final Map<String, Agregado> agregados = new TreeMap<>();
+	private final Deque<OperacionMedida> ultimas = new ArrayDeque<>();
+
+	@Override
+	public synchronized void registrar(OperacionMedida operacion) {
+		Agregado a = agregados.computeIfAbsent(operacion.getNombre(), Agregado::new);
+		a.llamadas++;
+		a.sentencias += operacion.getSentencias();
+		a.filas += operacion.getFilas();
+		a.nanos += operacion.getDuracionNanos();
+		if (!operacion.getSospechasN1().isEmpty()) {
+			a.conN1++;
+		}
+
+		if (ultimas.size() == ULTIMAS) {
+			ultimas.removeFirst();
+		}
+		ultimas.addLast(operacion);
+	}
+
+	/**
+	 * @return Copia de los acumulados por operación, ordenados por nombre.
+	 */
+	public synchronized List<Agregado> getAgregados() {
+		List<Agregado> copia = new ArrayList<>();
+		for (Agregado a : agregados.values()) {
+			copia.add(a.copia());
+		}
+		return copia;
+	}
+
+	/**
+	 * @return Las últimas operaciones registradas (como máximo 100), de la más antigua a la más reciente.
+	 */
+	public synchronized List<OperacionMedida> getUltimas() {
+		return new ArrayList<>(ultimas);
+	}
+
+	/**
+	 * Borra todo lo acumulado.
+	 */
+	public synchronized void reiniciar() {
+		agregados.clear();
+		ultimas.clear();
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder sb = new StringBuilder("Métricas por operación:");
+		for (Agregado a : agregados.values()) {
+			sb.append(System.lineSeparator()).append("  ").append(a);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Totales de todas las ejecuciones de una misma operación.
+	 */
+	public static final class Agregado {
+		private final String nombre;
+		private long llamadas;
+		private long sentencias;
+		private long filas;
+		private long nanos;
+		private long conN1;
+
+		private Agregado(String nombre) {
+			this.nombre = nombre;
+		}
+
+		private Agregado copia() {
+			Agregado c = new Agregado(nombre);
+			c.llamadas = llamadas;
+			c.sentencias = sentencias;
+			c.filas = filas;
+			c.nanos = nanos;
+			c.conN1 = conN1;
+			return c;
+		}
+
+		public String getNombre() {
+			return nombre;
+		}
+
+		public long getLlamadas() {
+			return llamadas;
+		}
+
+		public long getSentencias() {
+			return sentencias;
+		}
+
+		public long getFilas() {
+			return filas;
+		}
+
+		public long getNanos() {
+			return nanos;
+		}
+
+		/**
+		 * @return Número de llamadas en las que se detectó algún patrón N+1.
+		 */
+		public long getConN1() {
+			return conN1;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s: %d llamadas, %.1f sentencias/llamada, %.1f filas/llamada, %.3f ms/llamada, %d con N+1",
+					nombre, llamadas, (double) sentencias / llamadas, (double) filas / llamadas,
+					nanos / 1e6 / llamadas, conN1);
+		}
+	}
+}
@@ -0,0 +1,212 @@
+package clinica_persistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import clinica_model.InformeGestion;
+import clinica_model.ResumenEspecialidad;
+import clinica_model.ResumenInstitucion;
+import clinica_model.ResumenNomina;
+import errores.Errores;
+
+/**
+ * Informes de gestión leídos de las tablas resumen ({@code ResumenNomina},
+ * {@code ResumenEspecialidad}, {@code ResumenInstitucion}).
+ * <p>
+ * Las tablas las crea la migración 3 de {@link MigracionesEsquema} y las mantienen al día
+ * disparadores sobre {@code DetalleContrato} y {@code Certificacion}, dentro de la misma
+ * transacción que cada escritura. Por eso cada informe cuesta una fila por grupo, sin
+ * recorrer las tablas base.
+ * </p>
+ * <p>
+ * Las lecturas van a la {@link SnapshotLectura copia en memoria} cuando está activa, así que
+ * pueden ir por detrás de la base de datos ({@link SnapshotLectura#getAntiguedad()}).
+ * {@link #readInforme()} lee las tres partes de la misma copia.
+ * {@link #recalcular()} escribe en la base de datos y después refresca la copia.
+ * </p>
+ */
+public class ReportPersistence {
+
+	private ReportPersistence() {
+		// Clase de utilidad
+	}
+
+	/**
+	 * Lee las tres partes del informe de una vez. Con la copia de lectura activa, todas salen
+	 * de la misma copia aunque un refresco programado la sustituya mientras tanto.
+	 *
+	 * @return Informe completo, o {@code null} si ocurre un error.
+	 */
+	public static InformeGestion readInforme() {
+		InformeGestion informe = null;
+		Connection connection = null;
+
+		try {
+			connection = abrirLectura();
+			// Con el cerrojo de la copia tomado, el momento corresponde a lo que se lee
+			Instant momento = SnapshotLectura.isActiva() ? SnapshotLectura.getMomento() : null;
+			informe = new InformeGestion(leerNomina(connection), leerEspecialidades(connection),
+					leerInstituciones(connection), momento);
+		} catch (SQLException e) {
+			Errores.notificarError("leer informe de gestión", e);
+		} finally {
+			liberarLectura(connection);
+		}
+
+		return informe;
+	}
+
+	/**
+	 * Lee el resumen de la nómina (contratos, salario y horas totales y medios).
+	 *
+	 * @return Resumen de la nómina, o {@code null} si ocurre un error.
+	 */
+	public static ResumenNomina readResumenNomina() {
+		ResumenNomina resumen = null;
+		Connection connection = null;
+
+		try {
+			connection = abrirLectura();
+			resumen = leerNomina(connection);
+		} catch (SQLException e) {
+			Errores.notificarError("leer resumen de nómina", e);
+		} finally {
+			liberarLectura(connection);
+		}
+
+		return resumen;
+	}
+
+	/**
+	 * Lee el número de veterinarios por especialidad, de más a menos.
+	 * Como {@code nombre_especialidad} es única en {@code Certificacion}, cada certificación
+	 * de una especialidad corresponde a un veterinario distinto.
+	 *
+	 * @return Lista de especialidades; vacía si no hay ninguna o si ocurre un error.
+	 */
+	public static List<ResumenEspecialidad> readResumenEspecialidades() {
+		List<ResumenEspecialidad> resumen = new ArrayList<>();
+		Connection connection = null;
+
+		try {
+			connection = abrirLectura();
+			resumen = leerEspecialidades(connection);
+		} catch (SQLException e) {
+			Errores.notificarError("leer resumen de especialidades", e);
+		} finally {
+			liberarLectura(connection);
+		}
+
+		return resumen;
+	}
+
+	/**
+	 * Lee las certificaciones y los veterinarios distintos por institución emisora, de más a menos veterinarios.
+	 *
+	 * @return Lista de instituciones; vacía si no hay ninguna o si ocurre un error.
+	 */
+	public static List<ResumenInstitucion> readResumenInstituciones() {
+		List<ResumenInstitucion> resumen = new ArrayList<>();
+		Connection connection = null;
+
+		try {
+			connection = abrirLectura();
+			resumen = leerInstituciones(connection);
+		} catch (SQLException e) {
+			Errores.notificarError("leer resumen de instituciones", e);
+		} finally {
+			liberarLectura(connection);
+		}
+
+		return resumen;
+	}
+
+	private static ResumenNomina leerNomina(Connection connection) throws SQLException {
+		String sql = "SELECT num_contratos, total_salario, total_horas FROM ResumenNomina WHERE id = 1";
+		try (PreparedStatement stmt = connection.prepareStatement(sql); ResultSet rs = stmt.executeQuery()) {
+			return rs.next()
+					? new ResumenNomina(rs.getInt(1), rs.getDouble(2), rs.getDouble(3))
+					: new ResumenNomina(0, 0.0, 0.0);
+		}
+	}
+
+	private static List<ResumenEspecialidad> leerEspecialidades(Connection connection) throws SQLException {
+		String sql = "SELECT nombre_especialidad, num_certificaciones FROM ResumenEspecialidad "
+				+ "ORDER BY num_certificaciones DESC, nombre_especialidad";
+		List<ResumenEspecialidad> resumen = new ArrayList<>();
+		try (PreparedStatement stmt = connection.prepareStatement(sql); ResultSet rs = stmt.executeQuery()) {
+			while (rs.next()) {
+				resumen.add(new ResumenEspecialidad(rs.getString(1), rs.getInt(2)));
+			}
+		}
+		return resumen;
+	}
+
+	private static List<ResumenInstitucion> leerInstituciones(Connection connection) throws SQLException {
+		String sql = "SELECT institucion_emisora, num_certificaciones, num_veterinarios FROM ResumenInstitucion "
+				+ "ORDER BY num_veterinarios DESC, institucion_emisora";
+		List<ResumenInstitucion> resumen = new ArrayList<>();
+		try (PreparedStatement stmt = connection.prepareStatement(sql); ResultSet rs = stmt.executeQuery()) {
+			while (rs.next()) {
+				resumen.add(new ResumenInstitucion(rs.getString(1), rs.getInt(2), rs.getInt(3)));
+			}
+		}
+		return resumen;
+	}
+
+	/**
+	 * Vuelve a calcular todas las tablas resumen a partir de las tablas base, en una transacción.
+	 * No hace falta en funcionamiento normal; sirve para corregir el redondeo acumulado de
+	 * las sumas de salario y horas o tras modificar las tablas sin disparadores.
+	 *
+	 * @return {@code true} si se recalculó y se hizo commit.
+	 */
+	public static boolean recalcular() {
+		return new Escritura("recalcular tablas resumen") {
+			@Override
+			boolean aplicar(Connection connection) throws SQLException {
+				try (Statement stmt = connection.createStatement()) {
+					stmt.executeUpdate("DELETE FROM ResumenNomina");
+					stmt.executeUpdate("DELETE FROM ResumenEspecialidad");
+					stmt.executeUpdate("DELETE FROM ResumenInstitucion");
+					stmt.executeUpdate("DELETE FROM ResumenInstitucionVeterinario");
+
+					stmt.executeUpdate("INSERT INTO ResumenNomina (id, num_contratos, total_salario, total_horas) "
+							+ "SELECT 1, COUNT(*), COALESCE(SUM(salario_base), 0), COALESCE(SUM(horario_semanal), 0) FROM DetalleContrato");
+					stmt.executeUpdate("INSERT INTO ResumenEspecialidad (nombre_especialidad, num_certificaciones) "
+							+ "SELECT nombre_especialidad, COUNT(*) FROM Certificacion GROUP BY nombre_especialidad");
+					stmt.executeUpdate("INSERT INTO ResumenInstitucionVeterinario (institucion_emisora, veterinario_licencia, num_certificaciones) "
+							+ "SELECT institucion_emisora, veterinario_licencia, COUNT(*) FROM Certificacion "
+							+ "GROUP BY institucion_emisora, veterinario_licencia");
+					stmt.executeUpdate("INSERT INTO ResumenInstitucion (institucion_emisora, num_certificaciones, num_veterinarios) "
+							+ "SELECT institucion_emisora, SUM(num_certificaciones), COUNT(*) FROM ResumenInstitucionVeterinario "
+							+ "GROUP BY institucion_emisora");
+				}
+				return true;
+			}
+
+			@Override
+			void confirmada() {
+				SnapshotLectura.refrescar();
+			}
+		}.ejecutar();
+	}
+
+	private static Connection abrirLectura() throws SQLException {
+		return SnapshotLectura.isActiva() ? SnapshotLectura.getConnection() : DatabaseConnection.getConnection();
+	}
+
+	private static void liberarLectura(Connection connection) {
+		if (SnapshotLectura.isActiva()) {
+			SnapshotLectura.liberar(connection);
+		} else {
+			DatabaseConnection.liberar(connection);
+		}
+	}
+}
@@ -0,0 +1,242 @@
+package clinica_persistence;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import errores.Errores;
+
+/**
+ * Copia de solo lectura de {@code clinica.db} en memoria, para los informes.
+ * <p>
+ * La copia se hace con la API de copia en línea de SQLite ({@code restore from}), que lee
+ * un estado consistente del fichero (incluido el WAL) sin bloquear a los escritores. Los
+ * informes que se leen de aquí ({@link ReportPersistence}) no mantienen bloqueos de lectura
+ * sobre el fichero mientras duran, así que no compiten con las escrituras del mostrador.
+ * </p>
+ * <p>
+ * La copia se crea en el primer uso, se refresca cada {@code db.snapshot.refresco.s} segundos
+ * (0 = solo bajo demanda, con {@link #refrescar()}) y puede ir por detrás de la base de
+ * datos: {@link #getAntiguedad()} dice cuánto. Al refrescar se prepara una copia nueva
+ * aparte y luego se sustituye la anterior, esperando a que termine la lectura en curso.
+ * </p>
+ * <p>
+ * La copia es una única conexión {@code :memory:}, así que las lecturas se hacen de una en
+ * una (cerrojo justo): intercalar los cursores de varios hilos en la misma conexión es mucho
+ * más lento que ejecutarlos seguidos.
+ * </p>
+ * <p>
+ * Con {@code db.snapshot.activa=false}, o si {@code db.url} no apunta a un fichero, la copia
+ * no se usa y los informes leen del pool como el resto de consultas.
+ * </p>
+ */
+public final class SnapshotLectura {
+
+	private static final ReentrantLock lock = new ReentrantLock(true);
+
+	// Protegida por lock
+	private static Connection copia;
+	private static volatile Instant momento;
+
+	private static ScheduledExecutorService refresco;
+
+	private SnapshotLectura() {
+		// Clase de utilidad
+	}
+
+	/**
+	 * @return {@code true} si los informes deben leerse de la copia en memoria.
+	 */
+	public static boolean isActiva() {
+		return Configuracion.ACTIVA;
+	}
+
+	/**
+	 * Obtiene la conexión de la copia para leer, creándola si aún no existe. Hasta que se
+	 * pase a {@link #liberar(Connection)} ningún otro hilo la usa y la copia no se sustituye.
+	 * La conexión es compartida: no debe cerrarse ni usarse para escribir.
+	 *
+	 * @return Conexión de la copia en memoria.
+	 * @throws SQLException si la copia no existe y no se puede crear.
+	 */
+	static Connection getConnection() throws SQLException {
+		if (!isActiva()) {
+			throw new SQLException("La copia de lectura no está activa");
+		}
+
+		lock.lock();
+		if (copia != null) {
+			return copia;
+		}
+		lock.unlock();
+
+		// Primer uso: se crea la copia y se vuelve a intentar
+		if (!refrescar()) {
+			throw new SQLException("No se pudo crear la copia de lectura de " + Configuracion.FICHERO);
+		}
+		lock.lock();
+		if (copia == null) {
+			lock.unlock();
+			throw new SQLException("La copia de lectura está cerrada");
+		}
+		return copia;
+	}
+
+	/**
+	 * Termina una lectura empezada con {@link #getConnection()}.
+	 *
+	 * @param connection Conexión obtenida con {@link #getConnection()}; puede ser {@code null}.
+	 */
+	static void liberar(Connection connection) {
+		if (connection != null) {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Copia ahora la base de datos y sustituye la copia anterior. La primera vez arranca,
+	 * si está configurado, el refresco periódico.
+	 *
+	 * @return {@code true} si la copia se creó; {@code false} si no está activa o falló (se conserva la anterior).
+	 */
+	public static synchronized boolean refrescar() {
+		if (!isActiva()) {
+			return false;
+		}
+
+		Connection nueva = null;
+		try {
+			// El pool aplica las migraciones al crearse: así la copia ya tiene las tablas resumen
+			DatabaseConnection.liberar(DatabaseConnection.getConnection());
+
+			Instant inicio = Instant.now();
+			nueva = DriverManager.getConnection("jdbc:sqlite::memory:");
+			try (Statement stmt = nueva.createStatement()) {
+				stmt.executeUpdate("restore from \"" + Configuracion.FICHERO + "\"");
+			}
+
+			Connection anterior;
+			lock.lock();
+			try {
+				anterior = copia;
+				copia = nueva;
+				momento = inicio;
+			} finally {
+				lock.unlock();
+			}
+			nueva = null;
+			cerrarConexion(anterior);
+
+			iniciarRefresco();
+			return true;
+
+		} catch (SQLException e) {
+			Errores.notificarError("crear la copia de lectura", e);
+			cerrarConexion(nueva);
+			return false;
+		}
+	}
+
+	/**
+	 * @return Momento en que se empezó a copiar la copia actual, o {@code null} si aún no hay copia.
+	 */
+	public static Instant getMomento() {
+		return momento;
+	}
+
+	/**
+	 * @return Tiempo que puede ir la copia por detrás de la base de datos, o {@code null} si aún no hay copia.
+	 */
+	public static Duration getAntiguedad() {
+		Instant m = getMomento();
+		return m == null ? null : Duration.between(m, Instant.now());
+	}
+
+	/**
+	 * Detiene el refresco periódico y libera la copia en memoria.
+	 */
+	public static synchronized void cerrar() {
+		if (refresco != null) {
+			refresco.shutdownNow();
+			refresco = null;
+		}
+		lock.lock();
+		try {
+			cerrarConexion(copia);
+			copia = null;
+			momento = null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static void iniciarRefresco() {
+		long segundos = Configuracion.REFRESCO_S;
+		if (refresco != null || segundos <= 0) {
+			return;
+		}
+		refresco = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread hilo = new Thread(r, "clinica-snapshot");
+			hilo.setDaemon(true);
+			return hilo;
+		});
+		refresco.scheduleWithFixedDelay(SnapshotLectura::refrescar, segundos, segundos, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Configuración leída en el primer uso. Va aparte, sin monitor propio, porque
+	 * {@link #isActiva()} se consulta con el cerrojo de la copia tomado.
+	 */
+	private static final class Configuracion {
+		private static final String FICHERO;
+		private static final boolean ACTIVA;
+		private static final long REFRESCO_S;
+
+		static {
+			Properties properties = DatabaseConnection.getPropiedades();
+			FICHERO = ficheroDeUrl(properties.getProperty("db.url", ""));
+			ACTIVA = FICHERO != null && Boolean.parseBoolean(properties.getProperty("db.snapshot.activa", "true"));
+			REFRESCO_S = Long.parseLong(properties.getProperty("db.snapshot.refresco.s", "60"));
+		}
+	}
+
+	/**
+	 * Extrae la ruta del fichero de una URL {@code jdbc:sqlite:}; {@code null} si es una base de datos en memoria.
+	 */
+	static String ficheroDeUrl(String url) {
+		String prefijo = "jdbc:sqlite:";
+		if (!url.startsWith(prefijo)) {
+			return null;
+		}
+		String ruta = url.substring(prefijo.length());
+		int parametros = ruta.indexOf('?');
+		if (parametros >= 0) {
+			ruta = ruta.substring(0, parametros);
+		}
+		if (ruta.startsWith("file:")) {
+			ruta = ruta.substring("file:".length());
+		}
+		if (ruta.isEmpty() || ruta.startsWith(":memory:") || url.contains("mode=memory")) {
+			return null;
+		}
+		return ruta;
+	}
+
+	private static void cerrarConexion(Connection connection) {
+		if (connection != null) {
+			try {
+				connection.close();
+			} catch (SQLException e) {
+				Errores.notificarError("cerrar la copia de lectura", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package clinica_persistence;
+
+/**
+ * Destino de las métricas de cada {@link OperacionMedida} terminada.
+ * Hay dos implementaciones: {@link #LOG}, que imprime una línea por operación, y
+ * {@link RegistroMetricas}, que las acumula en memoria.
+ */
+@FunctionalInterface
+public interface SumideroMetricas {
+
+	/**
+	 * Imprime una línea por operación con su resumen y las sospechas N+1.
+	 */
+	SumideroMetricas LOG = operacion -> System.out.println("[metricas] " + operacion);
+
+	/**
+	 * Recibe una operación ya cerrada. Se llama desde el hilo que la ejecutó.
+	 *
+	 * @param operacion Operación terminada.
+	 */
+	void registrar(OperacionMedida operacion);
+}
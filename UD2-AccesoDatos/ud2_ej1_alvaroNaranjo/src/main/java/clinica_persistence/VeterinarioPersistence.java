@@ -5,14 +5,18 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
-import java.util.Iterator;
 
 import clinica_model.Certificacion;
 import clinica_model.Veterinario;
+import clinica_model.VeterinarioResumen;
 import errores.Errores;
 
 /**
@@ -22,9 +26,53 @@ import errores.Errores;
  */
 public class VeterinarioPersistence {
 
-	
-
+	// Caché de lectura de readById; las escrituras de esta clase y de CertificacionPersistence la invalidan
+	private static final CacheVeterinarios cache = CacheVeterinarios.desdeConfiguracion();
+
+	// Consultas por clave; MigracionesEsquema comprueba sus planes al arrancar
+	static final String SQL_LEER_VETERINARIO = "SELECT num_licencia, nombre, apellido, fecha_contratacion FROM Veterinario WHERE num_licencia = ?";
+	static final String SQL_LEER_CONTRATO = "SELECT id, salario_base, horario_semanal FROM detalleContrato WHERE veterinario_licencia = ?";
+	static final String SQL_LEER_CERTIFICACIONES = "SELECT id FROM Certificacion WHERE veterinario_licencia = ?";
+	static final String SQL_EXISTE = "SELECT 1 FROM Veterinario WHERE num_licencia = ? LIMIT 1";
+	static final String SQL_PAGINA = "SELECT v.num_licencia, v.nombre, v.apellido, v.fecha_contratacion, "
+			+ "d.salario_base, d.horario_semanal "
+			+ "FROM Veterinario v LEFT JOIN DetalleContrato d ON d.veterinario_licencia = v.num_licencia "
+			+ "WHERE v.num_licencia > ? ORDER BY v.num_licencia LIMIT ?";
+	static final String SQL_PAGINA_CERTIFICACIONES = "SELECT veterinario_licencia, id FROM Certificacion "
+			+ "WHERE veterinario_licencia > ? AND veterinario_licencia <= ? ORDER BY veterinario_licencia, id";
+	static final String SQL_PAGINA_RESUMEN = "SELECT num_licencia, nombre, apellido FROM Veterinario WHERE num_licencia > ? "
+			+ "ORDER BY num_licencia LIMIT ?";
+	static final String SQL_POR_FECHA = "SELECT v.num_licencia, v.nombre, v.apellido, v.fecha_contratacion, "
+			+ "d.salario_base, d.horario_semanal "
+			+ "FROM Veterinario v LEFT JOIN DetalleContrato d ON d.veterinario_licencia = v.num_licencia "
+			+ "WHERE v.fecha_contratacion BETWEEN ? AND ? ORDER BY v.fecha_contratacion, v.num_licencia";
+	static final String SQL_POR_FECHA_CERTIFICACIONES = "SELECT c.veterinario_licencia, c.id FROM Veterinario v "
+			+ "JOIN Certificacion c ON c.veterinario_licencia = v.num_licencia "
+			+ "WHERE v.fecha_contratacion BETWEEN ? AND ?";
+	static final String SQL_ACTUALIZAR_VETERINARIO = "UPDATE Veterinario SET nombre = ?, apellido = ?, fecha_contratacion = ? WHERE num_licencia = ?";
+	static final String SQL_ACTUALIZAR_CONTRATO = "UPDATE DetalleContrato SET salario_base = ?, horario_semanal = ? WHERE veterinario_licencia = ?";
+	static final String SQL_BORRAR_CERTIFICACIONES = "DELETE FROM Certificacion WHERE veterinario_licencia = ?";
+	static final String SQL_BORRAR_CONTRATO = "DELETE FROM DetalleContrato WHERE veterinario_licencia = ?";
+	static final String SQL_BORRAR_VETERINARIO = "DELETE FROM Veterinario WHERE num_licencia = ?";
+	static final String SQL_REVISAR_SALARIOS = "UPDATE DetalleContrato SET salario_base = ROUND(salario_base * ?, 2)";
+
+	// Inicio de los borrados por tramos de deleteAll: faltan los marcadores y el paréntesis final
+	static final String SQL_BORRAR_CERTIFICACIONES_EN = "DELETE FROM Certificacion WHERE veterinario_licencia IN (";
+	static final String SQL_BORRAR_CONTRATOS_EN = "DELETE FROM DetalleContrato WHERE veterinario_licencia IN (";
+	static final String SQL_BORRAR_VETERINARIOS_EN = "DELETE FROM Veterinario WHERE num_licencia IN (";
+
+	// Listado completo: recorre Veterinario una vez y resuelve el EXISTS con idx_certificacion_veterinario
+	static final String SQL_CON_CERTIFICACIONES = "SELECT v.num_licencia, v.nombre, v.apellido FROM Veterinario v "
+			+ "WHERE EXISTS (SELECT 1 FROM Certificacion c WHERE c.veterinario_licencia = v.num_licencia) "
+			+ "ORDER BY v.num_licencia";
 
+	/**
+	 * Devuelve la caché usada por {@link #readById(int)} (para consultar sus estadísticas o invalidarla).
+	 * @return Caché de veterinarios.
+	 */
+	public static CacheVeterinarios getCache() {
+		return cache;
+	}
 
 	// ========================= CRUD ==============================
 	
@@ -37,112 +85,109 @@ public class VeterinarioPersistence {
 	 * @return {@code true} si la inserción (veterinario, contrato y certificaciones) fue exitosa y se hizo commit, {@code false} en caso contrario.
 	 */
 	public static boolean create(Veterinario veterinario) {
-		String sqlVeterinario = "INSERT INTO Veterinario (num_licencia, nombre, apellido, fecha_contratacion) VALUES (?, ?, ?, ?)";
-		String sqlContrato = "INSERT INTO detalleContrato (salario_base, horario_semanal, veterinario_licencia) VALUES (?, ?, ?)";
-
-		Connection connection = null;
-		boolean insertado = false;
+		Escritura escritura = crear(veterinario);
+		return escritura != null && escritura.ejecutar();
+	}
 
+	/**
+	 * Escritura del alta de un veterinario (ver {@link #create(Veterinario)}), sin transacción propia.
+	 * Las certificaciones nuevas reciben su ID definitivo solo si se confirma.
+	 *
+	 * @param veterinario El objeto Veterinario a insertar.
+	 * @return La escritura, o {@code null} si el veterinario no es válido.
+	 */
+	static Escritura crear(Veterinario veterinario) {
 		if (veterinario == null || veterinario.getNum_licencia() <= 0) {
-			return false;
+			return null;
 		}
 
-		try {
-			connection = DatabaseConnection.getConnection();
-			connection.setAutoCommit(false);
-
-			PreparedStatement stmtVeterinario = connection.prepareStatement(sqlVeterinario);
-			stmtVeterinario.setInt(1, veterinario.getNum_licencia());
-			stmtVeterinario.setString(2, veterinario.getNombre());
-			stmtVeterinario.setString(3, veterinario.getApellido());
-			stmtVeterinario.setString(4, veterinario.getFecha_contratacion());
-			insertado = stmtVeterinario.executeUpdate() > 0;
-			stmtVeterinario.close();
-
-			if (insertado) {
-				PreparedStatement stmtContrato = connection.prepareStatement(sqlContrato);
-				stmtContrato.setDouble(1, veterinario.getSalarioBase());
-				stmtContrato.setDouble(2, veterinario.getHorarioSemanal());
-				stmtContrato.setInt(3, veterinario.getNum_licencia());
-				insertado = stmtContrato.executeUpdate() > 0;
-				stmtContrato.close();
-			}
-
-			// --- Inserción y sincronización de certificaciones ---
-			if (insertado) {
-				Map<Integer, Certificacion> certificacionesParaReindexar = new HashMap<>();
+		return new Escritura("crear veterinario (o certificaciones)") {
+			private final List<Integer> clavesTemporales = new ArrayList<>();
+			private final List<Certificacion> nuevas = new ArrayList<>();
+
+			@Override
+			boolean aplicar(Connection connection) throws SQLException {
+				String sqlVeterinario = "INSERT INTO Veterinario (num_licencia, nombre, apellido, fecha_contratacion) VALUES (?, ?, ?, ?)";
+				String sqlContrato = "INSERT INTO detalleContrato (salario_base, horario_semanal, veterinario_licencia) VALUES (?, ?, ?)";
+				boolean insertado;
+
+				try (PreparedStatement stmtVeterinario = connection.prepareStatement(sqlVeterinario)) {
+					stmtVeterinario.setInt(1, veterinario.getNum_licencia());
+					stmtVeterinario.setString(2, veterinario.getNombre());
+					stmtVeterinario.setString(3, veterinario.getApellido());
+					stmtVeterinario.setString(4, veterinario.getFecha_contratacion());
+					insertado = stmtVeterinario.executeUpdate() > 0;
+				}
 
-				int tempId = -1;
-				List<Map.Entry<Integer, Certificacion>> entradas = new ArrayList<>(veterinario.getCertificacionesMap().entrySet());
-				for (Map.Entry<Integer, Certificacion> entry : entradas) {
-					if (entry.getKey() == 0) {
-						veterinario.getCertificacionesMap().remove(entry.getKey());
-						veterinario.getCertificacionesMap().put(tempId--, entry.getValue());
+				if (insertado) {
+					try (PreparedStatement stmtContrato = connection.prepareStatement(sqlContrato)) {
+						stmtContrato.setDouble(1, veterinario.getSalarioBase());
+						stmtContrato.setDouble(2, veterinario.getHorarioSemanal());
+						stmtContrato.setInt(3, veterinario.getNum_licencia());
+						insertado = stmtContrato.executeUpdate() > 0;
 					}
 				}
 
-				Iterator<Map.Entry<Integer, Certificacion>> it = veterinario.getCertificacionesMap().entrySet().iterator();
-				while (it.hasNext()) {
-					Map.Entry<Integer, Certificacion> entry = it.next();
-					Certificacion c = entry.getValue();
-					Integer oldKey = entry.getKey();
-
-					if (c != null && (oldKey <= 0 || c.getId() == 0)) {
-						c.setVeterinario_licencia(veterinario.getNum_licencia());
-
-						if (CertificacionPersistence.create(c)) {
-							it.remove();
-							certificacionesParaReindexar.put(oldKey, c);
-						} else {
-							insertado = false;
-							break;
+				// --- Inserción de certificaciones (en lote, misma transacción) ---
+				clavesTemporales.clear();
+				nuevas.clear();
+				if (insertado) {
+					for (Map.Entry<Integer, Certificacion> entry : veterinario.getCertificacionesMap().entrySet()) {
+						Certificacion c = entry.getValue();
+						if (c != null && (entry.getKey() <= 0 || c.getId() == 0)) {
+							c.setVeterinario_licencia(veterinario.getNum_licencia());
+							clavesTemporales.add(entry.getKey());
+							nuevas.add(c);
 						}
 					}
-				}
 
-				for (Map.Entry<Integer, Certificacion> entry : certificacionesParaReindexar.entrySet()) {
-					veterinario.reindexarCertificacion(entry.getKey(), entry.getValue());
+					if (!nuevas.isEmpty()) {
+						boolean[] resultados = CertificacionPersistence.insertarLote(connection, nuevas);
+						for (boolean r : resultados) {
+							insertado = insertado && r;
+						}
+					}
 				}
+				return insertado;
 			}
 
-			if (insertado)
-				connection.commit();
-			else
-				connection.rollback();
-
-		} catch (SQLException e) {
-			Errores.notificarError("crear veterinario (o certificaciones)", e);
-			insertado = false;
-			try {
-				if (connection != null)
-					connection.rollback();
-			} catch (SQLException e1) {
-				Errores.notificarError("hacer rollback", e1);
-			}
-		} finally {
-			if (connection != null) {
-				try {
-					connection.setAutoCommit(true);
-				} catch (SQLException e) {
-					Errores.notificarError("restaurar autoCommit", e);
+			@Override
+			void confirmada() {
+				for (int i = 0; i < nuevas.size(); i++) {
+					veterinario.reindexarCertificacion(clavesTemporales.get(i), nuevas.get(i));
 				}
+				RegistroLicencias.registrar(veterinario.getNum_licencia());
+				cache.invalidar(veterinario.getNum_licencia());
 			}
-		}
 
-		return insertado;
+			@Override
+			void descartada() {
+				// Rollback: los IDs asignados dejan de ser válidos
+				for (Certificacion c : nuevas) {
+					c.setId(0);
+				}
+			}
+		};
 	}
 
 	/** * Recupera todos los veterinarios del sistema. 
 	 * Para cada veterinario, recupera sus datos principales, los detalles de su contrato 
 	 * y las IDs de sus certificaciones asociadas.
+	 * <p>
+	 * Se resuelve con dos recorridos ordenados por licencia (veterinarios con su contrato
+	 * mediante LEFT JOIN, y certificaciones) que se combinan en memoria, en lugar de
+	 * lanzar dos consultas adicionales por cada veterinario.
+	 * </p>
 	 *
 	 * @return Una lista de objetos Veterinario, cada uno con su contrato y IDs de certificaciones cargados.
 	 */
 	public static List<Veterinario> readAll() {
 		List<Veterinario> veterinarios = new ArrayList<>();
-		String sqlVeterinario = "SELECT num_licencia, nombre, apellido, fecha_contratacion FROM Veterinario";
-		String sqlContrato = "SELECT salario_base, horario_semanal FROM detalleContrato WHERE veterinario_licencia = ?";
-		String sqlCertificaciones = "SELECT id FROM Certificacion WHERE veterinario_licencia = ?";
+		String sqlVeterinario = "SELECT v.num_licencia, v.nombre, v.apellido, v.fecha_contratacion, "
+				+ "d.salario_base, d.horario_semanal "
+				+ "FROM Veterinario v LEFT JOIN DetalleContrato d ON d.veterinario_licencia = v.num_licencia "
+				+ "ORDER BY v.num_licencia";
+		String sqlCertificaciones = "SELECT veterinario_licencia, id FROM Certificacion ORDER BY veterinario_licencia, id";
 
 		Connection connection = null;
 
@@ -153,68 +198,270 @@ public class VeterinarioPersistence {
 			ResultSet rsVeterinario = pstmt.executeQuery();
 
 			while (rsVeterinario.next()) {
-				Veterinario v = new Veterinario(
-						rsVeterinario.getInt("num_licencia"),
-						rsVeterinario.getString("nombre"),
-						rsVeterinario.getString("apellido"),
-						rsVeterinario.getString("fecha_contratacion"),
-						0, 0.0, 0.0);
-				veterinarios.add(v);
+				veterinarios.add(mapearVeterinario(rsVeterinario));
 			}
 			rsVeterinario.close();
 			pstmt.close();
 
-			PreparedStatement pstmtContrato = connection.prepareStatement(sqlContrato);
 			PreparedStatement pstmtCertificaciones = connection.prepareStatement(sqlCertificaciones);
+			ResultSet rsCertificaciones = pstmtCertificaciones.executeQuery();
+			asignarCertificaciones(veterinarios, rsCertificaciones);
+			rsCertificaciones.close();
+			pstmtCertificaciones.close();
 
-			for (Veterinario v : veterinarios) {
-				pstmtContrato.setInt(1, v.getNum_licencia());
-				ResultSet rsContrato = pstmtContrato.executeQuery();
-				if (rsContrato.next()) {
-					v.setSalarioBase(rsContrato.getDouble("salario_base"));
-					v.setHorarioSemanal(rsContrato.getDouble("horario_semanal"));
-				}
-				rsContrato.close();
+		} catch (SQLException e) {
+			Errores.notificarError("leer todos los veterinarios", e);
+			veterinarios = new ArrayList<>();
+		} finally {
+			DatabaseConnection.liberar(connection);
+		}
+
+		return veterinarios;
+	}
 
-				pstmtCertificaciones.setInt(1, v.getNum_licencia());
+	/**
+	 * Recupera una página de veterinarios ordenados por número de licencia, con su contrato
+	 * y los IDs de sus certificaciones.
+	 * <p>
+	 * Usa paginación por clave ({@code WHERE num_licencia > ? ORDER BY num_licencia LIMIT ?})
+	 * en lugar de {@code OFFSET}: cada página empieza con una búsqueda en la clave primaria,
+	 * así que pedir la página un millón cuesta lo mismo que pedir la primera.
+	 * </p>
+	 *
+	 * @param despuesDeLicencia Última licencia de la página anterior (0 para la primera página).
+	 * @param limite            Número máximo de veterinarios de la página.
+	 * @return Lista de veterinarios con licencia mayor que {@code despuesDeLicencia}; vacía si no hay más o si ocurre un error.
+	 */
+	public static List<Veterinario> readPage(int despuesDeLicencia, int limite) {
+		List<Veterinario> veterinarios = new ArrayList<>();
+		if (limite <= 0) {
+			return veterinarios;
+		}
+
+		Connection connection = null;
+
+		try {
+			connection = DatabaseConnection.getConnection();
+
+			PreparedStatement pstmt = connection.prepareStatement(SQL_PAGINA);
+			pstmt.setInt(1, despuesDeLicencia);
+			pstmt.setInt(2, limite);
+			ResultSet rsVeterinario = pstmt.executeQuery();
+			while (rsVeterinario.next()) {
+				veterinarios.add(mapearVeterinario(rsVeterinario));
+			}
+			rsVeterinario.close();
+			pstmt.close();
+
+			if (!veterinarios.isEmpty()) {
+				// Solo las certificaciones del rango de licencias de la página
+				PreparedStatement pstmtCertificaciones = connection.prepareStatement(SQL_PAGINA_CERTIFICACIONES);
+				pstmtCertificaciones.setInt(1, despuesDeLicencia);
+				pstmtCertificaciones.setInt(2, veterinarios.get(veterinarios.size() - 1).getNum_licencia());
+				ResultSet rsCertificaciones = pstmtCertificaciones.executeQuery();
+				asignarCertificaciones(veterinarios, rsCertificaciones);
+				rsCertificaciones.close();
+				pstmtCertificaciones.close();
+			}
+
+		} catch (SQLException e) {
+			Errores.notificarError("leer página de veterinarios", e);
+			veterinarios = new ArrayList<>();
+		} finally {
+			DatabaseConnection.liberar(connection);
+		}
+
+		return veterinarios;
+	}
+
+	/**
+	 * Recupera licencia, nombre y apellido de todos los veterinarios, ordenados por licencia.
+	 * <p>
+	 * Para listados que no necesitan el contrato ni las certificaciones: una sola consulta
+	 * sobre {@code Veterinario} con tres columnas y un objeto pequeño por fila, frente a
+	 * {@link #readAll()}, que une el contrato, recorre las certificaciones y crea un
+	 * {@link Veterinario} completo (con su mapa) por fila.
+	 * </p>
+	 *
+	 * @return Lista de resúmenes; vacía si no hay veterinarios o si ocurre un error.
+	 */
+	public static List<VeterinarioResumen> readAllResumen() {
+		return leerResumenes("SELECT num_licencia, nombre, apellido FROM Veterinario ORDER BY num_licencia",
+				"leer resumen de veterinarios");
+	}
+
+	/**
+	 * Página de resúmenes de veterinarios con licencia mayor que {@code despuesDeLicencia},
+	 * con la misma paginación por clave que {@link #readPage(int, int)}.
+	 *
+	 * @param despuesDeLicencia Última licencia de la página anterior (0 para la primera página).
+	 * @param limite            Número máximo de veterinarios de la página.
+	 * @return Lista de resúmenes; vacía si no hay más o si ocurre un error.
+	 */
+	public static List<VeterinarioResumen> readPageResumen(int despuesDeLicencia, int limite) {
+		if (limite <= 0) {
+			return new ArrayList<>();
+		}
+		return leerResumenes(SQL_PAGINA_RESUMEN, "leer página de resumen de veterinarios", despuesDeLicencia, limite);
+	}
+
+	/**
+	 * Ejecuta una consulta de {@code num_licencia, nombre, apellido} y devuelve sus filas como resúmenes.
+	 */
+	private static List<VeterinarioResumen> leerResumenes(String sql, String accion, int... parametros) {
+		List<VeterinarioResumen> resumenes = new ArrayList<>();
+		Connection connection = null;
+
+		try {
+			connection = DatabaseConnection.getConnection();
+			PreparedStatement pstmt = connection.prepareStatement(sql);
+			for (int i = 0; i < parametros.length; i++) {
+				pstmt.setInt(i + 1, parametros[i]);
+			}
+			ResultSet rs = pstmt.executeQuery();
+			while (rs.next()) {
+				resumenes.add(new VeterinarioResumen(rs.getInt(1), rs.getString(2), rs.getString(3)));
+			}
+			rs.close();
+			pstmt.close();
+		} catch (SQLException e) {
+			Errores.notificarError(accion, e);
+			resumenes = new ArrayList<>();
+		} finally {
+			DatabaseConnection.liberar(connection);
+		}
+
+		return resumenes;
+	}
+
+	/**
+	 * Recupera los veterinarios contratados entre dos fechas (ambas incluidas), ordenados por
+	 * fecha de contratación, con su contrato y los IDs de sus certificaciones.
+	 * <p>
+	 * Las fechas se guardan como texto {@code yyyy-MM-dd}, que ordena igual que la fecha, así
+	 * que el rango se resuelve con el índice {@code idx_veterinario_fecha}.
+	 * </p>
+	 *
+	 * @param desde Primera fecha de contratación incluida.
+	 * @param hasta Última fecha de contratación incluida.
+	 * @return Lista de veterinarios del rango; vacía si no hay ninguno o si ocurre un error.
+	 */
+	public static List<Veterinario> readByFechaContratacion(LocalDate desde, LocalDate hasta) {
+		List<Veterinario> veterinarios = new ArrayList<>();
+		if (desde == null || hasta == null || desde.isAfter(hasta)) {
+			return veterinarios;
+		}
+
+		Connection connection = null;
+
+		try {
+			connection = DatabaseConnection.getConnection();
+
+			Map<Integer, Veterinario> porLicencia = new HashMap<>();
+			PreparedStatement pstmt = connection.prepareStatement(SQL_POR_FECHA);
+			pstmt.setString(1, desde.toString());
+			pstmt.setString(2, hasta.toString());
+			ResultSet rsVeterinario = pstmt.executeQuery();
+			while (rsVeterinario.next()) {
+				Veterinario v = mapearVeterinario(rsVeterinario);
+				veterinarios.add(v);
+				porLicencia.put(v.getNum_licencia(), v);
+			}
+			rsVeterinario.close();
+			pstmt.close();
+
+			if (!veterinarios.isEmpty()) {
+				PreparedStatement pstmtCertificaciones = connection.prepareStatement(SQL_POR_FECHA_CERTIFICACIONES);
+				pstmtCertificaciones.setString(1, desde.toString());
+				pstmtCertificaciones.setString(2, hasta.toString());
 				ResultSet rsCertificaciones = pstmtCertificaciones.executeQuery();
-				ArrayList<Integer> certificacionesIds = new ArrayList<>();
 				while (rsCertificaciones.next()) {
-					certificacionesIds.add(rsCertificaciones.getInt("id"));
+					Veterinario v = porLicencia.get(rsCertificaciones.getInt(1));
+					if (v != null) {
+						v.addCertificacion(rsCertificaciones.getInt(2));
+					}
 				}
-				v.addCertificaciones(certificacionesIds);
 				rsCertificaciones.close();
+				pstmtCertificaciones.close();
 			}
 
-			pstmtContrato.close();
-			pstmtCertificaciones.close();
-
 		} catch (SQLException e) {
-			Errores.notificarError("leer todos los veterinarios", e);
+			Errores.notificarError("leer veterinarios por fecha de contratación", e);
 			veterinarios = new ArrayList<>();
+		} finally {
+			DatabaseConnection.liberar(connection);
 		}
 
 		return veterinarios;
 	}
 
+	/**
+	 * Construye un veterinario a partir de la fila actual de la consulta con {@code LEFT JOIN DetalleContrato}.
+	 */
+	private static Veterinario mapearVeterinario(ResultSet rs) throws SQLException {
+		Veterinario v = new Veterinario(
+				rs.getInt("num_licencia"),
+				rs.getString("nombre"),
+				rs.getString("apellido"),
+				rs.getString("fecha_contratacion"),
+				0, 0.0, 0.0);
+		// Sin contrato, el LEFT JOIN devuelve NULL y getDouble 0.0, como el valor por defecto
+		v.setSalarioBase(rs.getDouble("salario_base"));
+		v.setHorarioSemanal(rs.getDouble("horario_semanal"));
+		return v;
+	}
+
+	/**
+	 * Reparte los IDs de certificación entre los veterinarios recorriendo ambas secuencias a la vez.
+	 * Tanto la lista como el ResultSet deben estar ordenados por número de licencia;
+	 * las certificaciones de licencias que no están en la lista se ignoran.
+	 *
+	 * @param veterinarios      Veterinarios ordenados por licencia ascendente.
+	 * @param rsCertificaciones Filas (veterinario_licencia, id) ordenadas por licencia.
+	 * @throws SQLException si falla la lectura del ResultSet.
+	 */
+	private static void asignarCertificaciones(List<Veterinario> veterinarios, ResultSet rsCertificaciones)
+			throws SQLException {
+		int i = 0;
+		while (rsCertificaciones.next() && i < veterinarios.size()) {
+			int licencia = rsCertificaciones.getInt(1);
+			while (i < veterinarios.size() && veterinarios.get(i).getNum_licencia() < licencia) {
+				i++;
+			}
+			if (i < veterinarios.size() && veterinarios.get(i).getNum_licencia() == licencia) {
+				veterinarios.get(i).addCertificacion(rsCertificaciones.getInt(2));
+			}
+		}
+	}
+
 	/** * Recupera un veterinario por su número de licencia. 
 	 * También carga los detalles de su contrato y las IDs de sus certificaciones.
+	 * <p>
+	 * Las lecturas pasan por la {@link #getCache() caché de veterinarios}; cada llamada
+	 * devuelve una copia independiente que se puede modificar libremente.
+	 * </p>
 	 *
 	 * @param num_licencia El número de licencia del veterinario a recuperar.
 	 * @return El objeto Veterinario si se encuentra, o {@code null} si no existe o si ocurre un error.
 	 */
 	public static Veterinario readById(int num_licencia) {
-		String sqlVeterinario = "SELECT num_licencia, nombre, apellido, fecha_contratacion FROM Veterinario WHERE num_licencia = ?";
-		String sqlContrato = "SELECT id, salario_base, horario_semanal FROM detalleContrato WHERE veterinario_licencia = ?";
-		String sqlCertificaciones = "SELECT id FROM Certificacion WHERE veterinario_licencia = ?";
+		return cache.obtener(num_licencia, VeterinarioPersistence::leerPorId);
+	}
 
+	/**
+	 * Lee un veterinario directamente de la base de datos, sin pasar por la caché.
+	 *
+	 * @param num_licencia El número de licencia del veterinario a recuperar.
+	 * @return El objeto Veterinario, o {@code null} si no existe o si ocurre un error.
+	 */
+	private static Veterinario leerPorId(int num_licencia) {
 		Veterinario veterinario = null;
 		Connection connection = null;
 
 		try {
 			connection = DatabaseConnection.getConnection();
 
-			PreparedStatement stmt = connection.prepareStatement(sqlVeterinario);
+			PreparedStatement stmt = connection.prepareStatement(SQL_LEER_VETERINARIO);
 			stmt.setInt(1, num_licencia);
 			ResultSet rs = stmt.executeQuery();
 
@@ -229,7 +476,7 @@ public class VeterinarioPersistence {
 			stmt.close();
 
 			if (veterinario != null) {
-				PreparedStatement stmtContrato = connection.prepareStatement(sqlContrato);
+				PreparedStatement stmtContrato = connection.prepareStatement(SQL_LEER_CONTRATO);
 				stmtContrato.setInt(1, num_licencia);
 				ResultSet rsContrato = stmtContrato.executeQuery();
 				if (rsContrato.next()) {
@@ -239,7 +486,7 @@ public class VeterinarioPersistence {
 				rsContrato.close();
 				stmtContrato.close();
 
-				PreparedStatement stmtCertificaciones = connection.prepareStatement(sqlCertificaciones);
+				PreparedStatement stmtCertificaciones = connection.prepareStatement(SQL_LEER_CERTIFICACIONES);
 				stmtCertificaciones.setInt(1, num_licencia);
 				ResultSet rsCertificaciones = stmtCertificaciones.executeQuery();
 				ArrayList<Integer> certificacionesIds = new ArrayList<>();
@@ -252,11 +499,42 @@ public class VeterinarioPersistence {
 			}
 		} catch (SQLException e) {
 			Errores.notificarError("leer veterinario por ID", e);
+		} finally {
+			DatabaseConnection.liberar(connection);
 		}
 
 		return veterinario;
 	}
 
+	/**
+	 * Comprueba en la base de datos si existe un veterinario con la licencia dada.
+	 * Usa una sonda {@code SELECT 1} que se resuelve con la clave primaria, sin leer la fila.
+	 * Para comprobaciones repetidas sin acceso a la BD, ver {@link RegistroLicencias#existe(int)}.
+	 *
+	 * @param num_licencia El número de licencia a comprobar.
+	 * @return {@code true} si existe, {@code false} si no existe o si ocurre un error.
+	 */
+	public static boolean exists(int num_licencia) {
+		boolean existe = false;
+		Connection connection = null;
+
+		try {
+			connection = DatabaseConnection.getConnection();
+			PreparedStatement stmt = connection.prepareStatement(SQL_EXISTE);
+			stmt.setInt(1, num_licencia);
+			ResultSet rs = stmt.executeQuery();
+			existe = rs.next();
+			rs.close();
+			stmt.close();
+		} catch (SQLException e) {
+			Errores.notificarError("comprobar si existe el veterinario", e);
+		} finally {
+			DatabaseConnection.liberar(connection);
+		}
+
+		return existe;
+	}
+
 	/**
 	 * Actualiza los datos principales de un veterinario y los detalles de su contrato.
 	 * Si el contrato no existe en la base de datos, lo inserta.
@@ -266,73 +544,198 @@ public class VeterinarioPersistence {
 	 * @return {@code true} si la actualización del veterinario y su contrato fue exitosa, {@code false} en caso contrario.
 	 */
 	public static boolean update(Veterinario veterinario) {
+		Escritura escritura = actualizar(veterinario);
+		return escritura != null && escritura.ejecutar();
+	}
+
+	/**
+	 * Escritura de {@link #update(Veterinario)}, sin transacción propia.
+	 *
+	 * @param veterinario El objeto Veterinario con los datos actualizados.
+	 * @return La escritura, o {@code null} si el veterinario no es válido.
+	 */
+	static Escritura actualizar(Veterinario veterinario) {
 		if (veterinario == null || veterinario.getNum_licencia() <= 0) {
-			return false;
+			return null;
 		}
 
-		String sqlVeterinarioUpdate = "UPDATE Veterinario SET nombre = ?, apellido = ?, fecha_contratacion = ? WHERE num_licencia = ?";
-		String sqlContratoUpdate = "UPDATE DetalleContrato SET salario_base = ?, horario_semanal = ? WHERE veterinario_licencia = ?";
-		String sqlContratoInsert = "INSERT INTO DetalleContrato (veterinario_licencia, salario_base, horario_semanal) VALUES (?, ?, ?)";
+		return new Escritura("actualizar veterinario") {
+			@Override
+			boolean aplicar(Connection connection) throws SQLException {
+				String sqlContratoInsert = "INSERT INTO DetalleContrato (veterinario_licencia, salario_base, horario_semanal) VALUES (?, ?, ?)";
+				boolean actualizado;
+
+				try (PreparedStatement stmt = connection.prepareStatement(SQL_ACTUALIZAR_VETERINARIO)) {
+					stmt.setString(1, veterinario.getNombre());
+					stmt.setString(2, veterinario.getApellido());
+					stmt.setString(3, veterinario.getFecha_contratacion());
+					stmt.setInt(4, veterinario.getNum_licencia());
+					actualizado = stmt.executeUpdate() > 0;
+				}
 
-		Connection connection = null;
-		boolean actualizado = false;
+				if (actualizado) {
+					boolean contratoUpdate;
+					try (PreparedStatement stmtContrato = connection.prepareStatement(SQL_ACTUALIZAR_CONTRATO)) {
+						stmtContrato.setDouble(1, veterinario.getSalarioBase());
+						stmtContrato.setDouble(2, veterinario.getHorarioSemanal());
+						stmtContrato.setInt(3, veterinario.getNum_licencia());
+						contratoUpdate = stmtContrato.executeUpdate() > 0;
+					}
 
-		try {
-			connection = DatabaseConnection.getConnection();
-			connection.setAutoCommit(false);
+					if (!contratoUpdate) {
+						// El contrato no existía, intentar insertarlo
+						try (PreparedStatement stmtContratoInsert = connection.prepareStatement(sqlContratoInsert)) {
+							stmtContratoInsert.setInt(1, veterinario.getNum_licencia());
+							stmtContratoInsert.setDouble(2, veterinario.getSalarioBase());
+							stmtContratoInsert.setDouble(3, veterinario.getHorarioSemanal());
+							actualizado = stmtContratoInsert.executeUpdate() > 0;
+						}
+					}
+				}
+				return actualizado;
+			}
 
-			PreparedStatement stmt = connection.prepareStatement(sqlVeterinarioUpdate);
-			stmt.setString(1, veterinario.getNombre());
-			stmt.setString(2, veterinario.getApellido());
-			stmt.setString(3, veterinario.getFecha_contratacion());
-			stmt.setInt(4, veterinario.getNum_licencia());
-			actualizado = stmt.executeUpdate() > 0;
-			stmt.close();
+			@Override
+			void confirmada() {
+				cache.invalidar(veterinario.getNum_licencia());
+			}
 
-			if (actualizado) {
-				PreparedStatement stmtContrato = connection.prepareStatement(sqlContratoUpdate);
-				stmtContrato.setDouble(1, veterinario.getSalarioBase());
-				stmtContrato.setDouble(2, veterinario.getHorarioSemanal());
-				stmtContrato.setInt(3, veterinario.getNum_licencia());
-				boolean contratoUpdate = stmtContrato.executeUpdate() > 0;
-				stmtContrato.close();
+			@Override
+			void descartada() {
+				// También si falla: si el commit falla no se sabe con certeza qué quedó guardado
+				cache.invalidar(veterinario.getNum_licencia());
+			}
+		};
+	}
+
+	/**
+	 * Actualiza varios veterinarios y sus contratos en una única transacción.
+	 * <p>
+	 * Se envían dos lotes JDBC: uno con los {@code UPDATE} de {@code Veterinario} y otro con
+	 * {@code INSERT ... ON CONFLICT(veterinario_licencia) DO UPDATE} para los contratos
+	 * (la columna es UNIQUE), que crea el contrato si no existía. Solo se escribe el contrato
+	 * de los veterinarios que existen. Si hay licencias repetidas, cuenta la última aparición.
+	 * </p>
+	 *
+	 * @param veterinarios Veterinarios con los datos actualizados.
+	 * @return Resultado por licencia: {@code true} si se actualizó y se hizo commit; {@code false}
+	 *         si no existe, no es válida o la transacción falló. Los elementos nulos se ignoran.
+	 */
+	public static Map<Integer, Boolean> updateAll(Collection<Veterinario> veterinarios) {
+		Map<Integer, Boolean> resultados = new LinkedHashMap<>();
+		if (veterinarios == null) {
+			return resultados;
+		}
 
-				if (!contratoUpdate) {
-					// El contrato no existía, intentar insertarlo
-					PreparedStatement stmtContratoInsert = connection.prepareStatement(sqlContratoInsert);
-					stmtContratoInsert.setInt(1, veterinario.getNum_licencia());
-					stmtContratoInsert.setDouble(2, veterinario.getSalarioBase());
-					stmtContratoInsert.setDouble(3, veterinario.getHorarioSemanal());
-					actualizado = stmtContratoInsert.executeUpdate() > 0;
-					stmtContratoInsert.close();
+		Map<Integer, Veterinario> porLicencia = new LinkedHashMap<>();
+		for (Veterinario v : veterinarios) {
+			if (v == null) {
+				continue;
+			}
+			resultados.put(v.getNum_licencia(), false);
+			if (v.getNum_licencia() > 0) {
+				porLicencia.put(v.getNum_licencia(), v);
+			}
+		}
+
+		if (!porLicencia.isEmpty()) {
+			actualizarTodos(porLicencia, resultados).ejecutar();
+		}
+		return resultados;
+	}
+
+	/**
+	 * Escritura de {@link #updateAll(Collection)}, sin transacción propia. Anota en
+	 * {@code resultados} las licencias actualizadas solo si se confirma.
+	 */
+	private static Escritura actualizarTodos(Map<Integer, Veterinario> porLicencia, Map<Integer, Boolean> resultados) {
+		return new Escritura("actualizar veterinarios en lote") {
+			private final List<Integer> actualizadas = new ArrayList<>();
+
+			@Override
+			boolean aplicar(Connection connection) throws SQLException {
+				String sqlContratoUpsert = "INSERT INTO DetalleContrato (veterinario_licencia, salario_base, horario_semanal) VALUES (?, ?, ?) "
+						+ "ON CONFLICT(veterinario_licencia) DO UPDATE SET salario_base = excluded.salario_base, "
+						+ "horario_semanal = excluded.horario_semanal";
+				List<Veterinario> lista = new ArrayList<>(porLicencia.values());
+				actualizadas.clear();
+
+				int[] filas;
+				try (PreparedStatement stmt = connection.prepareStatement(SQL_ACTUALIZAR_VETERINARIO)) {
+					for (Veterinario v : lista) {
+						stmt.setString(1, v.getNombre());
+						stmt.setString(2, v.getApellido());
+						stmt.setString(3, v.getFecha_contratacion());
+						stmt.setInt(4, v.getNum_licencia());
+						stmt.addBatch();
+					}
+					filas = stmt.executeBatch();
 				}
+
+				try (PreparedStatement stmtContrato = connection.prepareStatement(sqlContratoUpsert)) {
+					for (int i = 0; i < lista.size(); i++) {
+						if (filas[i] <= 0) {
+							continue; // No existe: no se le crea contrato
+						}
+						Veterinario v = lista.get(i);
+						stmtContrato.setInt(1, v.getNum_licencia());
+						stmtContrato.setDouble(2, v.getSalarioBase());
+						stmtContrato.setDouble(3, v.getHorarioSemanal());
+						stmtContrato.addBatch();
+						actualizadas.add(v.getNum_licencia());
+					}
+					if (!actualizadas.isEmpty()) {
+						stmtContrato.executeBatch();
+					}
+				}
+
+				// Las que no existen no deshacen las demás
+				return true;
 			}
 
-			if (actualizado)
-				connection.commit();
-			else
-				connection.rollback();
+			@Override
+			void confirmada() {
+				for (Integer licencia : actualizadas) {
+					resultados.put(licencia, true);
+				}
+				porLicencia.keySet().forEach(cache::invalidar);
+			}
 
-		} catch (SQLException e) {
-			Errores.notificarError("actualizar veterinario", e);
-			actualizado = false;
-			try {
-				if (connection != null)
-					connection.rollback();
-			} catch (SQLException e1) {
-				Errores.notificarError("hacer rollback", e1);
+			@Override
+			void descartada() {
+				porLicencia.keySet().forEach(cache::invalidar);
 			}
-		} finally {
-			if (connection != null) {
-				try {
-					connection.setAutoCommit(true);
-				} catch (SQLException e) {
-					Errores.notificarError("restaurar autoCommit", e);
+		};
+	}
+
+	/**
+	 * Aplica un porcentaje de subida (o bajada) al salario base de todos los contratos, con
+	 * una sola sentencia {@code UPDATE} en una transacción. Solo cambia contratos existentes:
+	 * a los veterinarios sin contrato no se les crea ninguno, y nombre, apellido y fecha no
+	 * se tocan. El nuevo salario se redondea a céntimos.
+	 *
+	 * @param porcentaje Porcentaje a aplicar (por ejemplo 3 para subir un 3%, -10 para bajar un 10%).
+	 * @return Número de contratos revisados, o -1 si la operación falló y se deshizo.
+	 */
+	public static int revisarSalarios(double porcentaje) {
+		int[] revisados = new int[1];
+		Escritura escritura = new Escritura("revisar salarios") {
+			@Override
+			boolean aplicar(Connection connection) throws SQLException {
+				try (PreparedStatement stmt = connection.prepareStatement(SQL_REVISAR_SALARIOS)) {
+					stmt.setDouble(1, (100 + porcentaje) / 100);
+					revisados[0] = stmt.executeUpdate();
 				}
+				return true;
 			}
-		}
 
-		return actualizado;
+			@Override
+			void confirmada() {
+				cache.invalidarTodo();
+			}
+		};
+
+		return escritura.ejecutar() ? revisados[0] : -1;
 	}
 
 	/** * Elimina un veterinario de la base de datos por su número de licencia. 
@@ -343,73 +746,124 @@ public class VeterinarioPersistence {
 	 * @return {@code true} si el veterinario fue encontrado y eliminado exitosamente, {@code false} en caso contrario.
 	 */
 	public static boolean delete(int num_licencia) {
+		Escritura escritura = eliminar(num_licencia);
+		return escritura != null && escritura.ejecutar();
+	}
+
+	/**
+	 * Escritura de {@link #delete(int)}, sin transacción propia.
+	 *
+	 * @param num_licencia El número de licencia del veterinario a eliminar.
+	 * @return La escritura, o {@code null} si la licencia no es válida.
+	 */
+	static Escritura eliminar(int num_licencia) {
 		// Validación del parámetro
 		if (num_licencia <= 0) {
-			return false;
+			return null;
 		}
 
-		// Sentencias SQL (primero certificaciones, luego contrato, luego veterinario)
-		String sqlDeleteCertificaciones = "DELETE FROM Certificacion WHERE veterinario_licencia = ?";
-		String sqlDeleteContrato = "DELETE FROM DetalleContrato WHERE veterinario_licencia = ?";
-		String sqlDeleteVeterinario = "DELETE FROM Veterinario WHERE num_licencia = ?";
+		return new Escritura("eliminar veterinario y datos asociados") {
+			private boolean noEncontrado;
 
-		Connection connection = null;
-		boolean eliminado = false;
+			@Override
+			boolean aplicar(Connection connection) throws SQLException {
+				boolean eliminado;
 
-		try {
-			connection = DatabaseConnection.getConnection();
-			connection.setAutoCommit(false);
+				// Eliminar primero las certificaciones asociadas
+				try (PreparedStatement stmtCertificaciones = connection.prepareStatement(SQL_BORRAR_CERTIFICACIONES)) {
+					stmtCertificaciones.setInt(1, num_licencia);
+					stmtCertificaciones.executeUpdate();
+				}
 
-			// Eliminar primero las certificaciones asociadas
-			PreparedStatement stmtCertificaciones = connection.prepareStatement(sqlDeleteCertificaciones);
-			stmtCertificaciones.setInt(1, num_licencia);
-			stmtCertificaciones.executeUpdate();
-			stmtCertificaciones.close();
-
-			// Eliminar el contrato del veterinario
-			PreparedStatement stmtContrato = connection.prepareStatement(sqlDeleteContrato);
-			stmtContrato.setInt(1, num_licencia);
-			stmtContrato.executeUpdate(); // No importa si no existe, puede devolver 0
-			stmtContrato.close();
-
-			//  Eliminar el veterinario principal
-			PreparedStatement stmtVet = connection.prepareStatement(sqlDeleteVeterinario);
-			stmtVet.setInt(1, num_licencia);
-			eliminado = stmtVet.executeUpdate() > 0; // true si se eliminó al menos 1 fila
-			stmtVet.close();
-
-			// Confirmar o revertir transacción según el resultado
-			if (eliminado) {
-				connection.commit();
-				System.out.println("Veterinario y todos sus datos asociados eliminados exitosamente.");
-			} else {
-				connection.rollback();
-				System.out.println("No se encontró el veterinario para eliminar.");
+				// Eliminar el contrato del veterinario
+				try (PreparedStatement stmtContrato = connection.prepareStatement(SQL_BORRAR_CONTRATO)) {
+					stmtContrato.setInt(1, num_licencia);
+					stmtContrato.executeUpdate(); // No importa si no existe, puede devolver 0
+				}
+
+				//  Eliminar el veterinario principal
+				try (PreparedStatement stmtVet = connection.prepareStatement(SQL_BORRAR_VETERINARIO)) {
+					stmtVet.setInt(1, num_licencia);
+					eliminado = stmtVet.executeUpdate() > 0; // true si se eliminó al menos 1 fila
+				}
+
+				noEncontrado = !eliminado;
+				return eliminado;
 			}
 
-		} catch (SQLException e) {
-			// Manejo de errores SQL
-			Errores.notificarError("eliminar veterinario y datos asociados", e);
-			eliminado = false;
-			try {
-				if (connection != null)
-					connection.rollback();
-			} catch (SQLException e1) {
-				Errores.notificarError("hacer rollback en delete", e1);
+			@Override
+			void confirmada() {
+				RegistroLicencias.eliminar(num_licencia);
+				cache.invalidar(num_licencia);
+				System.out.println("Veterinario y todos sus datos asociados eliminados exitosamente.");
 			}
-		} finally {
-			// Restaurar autoCommit a su estado original
-			if (connection != null) {
-				try {
-					connection.setAutoCommit(true);
-				} catch (SQLException e) {
-					Errores.notificarError("restaurar autoCommit", e);
+
+			@Override
+			void descartada() {
+				if (noEncontrado) {
+					System.out.println("No se encontró el veterinario para eliminar.");
 				}
 			}
+		};
+	}
+
+	/**
+	 * Elimina varios veterinarios, con sus contratos y certificaciones, en una única transacción.
+	 * <p>
+	 * Las licencias se borran por tramos de {@value Consultas#TAMANO_LOTE} con predicados
+	 * {@code IN (...)}: tres sentencias por tramo (certificaciones, contratos y veterinarios,
+	 * en ese orden, como {@link #delete(int)}) en lugar de tres por veterinario. Los borrados
+	 * de las tablas hijas usan los índices sobre {@code veterinario_licencia}.
+	 * </p>
+	 *
+	 * @param licencias Licencias a eliminar; se ignoran las repetidas y las no positivas.
+	 * @return Filas eliminadas: {@code [certificaciones, contratos, veterinarios]},
+	 *         o {@code null} si la operación falló y se deshizo.
+	 */
+	public static int[] deleteAll(int... licencias) {
+		int[] validas = licencias == null ? new int[0]
+				: Arrays.stream(licencias).filter(l -> l > 0).sorted().distinct().toArray();
+		if (validas.length == 0) {
+			return new int[] { 0, 0, 0 };
 		}
 
-		// Devuelve el resultado de la eliminación
-		return eliminado;
+		int[] eliminados = new int[3];
+		Escritura escritura = new Escritura("eliminar veterinarios en lote") {
+			@Override
+			boolean aplicar(Connection connection) throws SQLException {
+				Arrays.fill(eliminados, 0);
+
+				for (int desde = 0; desde < validas.length; desde += Consultas.TAMANO_LOTE) {
+					int hasta = Math.min(validas.length, desde + Consultas.TAMANO_LOTE);
+					String marcadores = Consultas.marcadores(hasta - desde) + ")";
+
+					// Primero certificaciones, luego contratos, luego veterinarios
+					eliminados[0] += borrarTramo(connection, SQL_BORRAR_CERTIFICACIONES_EN + marcadores, validas, desde, hasta);
+					eliminados[1] += borrarTramo(connection, SQL_BORRAR_CONTRATOS_EN + marcadores, validas, desde, hasta);
+					eliminados[2] += borrarTramo(connection, SQL_BORRAR_VETERINARIOS_EN + marcadores, validas, desde, hasta);
+				}
+				return true;
+			}
+
+			@Override
+			void confirmada() {
+				RegistroLicencias.eliminarTodas(validas);
+				for (int licencia : validas) {
+					cache.invalidar(licencia);
+				}
+			}
+		};
+
+		return escritura.ejecutar() ? eliminados : null;
+	}
+
+	private static int borrarTramo(Connection connection, String sql, int[] licencias, int desde, int hasta) throws SQLException {
+		try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+			for (int i = desde; i < hasta; i++) {
+				stmt.setInt(i - desde + 1, licencias[i]);
+			}
+			return stmt.executeUpdate();
+		}
 	}
 
 	/** * Elimina un veterinario de la base de datos a partir de un objeto {@code Veterinario}. 
@@ -427,8 +881,60 @@ public class VeterinarioPersistence {
 
 	
 
+	/**
+	 * Elimina todos los datos de la clínica (certificaciones, contratos y veterinarios)
+	 * con tres sentencias DELETE sobre tablas completas dentro de una única transacción.
+	 * <p>
+	 * Los recuentos salen de las propias sentencias, sin volver a leer las tablas.
+	 * </p>
+	 *
+	 * @return Filas eliminadas: {@code [certificaciones, contratos, veterinarios]},
+	 *         o {@code null} si la operación falló y se deshizo.
+	 */
+	public static int[] purgar() {
+		Connection connection = null;
+		int[] eliminados = null;
+
+		try {
+			connection = DatabaseConnection.getConnection();
+			connection.setAutoCommit(false);
+
+			try (Statement stmt = connection.createStatement()) {
+				int certificaciones = stmt.executeUpdate("DELETE FROM Certificacion");
+				int contratos = stmt.executeUpdate("DELETE FROM DetalleContrato");
+				int veterinarios = stmt.executeUpdate("DELETE FROM Veterinario");
+				eliminados = new int[] { certificaciones, contratos, veterinarios };
+			}
+
+			connection.commit();
+			RegistroLicencias.vaciar();
+			cache.invalidarTodo();
+
+		} catch (SQLException e) {
+			Errores.notificarError("purgar la base de datos", e);
+			eliminados = null;
+			try {
+				if (connection != null)
+					connection.rollback();
+			} catch (SQLException e1) {
+				Errores.notificarError("hacer rollback en purgar", e1);
+			}
+		} finally {
+			if (connection != null) {
+				try {
+					connection.setAutoCommit(true);
+				} catch (SQLException e) {
+					Errores.notificarError("restaurar autoCommit", e);
+				}
+			}
+			DatabaseConnection.liberar(connection);
+		}
+
+		return eliminados;
+	}
+
 	/** * Muestra por consola los detalles de un veterinario dado, incluyendo su información 
-	 * principal, contrato y una lista de sus certificaciones (recuperadas de la BD).
+	 * principal, contrato y una lista de sus certificaciones (las pendientes se recuperan de la BD en lote).
 	 *
 	 * @param v El objeto Veterinario cuyos detalles se van a mostrar.
 	 */
@@ -445,13 +951,14 @@ public class VeterinarioPersistence {
 		System.out.println("Salario base: " + v.getSalarioBase());
 		System.out.println("Horario semanal: " + v.getHorarioSemanal());
 
-		List<Certificacion> certificaciones = CertificacionPersistence.readByVeterinarioLicencia(v.getNum_licencia());
-		if (certificaciones.isEmpty()) {
+		if (v.getNumeroCertificaciones() == 0) {
 			System.out.println("Sin certificaciones registradas.");
 		} else {
 			System.out.println("\n--- CERTIFICACIONES ---");
-			for (Certificacion c : certificaciones) {
-				System.out.println("* " + c.getNombre_especialidad() + " - " + c.getInstitucion_emisora());
+			for (Certificacion c : v) {
+				if (c != null) {
+					System.out.println("* " + c.getNombre_especialidad() + " - " + c.getInstitucion_emisora());
+				}
 			}
 		}
 	}
@@ -466,6 +973,7 @@ public class VeterinarioPersistence {
 			return;
 		}
 
+		CertificacionPersistence.precargarCertificaciones(lista);
 		System.out.println("\n=== LISTA DE VETERINARIOS ===");
 		for (Veterinario v : lista) {
 			mostrarDetallesVeterinario(v);
@@ -486,13 +994,11 @@ public class VeterinarioPersistence {
 	 * Se listan solo nombre, apellido y licencia.
 	 */
 	public static void mostrarVeterinariosConCertificaciones() {
-		List<Veterinario> lista = readAll();
+		// Solo tres columnas
+		List<VeterinarioResumen> lista = leerResumenes(SQL_CON_CERTIFICACIONES, "leer veterinarios con certificaciones");
 		System.out.println("\n=== VETERINARIOS CON CERTIFICACIONES ===");
-		for (Veterinario v : lista) {
-			List<Certificacion> certs = CertificacionPersistence.readByVeterinarioLicencia(v.getNum_licencia());
-			if (!certs.isEmpty()) {
-				System.out.println("- " + v.getNombre() + " " + v.getApellido() + " (" + v.getNum_licencia() + ")");
-			}
+		for (VeterinarioResumen v : lista) {
+			System.out.println("- " + v.getNombre() + " " + v.getApellido() + " (" + v.getLicencia() + ")");
 		}
 	}
 
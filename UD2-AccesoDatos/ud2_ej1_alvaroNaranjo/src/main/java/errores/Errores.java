@@ -1,13 +1,38 @@
 package errores;
 
+import java.io.IOException;
 import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Errores {
 
+	// Códigos primarios de SQLite para contención de bloqueos
+	public static final int SQLITE_BUSY = 5;
+	public static final int SQLITE_LOCKED = 6;
+
+	private static final AtomicLong errores = new AtomicLong();
+	private static final AtomicLong erroresBusy = new AtomicLong();
+	private static final AtomicLong erroresLocked = new AtomicLong();
+	// Errores notificados por cada hilo, para atribuirlos a la operación que los causó
+	private static final ThreadLocal<long[]> erroresHilo = ThreadLocal.withInitial(() -> new long[1]);
+
+	private static volatile boolean silencioso;
+
 	public static void notificarError(String accion, SQLException e) {
 		int errorCode = e.getErrorCode();
 		String mensaje = e.getMessage();
 
+		errores.incrementAndGet();
+		erroresHilo.get()[0]++;
+		if ((errorCode & 0xff) == SQLITE_BUSY) {
+			erroresBusy.incrementAndGet();
+		} else if ((errorCode & 0xff) == SQLITE_LOCKED) {
+			erroresLocked.incrementAndGet();
+		}
+		if (silencioso) {
+			return;
+		}
+
 		System.out.print("Error al " + accion + ": ");
 
 		if (errorCode == 19) {
@@ -28,4 +53,45 @@ public class Errores {
 			System.out.println(mensaje + " (Code: " + errorCode + ")");
 		}
 	}
-}
\ No newline at end of file
+
+	// Errores de lectura/escritura de ficheros (exportar e importar datos)
+	public static void notificarError(String accion, IOException e) {
+		errores.incrementAndGet();
+		erroresHilo.get()[0]++;
+		if (silencioso) {
+			return;
+		}
+		System.out.println("Error al " + accion + ": " + e.getMessage());
+	}
+
+	// Total de errores notificados desde el arranque
+	public static long getErrores() {
+		return errores.get();
+	}
+
+	// Errores notificados desde el hilo actual (no se ponen a cero con reiniciarContadores)
+	public static long getErroresHilo() {
+		return erroresHilo.get()[0];
+	}
+
+	// Errores SQLITE_BUSY (base de datos bloqueada por otra conexión)
+	public static long getErroresBusy() {
+		return erroresBusy.get();
+	}
+
+	// Errores SQLITE_LOCKED (conflicto dentro de la misma conexión o caché compartida)
+	public static long getErroresLocked() {
+		return erroresLocked.get();
+	}
+
+	public static void reiniciarContadores() {
+		errores.set(0);
+		erroresBusy.set(0);
+		erroresLocked.set(0);
+	}
+
+	// Con silencioso = true los errores solo se cuentan, sin imprimirlos (pruebas de carga)
+	public static void setSilencioso(boolean valor) {
+		silencioso = valor;
+	}
+}
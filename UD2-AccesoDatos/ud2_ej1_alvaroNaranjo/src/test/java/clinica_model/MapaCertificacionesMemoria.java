@@ -0,0 +1,60 @@
+package clinica_model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Comparativa de memoria por veterinario entre {@link HashMap} y {@link MapaCertificaciones}.
+ * <p>
+ * No es un test unitario: se ejecuta a mano, por ejemplo
+ * {@code java -cp target/classes:target/test-classes clinica_model.MapaCertificacionesMemoria 50000 3}
+ * (veterinarios y certificaciones por veterinario). Mide el heap ocupado tras forzar
+ * recolecciones, así que conviene lanzarlo con un heap fijo ({@code -Xms -Xmx}).
+ * </p>
+ */
+public class MapaCertificacionesMemoria {
+
+	public static void main(String[] args) {
+		int veterinarios = (args.length > 0) ? Integer.parseInt(args[0]) : 50_000;
+		int certificaciones = (args.length > 1) ? Integer.parseInt(args[1]) : 3;
+
+		System.out.println("Veterinarios: " + veterinarios + ", certificaciones por veterinario: " + certificaciones);
+		medir("HashMap<Integer, Certificacion>", veterinarios, certificaciones, HashMap::new);
+		medir("MapaCertificaciones", veterinarios, certificaciones, MapaCertificaciones::new);
+	}
+
+	private static void medir(String nombre, int veterinarios, int certificaciones,
+			Supplier<Map<Integer, Certificacion>> fabrica) {
+		Object[] retenidos = new Object[veterinarios];
+		long antes = heapUsado();
+
+		int id = 1000; // fuera de la caché de Integer, como los IDs reales
+		for (int v = 0; v < veterinarios; v++) {
+			Map<Integer, Certificacion> mapa = fabrica.get();
+			for (int c = 0; c < certificaciones; c++) {
+				mapa.put(id++, null); // IDs cargados por readAll, aún sin objeto
+			}
+			retenidos[v] = mapa;
+		}
+
+		long despues = heapUsado();
+		System.out.printf("%-32s %8.1f bytes/veterinario%n", nombre, (despues - antes) / (double) veterinarios);
+		if (retenidos.length > 0 && retenidos[0] == null) {
+			throw new IllegalStateException(); // mantiene vivos los mapas hasta la medición
+		}
+	}
+
+	private static long heapUsado() {
+		Runtime rt = Runtime.getRuntime();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		return rt.totalMemory() - rt.freeMemory();
+	}
+}
@@ -0,0 +1,111 @@
+package clinica_model;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Pruebas del índice primitivo de certificaciones.
+ */
+public class MapaCertificacionesTest
+    extends TestCase
+{
+    public MapaCertificacionesTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( MapaCertificacionesTest.class );
+    }
+
+    /**
+     * Inserciones, borrados y claves no positivas (IDs temporales) se comportan como en un HashMap.
+     */
+    public void testEquivalenteAHashMap()
+    {
+        MapaCertificaciones mapa = new MapaCertificaciones();
+        Map<Integer, Certificacion> referencia = new HashMap<>();
+        Random random = new Random( 42 );
+
+        for ( int i = 0; i < 20000; i++ )
+        {
+            int id = random.nextInt( 400 ) - 50;
+            if ( random.nextInt( 3 ) == 0 )
+            {
+                assertEquals( referencia.remove( id ), mapa.remove( id ) );
+            }
+            else
+            {
+                Certificacion c = random.nextBoolean() ? null : new Certificacion( Math.max( id, 0 ), "I", "E" + id, 1 );
+                assertEquals( referencia.put( id, c ), mapa.put( id, c ) );
+            }
+            assertEquals( referencia.size(), mapa.size() );
+        }
+
+        for ( int id = -60; id < 400; id++ )
+        {
+            assertEquals( referencia.containsKey( id ), mapa.containsKey( id ) );
+            assertSame( referencia.get( id ), mapa.get( id ) );
+        }
+        assertEquals( referencia, mapa );
+    }
+
+    /**
+     * Eliminar con el iterador durante el recorrido no salta ni repite entradas.
+     */
+    public void testEliminarDuranteIteracion()
+    {
+        MapaCertificaciones mapa = new MapaCertificaciones();
+        for ( int id = 1; id <= 100; id++ )
+        {
+            mapa.put( id, null );
+        }
+
+        int vistos = 0;
+        Iterator<Map.Entry<Integer, Certificacion>> it = mapa.entrySet().iterator();
+        while ( it.hasNext() )
+        {
+            Map.Entry<Integer, Certificacion> entry = it.next();
+            vistos++;
+            if ( entry.getKey() % 2 == 0 )
+            {
+                it.remove();
+            }
+        }
+
+        assertEquals( 100, vistos );
+        assertEquals( 50, mapa.size() );
+        PrimitiveIterator.OfInt ids = mapa.iteradorIds();
+        while ( ids.hasNext() )
+        {
+            assertTrue( ids.nextInt() % 2 == 1 );
+        }
+    }
+
+    /**
+     * Solo se completan las entradas pendientes y se respetan los valores ya cargados.
+     */
+    public void testCompletarPendientes()
+    {
+        MapaCertificaciones mapa = new MapaCertificaciones();
+        Certificacion cargada = new Certificacion( 1, "I", "E1", 1 );
+        mapa.put( 1, cargada );
+        mapa.put( 2, null );
+        mapa.put( 3, null );
+
+        mapa.completarPendientes( id -> id == 2 ? new Certificacion( 2, "I", "E2", 1 ) : null );
+
+        assertSame( cargada, mapa.get( 1 ) );
+        assertEquals( 2, mapa.get( 2 ).getId() );
+        assertNull( mapa.get( 3 ) );
+        assertTrue( mapa.containsKey( 3 ) );
+    }
+}
@@ -0,0 +1,64 @@
+package clinica_model;
+
+import java.time.LocalDate;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Pruebas de la fecha de contratación guardada como número de día.
+ */
+public class VeterinarioTest
+    extends TestCase
+{
+    public VeterinarioTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( VeterinarioTest.class );
+    }
+
+    /**
+     * La lectura y el formateo manuales coinciden con LocalDate en todo un rango de fechas.
+     */
+    public void testEquivalenteALocalDate()
+    {
+        Veterinario v = new Veterinario();
+        for ( LocalDate fecha = LocalDate.of( 1899, 12, 1 ); fecha.getYear() < 2101; fecha = fecha.plusDays( 1 ) )
+        {
+            v.setFecha_contratacion( fecha.toString() );
+            assertEquals( fecha.toEpochDay(), v.getDiaContratacion() );
+            assertEquals( fecha.toString(), v.getFecha_contratacion() );
+        }
+    }
+
+    /**
+     * Las fechas vacías o no válidas siguen quedando como cadena vacía, y las que no tienen
+     * la forma exacta se interpretan como antes con el formateador.
+     */
+    public void testFechasNoNormalizadas()
+    {
+        Veterinario v = new Veterinario();
+        assertEquals( "", v.getFecha_contratacion() );
+        assertEquals( Veterinario.SIN_FECHA, v.getDiaContratacion() );
+
+        v.setFecha_contratacion( "2021-13-01" );
+        assertEquals( "", v.getFecha_contratacion() );
+        v.setFecha_contratacion( "abc" );
+        assertEquals( "", v.getFecha_contratacion() );
+        v.setFecha_contratacion( null );
+        assertEquals( Veterinario.SIN_FECHA, v.getDiaContratacion() );
+
+        v.setFecha_contratacion( " 2024-02-29 " );
+        assertEquals( "2024-02-29", v.getFecha_contratacion() );
+        v.setFecha_contratacion( "2021-02-31" );
+        assertEquals( "2021-02-28", v.getFecha_contratacion() );
+
+        Veterinario copia = new Veterinario( v );
+        assertEquals( v.getDiaContratacion(), copia.getDiaContratacion() );
+    }
+}
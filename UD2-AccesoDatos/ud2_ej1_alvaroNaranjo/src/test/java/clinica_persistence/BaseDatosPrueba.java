@@ -0,0 +1,66 @@
+package clinica_persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Base de datos temporal para las pruebas que pasan por {@link DatabaseConnection}.
+ * <p>
+ * Crea un fichero con el esquema original de {@code clinica.db} y apunta {@code db.url}
+ * a él antes de que se cree el pool (que le aplica las migraciones). Todas las pruebas
+ * del mismo proceso comparten el fichero; cada una vacía las tablas al empezar.
+ * </p>
+ */
+final class BaseDatosPrueba
+{
+    private static Path fichero;
+
+    private BaseDatosPrueba()
+    {
+    }
+
+    /**
+     * Prepara la base de datos la primera vez y la deja vacía.
+     */
+    static synchronized void preparar() throws IOException, SQLException
+    {
+        if ( fichero == null )
+        {
+            fichero = Files.createTempFile( "clinica-prueba", ".db" );
+            fichero.toFile().deleteOnExit();
+            try ( Connection connection = DriverManager.getConnection( "jdbc:sqlite:" + fichero ) )
+            {
+                crearEsquemaOriginal( connection );
+            }
+            System.setProperty( "db.url", "jdbc:sqlite:" + fichero );
+            System.setProperty( "db.snapshot.activa", "false" );
+        }
+        if ( VeterinarioPersistence.purgar() == null )
+        {
+            throw new SQLException( "No se pudo vaciar la base de datos de prueba" );
+        }
+    }
+
+    /**
+     * Crea las tres tablas tal y como están en el {@code clinica.db} distribuido, sin migraciones.
+     */
+    static void crearEsquemaOriginal( Connection connection ) throws SQLException
+    {
+        try ( Statement stmt = connection.createStatement() )
+        {
+            stmt.executeUpdate( "CREATE TABLE Veterinario (num_licencia INTEGER PRIMARY KEY, nombre TEXT NOT NULL, "
+                + "apellido TEXT NOT NULL, fecha_contratacion TEXT NOT NULL)" );
+            stmt.executeUpdate( "CREATE TABLE DetalleContrato (id INTEGER PRIMARY KEY AUTOINCREMENT, salario_base REAL NOT NULL, "
+                + "horario_semanal TEXT NOT NULL, veterinario_licencia INTEGER UNIQUE NOT NULL, "
+                + "FOREIGN KEY (veterinario_licencia) REFERENCES Veterinario (num_licencia) ON DELETE CASCADE)" );
+            stmt.executeUpdate( "CREATE TABLE Certificacion (id INTEGER PRIMARY KEY AUTOINCREMENT, institucion_emisora TEXT NOT NULL, "
+                + "nombre_especialidad TEXT UNIQUE NOT NULL, veterinario_licencia INTEGER NOT NULL, "
+                + "FOREIGN KEY (veterinario_licencia) REFERENCES Veterinario (num_licencia) ON DELETE CASCADE)" );
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package clinica_persistence;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import clinica_model.Veterinario;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Pruebas de la caché de veterinarios con un cargador en memoria (sin base de datos).
+ */
+public class CacheVeterinariosTest
+    extends TestCase
+{
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    public CacheVeterinariosTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( CacheVeterinariosTest.class );
+    }
+
+    private Veterinario cargar( int licencia )
+    {
+        cargas.incrementAndGet();
+        if ( licencia > 1000 )
+        {
+            return null;
+        }
+        Veterinario v = new Veterinario( licencia, "Nombre" + licencia, "Apellido", "2020-01-01", 0, 1000.0, 40.0 );
+        v.addCertificacion( licencia * 10 );
+        return v;
+    }
+
+    /**
+     * Los aciertos no llaman al cargador, devuelven copias y se expulsa el menos usado.
+     */
+    public void testAciertosCopiasYExpulsionLru()
+    {
+        CacheVeterinarios cache = new CacheVeterinarios( 2, 0 );
+
+        Veterinario primero = cache.obtener( 1, this::cargar );
+        primero.setNombre( "Modificado" );
+        assertEquals( "Nombre1", cache.obtener( 1, this::cargar ).getNombre() );
+        assertEquals( 1, cargas.get() );
+
+        cache.obtener( 2, this::cargar );
+        cache.obtener( 1, this::cargar ); // 2 pasa a ser el menos usado
+        cache.obtener( 3, this::cargar );
+        assertEquals( 2, cache.size() );
+        assertEquals( 1, cache.getExpulsiones() );
+
+        int antes = cargas.get();
+        cache.obtener( 1, this::cargar );
+        assertEquals( antes, cargas.get() );
+        cache.obtener( 2, this::cargar );
+        assertEquals( antes + 1, cargas.get() );
+
+        assertEquals( 3, cache.getAciertos() );
+        assertEquals( 4, cache.getFallos() );
+
+        assertNull( cache.obtener( 5000, this::cargar ) );
+        assertEquals( 2, cache.size() );
+    }
+
+    /**
+     * Las invalidaciones por licencia, por certificación y totales obligan a recargar.
+     */
+    public void testInvalidacion()
+    {
+        CacheVeterinarios cache = new CacheVeterinarios( 10, 0 );
+        cache.obtener( 1, this::cargar );
+        cache.obtener( 2, this::cargar );
+        cache.obtener( 3, this::cargar );
+
+        cache.invalidar( 1 );
+        cache.invalidarPorCertificacion( 20 );
+        assertEquals( 1, cache.size() );
+
+        cache.invalidarTodo();
+        assertEquals( 0, cache.size() );
+
+        // Una carga que empezó antes de invalidar no se guarda
+        cache.obtener( 4, licencia -> {
+            cache.invalidar( licencia );
+            return cargar( licencia );
+        } );
+        assertEquals( 0, cache.size() );
+    }
+
+    /**
+     * Las entradas caducadas se vuelven a cargar.
+     */
+    public void testCaducidad() throws InterruptedException
+    {
+        CacheVeterinarios cache = new CacheVeterinarios( 10, 20 );
+        cache.obtener( 1, this::cargar );
+        cache.obtener( 1, this::cargar );
+        assertEquals( 1, cargas.get() );
+
+        Thread.sleep( 40 );
+        cache.obtener( 1, this::cargar );
+        assertEquals( 2, cargas.get() );
+    }
+}
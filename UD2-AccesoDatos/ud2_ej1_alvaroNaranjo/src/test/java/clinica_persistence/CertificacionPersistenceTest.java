@@ -0,0 +1,118 @@
+package clinica_persistence;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import clinica_model.Certificacion;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Pruebas de la búsqueda de certificaciones por texto.
+ */
+public class CertificacionPersistenceTest
+    extends TestCase
+{
+    public CertificacionPersistenceTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( CertificacionPersistenceTest.class );
+    }
+
+    /**
+     * Cada palabra va entre comillas y como prefijo: las palabras reservadas (OR) y las
+     * comillas del usuario no llegan a FTS5 como operadores.
+     */
+    public void testExpresionBusqueda()
+    {
+        assertEquals( "\"cirug\"* \"UCM\"* \"OR\"*", CertificacionPersistence.expresionBusqueda( " cirug, \"UCM\" OR" ) );
+        assertEquals( "\"Cardiología\"* \"León\"*", CertificacionPersistence.expresionBusqueda( "Cardiología-León" ) );
+        assertEquals( "", CertificacionPersistence.expresionBusqueda( " -*\" " ) );
+    }
+
+    /**
+     * La búsqueda encuentra por prefijo y sin tildes, exige todas las palabras y no falla
+     * con texto que sería sintaxis de FTS5.
+     */
+    public void testSearch() throws Exception
+    {
+        BaseDatosPrueba.preparar();
+        try ( Connection connection = DatabaseConnection.getConnection(); Statement stmt = connection.createStatement() )
+        {
+            stmt.executeUpdate( "INSERT INTO Veterinario VALUES (1, 'a', 'a', '2020-01-01')" );
+            stmt.executeUpdate( "INSERT INTO Certificacion (institucion_emisora, nombre_especialidad, veterinario_licencia) VALUES "
+                + "('UCM', 'Cirugía', 1), ('Universidad de León', 'Cardiología', 1), ('UAB', 'Cirugía cardiaca', 1)" );
+        }
+
+        assertEquals( List.of( "Cirugía", "Cirugía cardiaca" ), especialidades( CertificacionPersistence.search( "cirug", 10 ) ) );
+        assertEquals( List.of( "Cardiología" ), especialidades( CertificacionPersistence.search( "card leon", 10 ) ) );
+        assertEquals( List.of( "Cirugía cardiaca" ), especialidades( CertificacionPersistence.search( "CIRUGIA uab", 10 ) ) );
+        assertEquals( 1, CertificacionPersistence.search( "cirug", 1 ).size() );
+        assertTrue( CertificacionPersistence.search( "cirug OR \"uab", 10 ).isEmpty() );
+        assertTrue( CertificacionPersistence.search( " -*\" ", 10 ).isEmpty() );
+    }
+
+    /**
+     * Las lecturas hechas dentro de una transacción abierta en el mismo hilo reciben la misma
+     * conexión y no deben confirmarla.
+     */
+    public void testLecturasNoConfirmanTransaccionAbierta() throws Exception
+    {
+        BaseDatosPrueba.preparar();
+        try ( Connection connection = DatabaseConnection.getConnection() )
+        {
+            connection.setAutoCommit( false );
+            try ( Statement stmt = connection.createStatement() )
+            {
+                stmt.executeUpdate( "INSERT INTO Veterinario VALUES (1, 'a', 'a', '2020-01-01')" );
+            }
+
+            CertificacionPersistence.readAll();
+            CertificacionPersistence.readById( 1 );
+            CertificacionPersistence.readByVeterinarioLicencia( 1 );
+
+            assertFalse( connection.getAutoCommit() );
+            connection.rollback();
+            connection.setAutoCommit( true );
+        }
+        assertFalse( VeterinarioPersistence.exists( 1 ) );
+    }
+
+    /**
+     * Un lote con una fila repetida inserta las demás, les asigna ID y deja la repetida sin él.
+     */
+    public void testCreateAll() throws Exception
+    {
+        BaseDatosPrueba.preparar();
+        VeterinarioPersistenceTest.ejecutar( "INSERT INTO Veterinario VALUES (1, 'a', 'a', '2020-01-01')" );
+
+        List<Certificacion> lote = List.of( new Certificacion( 0, "UCM", "Cirugía", 1 ),
+            new Certificacion( 0, "UAB", "Cirugía", 1 ), new Certificacion( 0, "UAB", "Cardiología", 1 ) );
+        boolean[] resultados = CertificacionPersistence.createAll( lote );
+
+        assertTrue( resultados[0] );
+        assertFalse( resultados[1] );
+        assertTrue( resultados[2] );
+        assertEquals( 0, lote.get( 1 ).getId() );
+        assertEquals( "UAB", CertificacionPersistence.readById( lote.get( 2 ).getId() ).getInstitucion_emisora() );
+        assertEquals( 2, CertificacionPersistence.readByVeterinarioLicencia( 1 ).size() );
+    }
+
+    private static List<String> especialidades( List<Certificacion> certificaciones )
+    {
+        List<String> nombres = new ArrayList<>();
+        for ( Certificacion c : certificaciones )
+        {
+            nombres.add( c.getNombre_especialidad() );
+        }
+        nombres.sort( null );
+        return nombres;
+    }
+}
@@ -0,0 +1,118 @@
+package clinica_persistence;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import clinica_model.Certificacion;
+import clinica_model.Veterinario;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Pruebas de la fachada asíncrona {@link ClinicaAsync} sobre una base de datos temporal.
+ */
+public class ClinicaAsyncTest
+    extends TestCase
+{
+    public ClinicaAsyncTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( ClinicaAsyncTest.class );
+    }
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        BaseDatosPrueba.preparar();
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        ClinicaAsync.cerrarEscritor();
+    }
+
+    /**
+     * Las escrituras se completan tras su commit y las lecturas posteriores ven sus datos.
+     */
+    public void testEscrituraYLectura() throws Exception
+    {
+        try ( ClinicaAsync clinica = new ClinicaAsync() )
+        {
+            assertEquals( Boolean.TRUE, esperar( clinica.createVeterinario( veterinario( 1 ) ) ) );
+            assertEquals( Boolean.TRUE, esperar( clinica.createVeterinario( veterinario( 2 ) ) ) );
+
+            boolean[] altas = esperar( clinica.createCertificaciones( List.of(
+                    new Certificacion( 0, "I", "Cirugía", 1 ), new Certificacion( 0, "I", "Cardiología", 2 ) ) ) );
+            assertTrue( altas[0] );
+            assertTrue( altas[1] );
+
+            Veterinario leido = esperar( clinica.readVeterinario( 1 ) );
+            assertEquals( "Nombre1", leido.getNombre() );
+            assertEquals( 1200.0, leido.getSalarioBase(), 0.0 );
+            assertEquals( 1, leido.getNumeroCertificaciones() );
+
+            Map<Integer, Veterinario> varios = esperar( clinica.readVeterinarios( List.of( 2, 3, 1 ) ) );
+            assertEquals( List.of( 2, 1 ), List.copyOf( varios.keySet() ) );
+
+            assertEquals( Boolean.TRUE, esperar( clinica.deleteVeterinario( 2 ) ) );
+            assertEquals( Boolean.FALSE, esperar( clinica.existsVeterinario( 2 ) ) );
+            assertEquals( List.of( "Cirugía" ), VeterinarioPersistenceTest.filas( "SELECT nombre_especialidad FROM Certificacion" ) );
+        }
+    }
+
+    /**
+     * Un error SQL no hace fallar el futuro: se completa con {@code false} y no deja filas.
+     * Una instancia cerrada rechaza escrituras, pero el escritor compartido sigue atendiendo a las demás.
+     */
+    public void testErroresYCierre() throws Exception
+    {
+        ClinicaAsync primera = new ClinicaAsync();
+        ClinicaAsync segunda = new ClinicaAsync();
+        try
+        {
+            assertEquals( Boolean.TRUE, esperar( primera.createVeterinario( veterinario( 1 ) ) ) );
+            assertEquals( Boolean.FALSE, esperar( segunda.createVeterinario( veterinario( 1 ) ) ) );
+            assertEquals( Boolean.FALSE, esperar( segunda.deleteVeterinario( 99 ) ) );
+            assertEquals( Boolean.FALSE, esperar( primera.createVeterinario( null ) ) );
+            assertEquals( List.of( "1" ), VeterinarioPersistenceTest.filas( "SELECT num_licencia FROM Veterinario" ) );
+
+            primera.close();
+            try
+            {
+                primera.createVeterinario( veterinario( 2 ) );
+                fail( "Debería rechazar escrituras tras cerrar" );
+            }
+            catch ( RejectedExecutionException e )
+            {
+                // Esperado
+            }
+
+            assertEquals( Boolean.TRUE, esperar( segunda.createVeterinario( veterinario( 3 ) ) ) );
+        }
+        finally
+        {
+            primera.close();
+            segunda.close();
+        }
+        assertEquals( List.of( "1", "3" ), VeterinarioPersistenceTest.filas( "SELECT num_licencia FROM Veterinario ORDER BY 1" ) );
+    }
+
+    private static Veterinario veterinario( int licencia )
+    {
+        return new Veterinario( licencia, "Nombre" + licencia, "Apellido", "2020-01-01", 0, 1200.0, 40.0 );
+    }
+
+    private static <T> T esperar( CompletableFuture<T> futuro ) throws Exception
+    {
+        return futuro.get( 10, TimeUnit.SECONDS );
+    }
+}
@@ -0,0 +1,200 @@
+package clinica_persistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Pruebas del escritor con commit agrupado y de {@link Escritura#ejecutar()} sobre una base de datos temporal.
+ */
+public class EscritorAgrupadoTest
+    extends TestCase
+{
+    public EscritorAgrupadoTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( EscritorAgrupadoTest.class );
+    }
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        BaseDatosPrueba.preparar();
+    }
+
+    /**
+     * Una clave duplicada a mitad de lote solo descarta esa escritura: las de alrededor se confirman.
+     */
+    public void testFalloEnMitadDelLoteNoAfectaALasDemas() throws Exception
+    {
+        List<CompletableFuture<Boolean>> futuros = new ArrayList<>();
+        try ( EscritorAgrupado escritor = new EscritorAgrupado( 10, 1000 ) )
+        {
+            futuros.add( escritor.enviar( insertar( 1 ) ) );
+            futuros.add( escritor.enviar( insertar( 2 ) ) );
+            futuros.add( escritor.enviar( insertar( 1 ) ) );
+            futuros.add( escritor.enviar( insertar( 3 ) ) );
+
+            assertEquals( Boolean.TRUE, futuros.get( 0 ).get( 10, TimeUnit.SECONDS ) );
+            assertEquals( Boolean.TRUE, futuros.get( 1 ).get( 10, TimeUnit.SECONDS ) );
+            assertEquals( Boolean.FALSE, futuros.get( 2 ).get( 10, TimeUnit.SECONDS ) );
+            assertEquals( Boolean.TRUE, futuros.get( 3 ).get( 10, TimeUnit.SECONDS ) );
+            assertEquals( 1, escritor.getLotes() );
+        }
+        assertEquals( Arrays.asList( 1, 2, 3 ), licencias() );
+    }
+
+    /**
+     * Cerrar aplica lo que ya estaba en la cola sin esperar a que venza el lote, y luego rechaza más escrituras.
+     */
+    public void testCerrarVaciaLaCola() throws Exception
+    {
+        EscritorAgrupado escritor = new EscritorAgrupado( 100, TimeUnit.MINUTES.toMillis( 5 ) );
+        List<CompletableFuture<Boolean>> futuros = new ArrayList<>();
+        for ( int i = 1; i <= 5; i++ )
+        {
+            futuros.add( escritor.enviar( insertar( i ) ) );
+        }
+
+        long inicio = System.nanoTime();
+        escritor.close();
+        assertTrue( System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos( 30 ) );
+
+        for ( CompletableFuture<Boolean> futuro : futuros )
+        {
+            assertTrue( futuro.isDone() );
+            assertEquals( Boolean.TRUE, futuro.get() );
+        }
+        assertEquals( Arrays.asList( 1, 2, 3, 4, 5 ), licencias() );
+
+        try
+        {
+            escritor.enviar( insertar( 6 ) );
+            fail( "Debería rechazar escrituras tras cerrar" );
+        }
+        catch ( RejectedExecutionException e )
+        {
+            // Esperado
+        }
+    }
+
+    /**
+     * Si {@code aplicar} lanza una excepción no comprobada, lo ya escrito se deshace en lugar de
+     * confirmarse y se avisa con {@code descartada()} antes de propagarla.
+     */
+    public void testEjecutarDeshaceAnteExcepcionNoComprobada() throws Exception
+    {
+        AtomicBoolean descartada = new AtomicBoolean();
+        try
+        {
+            insertarYFallar( 7, descartada ).ejecutar();
+            fail( "La excepción debería propagarse" );
+        }
+        catch ( IllegalStateException e )
+        {
+            // Esperado
+        }
+        assertTrue( descartada.get() );
+        assertTrue( licencias().isEmpty() );
+    }
+
+    /**
+     * Una excepción no comprobada a mitad de lote solo deshace esa escritura: se llama a su
+     * {@code descartada()}, su futuro falla con la excepción y las demás se confirman.
+     */
+    public void testExcepcionNoComprobadaEnElLote() throws Exception
+    {
+        AtomicBoolean descartada = new AtomicBoolean();
+        CompletableFuture<Boolean> antes;
+        CompletableFuture<Boolean> fallida;
+        CompletableFuture<Boolean> despues;
+        try ( EscritorAgrupado escritor = new EscritorAgrupado( 10, 1000 ) )
+        {
+            antes = escritor.enviar( insertar( 1 ) );
+            fallida = escritor.enviar( insertarYFallar( 2, descartada ) );
+            despues = escritor.enviar( insertar( 3 ) );
+
+            assertEquals( Boolean.TRUE, antes.get( 10, TimeUnit.SECONDS ) );
+            assertEquals( Boolean.TRUE, despues.get( 10, TimeUnit.SECONDS ) );
+            try
+            {
+                fallida.get( 10, TimeUnit.SECONDS );
+                fail( "El futuro debería fallar" );
+            }
+            catch ( ExecutionException e )
+            {
+                assertTrue( e.getCause() instanceof IllegalStateException );
+            }
+            assertEquals( 1, escritor.getLotes() );
+        }
+        assertTrue( descartada.get() );
+        assertEquals( Arrays.asList( 1, 3 ), licencias() );
+    }
+
+    private static Escritura insertarYFallar( int licencia, AtomicBoolean descartada )
+    {
+        return new Escritura( "insertar y fallar" )
+        {
+            @Override
+            boolean aplicar( Connection connection ) throws SQLException
+            {
+                insertar( licencia ).aplicar( connection );
+                throw new IllegalStateException( "fallo a mitad" );
+            }
+
+            @Override
+            void descartada()
+            {
+                descartada.set( true );
+            }
+        };
+    }
+
+    private static Escritura insertar( int licencia )
+    {
+        return new Escritura( "insertar veterinario " + licencia )
+        {
+            @Override
+            boolean aplicar( Connection connection ) throws SQLException
+            {
+                try ( PreparedStatement ps = connection.prepareStatement( "INSERT INTO Veterinario VALUES (?, 'N', 'A', '2020-01-01')" ) )
+                {
+                    ps.setInt( 1, licencia );
+                    return ps.executeUpdate() == 1;
+                }
+            }
+        };
+    }
+
+    private static List<Integer> licencias() throws SQLException
+    {
+        List<Integer> licencias = new ArrayList<>();
+        try ( Connection connection = DatabaseConnection.getConnection(); Statement stmt = connection.createStatement();
+              ResultSet rs = stmt.executeQuery( "SELECT num_licencia FROM Veterinario ORDER BY 1" ) )
+        {
+            while ( rs.next() )
+            {
+                licencias.add( rs.getInt( 1 ) );
+            }
+        }
+        return licencias;
+    }
+}
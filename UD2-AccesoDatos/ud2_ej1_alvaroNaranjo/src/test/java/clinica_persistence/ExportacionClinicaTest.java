@@ -0,0 +1,208 @@
+package clinica_persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Pruebas de exportación e importación sobre una base de datos temporal.
+ */
+public class ExportacionClinicaTest
+    extends TestCase
+{
+    private Path directorio;
+
+    public ExportacionClinicaTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( ExportacionClinicaTest.class );
+    }
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        BaseDatosPrueba.preparar();
+        directorio = Files.createTempDirectory( "clinica-exportacion" );
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        try ( var ficheros = Files.list( directorio ) )
+        {
+            for ( Path f : ficheros.toList() )
+            {
+                Files.delete( f );
+            }
+        }
+        Files.delete( directorio );
+    }
+
+    /**
+     * Los dos formatos devuelven exactamente los mismos datos, con textos que llevan comas,
+     * comillas, saltos de línea y tildes, y con ficheros de varios trozos de lectura.
+     */
+    public void testIdaYVueltaAmbosFormatos() throws Exception
+    {
+        insertarDatos( 12000 );
+        List<String> original = contenido();
+
+        for ( ExportacionClinica.Formato formato : ExportacionClinica.Formato.values() )
+        {
+            Path fichero = directorio.resolve( "datos." + formato );
+            assertTrue( Arrays.equals( new int[] { 12000, 12000, 12000 }, ExportacionClinica.exportar( fichero, formato ) ) );
+            assertTrue( formato + ": varios trozos", Files.size( fichero ) > ExportacionClinica.TAMANO_BUFFER );
+
+            assertTrue( Arrays.equals( new int[] { 12000, 12000, 12000 }, ExportacionClinica.importar( fichero, true ) ) );
+            assertEquals( formato.toString(), original, contenido() );
+        }
+    }
+
+    /**
+     * Un salto de línea entre comillas justo en el último byte del primer trozo no parte la fila.
+     */
+    public void testSaltoEntreComillasEnElLimiteDelTrozo() throws Exception
+    {
+        StringBuilder csv = new StringBuilder( "# clinica v1\n" );
+        csv.append( "V,1," ).append( "a".repeat( ExportacionClinica.TAMANO_BUFFER / 2 ) ).append( ",Uno,2020-01-01\n" );
+        String inicioFila = "V,2,\"";
+        int relleno = ExportacionClinica.TAMANO_BUFFER - 1 - csv.length() - inicioFila.length();
+        csv.append( inicioFila ).append( "b".repeat( relleno ) );
+        assertEquals( ExportacionClinica.TAMANO_BUFFER - 1, csv.length() );
+        csv.append( "\nc,\"\"d\",Dos,2021-02-03\n" );
+
+        Path fichero = directorio.resolve( "limite.csv" );
+        Files.write( fichero, csv.toString().getBytes( StandardCharsets.US_ASCII ) );
+
+        assertTrue( Arrays.equals( new int[] { 2, 0, 0 }, ExportacionClinica.importar( fichero, true ) ) );
+        List<String> filas = contenido();
+        assertEquals( 2, filas.size() );
+        assertEquals( "V|2|" + "b".repeat( relleno ) + "\nc,\"d|Dos|2021-02-03", filas.get( 1 ) );
+    }
+
+    /**
+     * Ficheros truncados o con longitudes no válidas fallan sin tocar los datos, también con reemplazar.
+     */
+    public void testFicherosDanadosNoCambianNada() throws Exception
+    {
+        insertarDatos( 50 );
+        List<String> original = contenido();
+
+        Path binario = directorio.resolve( "datos.bin" );
+        ExportacionClinica.exportar( binario, ExportacionClinica.Formato.BINARIO );
+        byte[] completo = Files.readAllBytes( binario );
+        Path csv = directorio.resolve( "datos.csv" );
+        ExportacionClinica.exportar( csv, ExportacionClinica.Formato.CSV );
+        String textoCsv = Files.readString( csv );
+
+        List<byte[]> danados = new ArrayList<>();
+        danados.add( Arrays.copyOf( completo, completo.length - 3 ) );
+        danados.add( cabeceraConFila( 'V', -100 ) );
+        danados.add( cabeceraConFila( 'V', -5 ) );
+        danados.add( cabeceraConFila( 'V', Integer.MAX_VALUE ) );
+        danados.add( cabeceraConFila( 'X', 0 ) );
+        // Cierra las comillas de un nombre a mitad de fichero: la última fila queda sin cerrar
+        danados.add( textoCsv.substring( 0, textoCsv.lastIndexOf( '"' ) ).getBytes( StandardCharsets.UTF_8 ) );
+
+        Path fichero = directorio.resolve( "danado" );
+        for ( int i = 0; i < danados.size(); i++ )
+        {
+            Files.write( fichero, danados.get( i ) );
+            assertNull( "fichero " + i, ExportacionClinica.importar( fichero, true ) );
+            assertEquals( "fichero " + i, original, contenido() );
+        }
+    }
+
+    private static byte[] cabeceraConFila( char tipo, int longitud )
+    {
+        return ByteBuffer.allocate( 13 ).put( new byte[] { 'C', 'L', 'I', 'N' } ).putInt( 1 )
+            .put( (byte) tipo ).putInt( longitud ).array();
+    }
+
+    private static void insertarDatos( int veterinarios ) throws SQLException, IOException
+    {
+        BaseDatosPrueba.preparar();
+        String largo = "x".repeat( 300 );
+        try ( Connection connection = DatabaseConnection.getConnection() )
+        {
+            connection.setAutoCommit( false );
+            try ( PreparedStatement v = connection.prepareStatement( "INSERT INTO Veterinario VALUES (?, ?, ?, ?)" );
+                  PreparedStatement d = connection.prepareStatement(
+                      "INSERT INTO DetalleContrato (salario_base, horario_semanal, veterinario_licencia) VALUES (?, ?, ?)" );
+                  PreparedStatement c = connection.prepareStatement(
+                      "INSERT INTO Certificacion (id, institucion_emisora, nombre_especialidad, veterinario_licencia) VALUES (?, ?, ?, ?)" ) )
+            {
+                for ( int i = 1; i <= veterinarios; i++ )
+                {
+                    v.setInt( 1, i );
+                    v.setString( 2, "Nom, \"bre\"\n" + i + largo );
+                    v.setString( 3, "Muñoz\r\n" + i );
+                    v.setString( 4, "2020-01-01" );
+                    v.addBatch();
+                    d.setDouble( 1, 1000.5 + i );
+                    d.setDouble( 2, 37.5 );
+                    d.setInt( 3, i );
+                    d.addBatch();
+                    c.setInt( 1, i * 2 );
+                    c.setString( 2, i % 2 == 0 ? "Inst" : "\"Inst\", " + i );
+                    c.setString( 3, "Espe\ncialidad " + i );
+                    c.setInt( 4, i );
+                    c.addBatch();
+                }
+                v.executeBatch();
+                d.executeBatch();
+                c.executeBatch();
+            }
+            connection.commit();
+            connection.setAutoCommit( true );
+        }
+    }
+
+    private static List<String> contenido() throws SQLException
+    {
+        List<String> filas = new ArrayList<>();
+        try ( Connection connection = DatabaseConnection.getConnection(); Statement stmt = connection.createStatement() )
+        {
+            try ( ResultSet rs = stmt.executeQuery( "SELECT num_licencia, nombre, apellido, fecha_contratacion FROM Veterinario ORDER BY 1" ) )
+            {
+                while ( rs.next() )
+                {
+                    filas.add( "V|" + rs.getInt( 1 ) + "|" + rs.getString( 2 ) + "|" + rs.getString( 3 ) + "|" + rs.getString( 4 ) );
+                }
+            }
+            try ( ResultSet rs = stmt.executeQuery( "SELECT veterinario_licencia, salario_base, horario_semanal FROM DetalleContrato ORDER BY 1" ) )
+            {
+                while ( rs.next() )
+                {
+                    filas.add( "D|" + rs.getInt( 1 ) + "|" + rs.getDouble( 2 ) + "|" + rs.getDouble( 3 ) );
+                }
+            }
+            try ( ResultSet rs = stmt.executeQuery( "SELECT id, institucion_emisora, nombre_especialidad, veterinario_licencia FROM Certificacion ORDER BY 1" ) )
+            {
+                while ( rs.next() )
+                {
+                    filas.add( "C|" + rs.getInt( 1 ) + "|" + rs.getString( 2 ) + "|" + rs.getString( 3 ) + "|" + rs.getInt( 4 ) );
+                }
+            }
+        }
+        return filas;
+    }
+}
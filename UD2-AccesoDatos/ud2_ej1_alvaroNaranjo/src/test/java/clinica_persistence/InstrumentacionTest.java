@@ -0,0 +1,75 @@
+package clinica_persistence;
+
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Pruebas de las operaciones medidas y del registro en memoria (sin base de datos).
+ */
+public class InstrumentacionTest
+    extends TestCase
+{
+    public InstrumentacionTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( InstrumentacionTest.class );
+    }
+
+    /**
+     * Sin activar, iniciar devuelve null y no hay operación abierta.
+     */
+    public void testDesactivada()
+    {
+        Instrumentacion.configurar( false, SumideroMetricas.LOG, 5 );
+        assertNull( Instrumentacion.iniciar( "nada" ) );
+        assertNull( Instrumentacion.actual() );
+    }
+
+    /**
+     * Las operaciones anidadas se acumulan en la externa, que detecta la sentencia repetida.
+     */
+    public void testAnidadasYN1()
+    {
+        RegistroMetricas registro = new RegistroMetricas();
+        Instrumentacion.configurar( true, registro, 2 );
+        try
+        {
+            try ( OperacionMedida op = Instrumentacion.iniciar( "listar" ) )
+            {
+                op.registrar( "SELECT * FROM Veterinario", 1000, 10 );
+                try ( OperacionMedida interna = Instrumentacion.iniciar( "detalle" ) )
+                {
+                    assertSame( op, interna );
+                    for ( int i = 0; i < 3; i++ )
+                    {
+                        interna.registrar( "SELECT id FROM Certificacion WHERE veterinario_licencia = ?", 500, 2 );
+                    }
+                }
+                assertSame( op, Instrumentacion.actual() );
+            }
+            assertNull( Instrumentacion.actual() );
+
+            OperacionMedida ultima = registro.getUltimas().get( 0 );
+            assertEquals( "listar", ultima.getNombre() );
+            assertEquals( 4, ultima.getSentencias() );
+            assertEquals( 16, ultima.getFilas() );
+            assertEquals( 1, ultima.getSospechasN1().size() );
+            assertEquals( 3, ultima.getSospechasN1().get( 0 ).getEjecuciones() );
+
+            List<RegistroMetricas.Agregado> agregados = registro.getAgregados();
+            assertEquals( 1, agregados.size() );
+            assertEquals( 1, agregados.get( 0 ).getConN1() );
+        }
+        finally
+        {
+            Instrumentacion.configurar( false, SumideroMetricas.LOG, 5 );
+        }
+    }
+}
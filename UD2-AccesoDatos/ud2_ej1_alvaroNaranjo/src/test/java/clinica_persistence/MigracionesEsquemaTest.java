@@ -0,0 +1,150 @@
+package clinica_persistence;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Pruebas de las migraciones sobre una base de datos en memoria con el esquema original.
+ */
+public class MigracionesEsquemaTest
+    extends TestCase
+{
+    public MigracionesEsquemaTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( MigracionesEsquemaTest.class );
+    }
+
+    private static Connection esquemaOriginal() throws SQLException
+    {
+        Connection connection = DriverManager.getConnection( "jdbc:sqlite::memory:" );
+        BaseDatosPrueba.crearEsquemaOriginal( connection );
+        return connection;
+    }
+
+    /**
+     * Sin migrar, las búsquedas de certificaciones por veterinario recorren la tabla (también
+     * las del listado con EXISTS y los borrados en lote); tras migrar ninguna consulta crítica
+     * lo hace y la versión queda registrada una sola vez.
+     */
+    public void testMigrarQuitaRecorridosCompletos() throws SQLException
+    {
+        try ( Connection connection = esquemaOriginal() )
+        {
+            List<String> recorridos = MigracionesEsquema.comprobarPlanes( connection );
+            assertTrue( contieneConsulta( recorridos, VeterinarioPersistence.SQL_CON_CERTIFICACIONES ) );
+            assertTrue( contieneConsulta( recorridos, VeterinarioPersistence.SQL_BORRAR_CERTIFICACIONES_EN ) );
+            assertFalse( contieneConsulta( recorridos, VeterinarioPersistence.SQL_BORRAR_VETERINARIOS_EN ) );
+
+            assertTrue( MigracionesEsquema.aplicar( connection ) > 0 );
+            assertTrue( MigracionesEsquema.comprobarPlanes( connection ).isEmpty() );
+
+            int version = MigracionesEsquema.versionActual( connection );
+            assertEquals( 0, MigracionesEsquema.aplicar( connection ) );
+            assertEquals( version, MigracionesEsquema.versionActual( connection ) );
+        }
+    }
+
+    private static boolean contieneConsulta( List<String> recorridos, String sql )
+    {
+        for ( String recorrido : recorridos )
+        {
+            if ( recorrido.startsWith( sql ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tras altas, cambios y bajas, las tablas resumen coinciden con agregar las tablas base.
+     */
+    public void testResumenesSeMantienen() throws SQLException
+    {
+        try ( Connection connection = esquemaOriginal(); Statement stmt = connection.createStatement() )
+        {
+            // Datos previos: los rellena la migración
+            stmt.executeUpdate( "INSERT INTO Veterinario VALUES (1, 'a', 'a', '2020-01-01'), (2, 'b', 'b', '2021-01-01'), (3, 'c', 'c', '2022-01-01')" );
+            stmt.executeUpdate( "INSERT INTO DetalleContrato (salario_base, horario_semanal, veterinario_licencia) VALUES (1000, 40, 1)" );
+            stmt.executeUpdate( "INSERT INTO Certificacion (institucion_emisora, nombre_especialidad, veterinario_licencia) VALUES ('UCM', 'Cirugía', 1)" );
+            MigracionesEsquema.aplicar( connection );
+
+            // Cambios posteriores: los mantienen los disparadores
+            stmt.executeUpdate( "INSERT INTO DetalleContrato (salario_base, horario_semanal, veterinario_licencia) VALUES (2000, 20, 2), (1500, 30, 3)" );
+            stmt.executeUpdate( "UPDATE DetalleContrato SET salario_base = 1200 WHERE veterinario_licencia = 1" );
+            stmt.executeUpdate( "DELETE FROM DetalleContrato WHERE veterinario_licencia = 3" );
+            stmt.executeUpdate( "INSERT INTO Certificacion (institucion_emisora, nombre_especialidad, veterinario_licencia) VALUES "
+                + "('UCM', 'Dermatología', 1), ('UCM', 'Exóticos', 2), ('UAB', 'Cardiología', 2), ('UAB', 'Oftalmología', 3)" );
+            stmt.executeUpdate( "UPDATE Certificacion SET institucion_emisora = 'UAB' WHERE nombre_especialidad = 'Cirugía'" );
+            stmt.executeUpdate( "UPDATE Certificacion SET veterinario_licencia = 1 WHERE nombre_especialidad = 'Oftalmología'" );
+            stmt.executeUpdate( "DELETE FROM Certificacion WHERE nombre_especialidad = 'Exóticos'" );
+
+            assertEquals( filas( stmt, "SELECT 1, COUNT(*), SUM(salario_base), SUM(horario_semanal) FROM DetalleContrato" ),
+                filas( stmt, "SELECT id, num_contratos, total_salario, total_horas FROM ResumenNomina" ) );
+            assertEquals( filas( stmt, "SELECT nombre_especialidad, COUNT(*) FROM Certificacion GROUP BY 1 ORDER BY 1" ),
+                filas( stmt, "SELECT nombre_especialidad, num_certificaciones FROM ResumenEspecialidad ORDER BY 1" ) );
+            assertEquals( filas( stmt, "SELECT institucion_emisora, COUNT(*), COUNT(DISTINCT veterinario_licencia) FROM Certificacion GROUP BY 1 ORDER BY 1" ),
+                filas( stmt, "SELECT institucion_emisora, num_certificaciones, num_veterinarios FROM ResumenInstitucion ORDER BY 1" ) );
+        }
+    }
+
+    /**
+     * El índice de texto completo sigue a Certificacion en altas, cambios y bajas, incluidas
+     * las filas que ya existían al migrar.
+     */
+    public void testBusquedaTextoSincronizada() throws SQLException
+    {
+        try ( Connection connection = esquemaOriginal(); Statement stmt = connection.createStatement() )
+        {
+            stmt.executeUpdate( "INSERT INTO Veterinario VALUES (1, 'a', 'a', '2020-01-01')" );
+            stmt.executeUpdate( "INSERT INTO Certificacion (institucion_emisora, nombre_especialidad, veterinario_licencia) VALUES ('UCM', 'Cirugía', 1)" );
+            MigracionesEsquema.aplicar( connection );
+
+            stmt.executeUpdate( "INSERT INTO Certificacion (institucion_emisora, nombre_especialidad, veterinario_licencia) VALUES "
+                + "('Universidad de León', 'Cardiología', 1), ('UAB', 'Dermatología', 1)" );
+            stmt.executeUpdate( "UPDATE Certificacion SET institucion_emisora = 'UAB' WHERE nombre_especialidad = 'Cirugía'" );
+            stmt.executeUpdate( "DELETE FROM Certificacion WHERE nombre_especialidad = 'Dermatología'" );
+
+            String sql = "SELECT c.nombre_especialidad FROM CertificacionFts f JOIN Certificacion c ON c.id = f.rowid "
+                + "WHERE CertificacionFts MATCH '%s' ORDER BY c.id";
+            assertEquals( List.of( "Cirugía|" ), filas( stmt, String.format( sql, "cirugia" ) ) );
+            assertEquals( List.of( "Cirugía|" ), filas( stmt, String.format( sql, "uab" ) ) );
+            assertEquals( List.of( "Cardiología|" ), filas( stmt, String.format( sql, "leon" ) ) );
+            assertEquals( List.of(), filas( stmt, String.format( sql, "ucm" ) ) );
+            assertEquals( List.of(), filas( stmt, String.format( sql, "dermatologia" ) ) );
+        }
+    }
+
+    private static List<String> filas( Statement stmt, String sql ) throws SQLException
+    {
+        List<String> filas = new ArrayList<>();
+        try ( ResultSet rs = stmt.executeQuery( sql ) )
+        {
+            int columnas = rs.getMetaData().getColumnCount();
+            while ( rs.next() )
+            {
+                StringBuilder fila = new StringBuilder();
+                for ( int i = 1; i <= columnas; i++ )
+                {
+                    fila.append( rs.getDouble( i ) == 0 ? rs.getString( i ) : String.valueOf( rs.getDouble( i ) ) ).append( '|' );
+                }
+                filas.add( fila.toString() );
+            }
+        }
+        return filas;
+    }
+}
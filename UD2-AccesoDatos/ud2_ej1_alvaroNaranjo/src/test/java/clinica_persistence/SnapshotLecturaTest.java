@@ -0,0 +1,48 @@
+package clinica_persistence;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Pruebas de la detección del fichero de la copia de lectura a partir de {@code db.url}.
+ */
+public class SnapshotLecturaTest
+    extends TestCase
+{
+    public SnapshotLecturaTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( SnapshotLecturaTest.class );
+    }
+
+    /**
+     * Las URL de fichero dan la ruta, sin el prefijo {@code file:} ni los parámetros.
+     */
+    public void testFicheroDeUrl()
+    {
+        assertEquals( "clinica.db", SnapshotLectura.ficheroDeUrl( "jdbc:sqlite:clinica.db" ) );
+        assertEquals( "/tmp/clinica.db", SnapshotLectura.ficheroDeUrl( "jdbc:sqlite:/tmp/clinica.db" ) );
+        assertEquals( "/tmp/clinica.db", SnapshotLectura.ficheroDeUrl( "jdbc:sqlite:/tmp/clinica.db?journal_mode=WAL" ) );
+        assertEquals( "/tmp/clinica.db", SnapshotLectura.ficheroDeUrl( "jdbc:sqlite:file:/tmp/clinica.db" ) );
+        assertEquals( "clinica.db", SnapshotLectura.ficheroDeUrl( "jdbc:sqlite:file:clinica.db?mode=ro&cache=shared" ) );
+    }
+
+    /**
+     * Las bases de datos en memoria y las URL que no son de SQLite desactivan la copia.
+     */
+    public void testSinFichero()
+    {
+        assertNull( SnapshotLectura.ficheroDeUrl( "jdbc:sqlite::memory:" ) );
+        assertNull( SnapshotLectura.ficheroDeUrl( "jdbc:sqlite::memory:?cache=shared" ) );
+        assertNull( SnapshotLectura.ficheroDeUrl( "jdbc:sqlite:file::memory:?cache=shared" ) );
+        assertNull( SnapshotLectura.ficheroDeUrl( "jdbc:sqlite:file:clinica?mode=memory&cache=shared" ) );
+        assertNull( SnapshotLectura.ficheroDeUrl( "jdbc:sqlite:" ) );
+        assertNull( SnapshotLectura.ficheroDeUrl( "jdbc:postgresql://localhost/clinica" ) );
+        assertNull( SnapshotLectura.ficheroDeUrl( "" ) );
+    }
+}
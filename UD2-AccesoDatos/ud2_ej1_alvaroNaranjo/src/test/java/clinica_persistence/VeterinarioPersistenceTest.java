@@ -0,0 +1,186 @@
+package clinica_persistence;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import clinica_model.Veterinario;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Pruebas de las operaciones de {@link VeterinarioPersistence} sobre una base de datos temporal.
+ */
+public class VeterinarioPersistenceTest
+    extends TestCase
+{
+    public VeterinarioPersistenceTest( String testName )
+    {
+        super( testName );
+    }
+
+    public static Test suite()
+    {
+        return new TestSuite( VeterinarioPersistenceTest.class );
+    }
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        BaseDatosPrueba.preparar();
+    }
+
+    /**
+     * La revisión solo cambia los contratos existentes: no crea uno para quien no lo tiene
+     * ni toca los datos del veterinario.
+     */
+    public void testRevisarSalariosSinContrato() throws SQLException
+    {
+        ejecutar( "INSERT INTO Veterinario VALUES (1, 'Ana', 'Ruiz', '2020-01-01'), (2, 'Luis', 'Gil', '2021-05-05')",
+                  "INSERT INTO DetalleContrato (salario_base, horario_semanal, veterinario_licencia) VALUES (1000.0, 40.0, 1)" );
+
+        assertEquals( 1, VeterinarioPersistence.revisarSalarios( 10.5 ) );
+
+        assertEquals( List.of( "1|1105.0|40.0" ), filas( "SELECT veterinario_licencia, salario_base, horario_semanal FROM DetalleContrato" ) );
+        assertEquals( List.of( "1|1105.0" ), filas( "SELECT num_contratos, total_salario FROM ResumenNomina" ) );
+        assertEquals( List.of( "1|Ana|Ruiz|2020-01-01", "2|Luis|Gil|2021-05-05" ),
+                      filas( "SELECT num_licencia, nombre, apellido, fecha_contratacion FROM Veterinario ORDER BY 1" ) );
+        assertEquals( 1105.0, VeterinarioPersistence.readById( 1 ).getSalarioBase(), 0.0 );
+    }
+
+    /**
+     * Las páginas empiezan justo después de la licencia dada, aunque haya huecos, y cada una
+     * trae solo el contrato y las certificaciones de sus veterinarios. La última puede venir
+     * incompleta y la siguiente, vacía.
+     */
+    public void testReadPage() throws SQLException
+    {
+        ejecutar( "INSERT INTO Veterinario VALUES (2, 'A', 'A', '2020-01-01'), (4, 'B', 'B', '2020-01-01'), "
+                  + "(6, 'C', 'C', '2020-01-01'), (8, 'D', 'D', '2020-01-01'), (10, 'E', 'E', '2020-01-01')",
+                  "INSERT INTO DetalleContrato (salario_base, horario_semanal, veterinario_licencia) VALUES (1500.0, 30.0, 6)",
+                  "INSERT INTO Certificacion (institucion_emisora, nombre_especialidad, veterinario_licencia) "
+                  + "VALUES ('I', 'Cirugía', 4), ('I', 'Dermatología', 4), ('I', 'Cardiología', 10)" );
+
+        List<Veterinario> primera = VeterinarioPersistence.readPage( 0, 2 );
+        assertEquals( List.of( 2, 4 ), licencias( primera ) );
+        assertEquals( 0, primera.get( 0 ).getNumeroCertificaciones() );
+        assertEquals( 2, primera.get( 1 ).getNumeroCertificaciones() );
+
+        List<Veterinario> segunda = VeterinarioPersistence.readPage( 4, 2 );
+        assertEquals( List.of( 6, 8 ), licencias( segunda ) );
+        assertEquals( 1500.0, segunda.get( 0 ).getSalarioBase(), 0.0 );
+        assertEquals( 0, segunda.get( 0 ).getNumeroCertificaciones() );
+
+        // Una licencia que no existe también sirve de inicio
+        assertEquals( List.of( 6, 8 ), licencias( VeterinarioPersistence.readPage( 5, 2 ) ) );
+
+        List<Veterinario> ultima = VeterinarioPersistence.readPage( 8, 2 );
+        assertEquals( List.of( 10 ), licencias( ultima ) );
+        assertEquals( 1, ultima.get( 0 ).getNumeroCertificaciones() );
+
+        assertTrue( VeterinarioPersistence.readPage( 10, 2 ).isEmpty() );
+        assertTrue( VeterinarioPersistence.readPage( 0, 0 ).isEmpty() );
+    }
+
+    /**
+     * El rango incluye las dos fechas, se ordena por fecha y trae las certificaciones de los
+     * veterinarios que entran; un rango invertido no devuelve nada.
+     */
+    public void testReadByFechaContratacion() throws SQLException
+    {
+        ejecutar( "INSERT INTO Veterinario VALUES (1, 'A', 'A', '2020-02-29'), (2, 'B', 'B', '2020-03-01'), "
+                  + "(3, 'C', 'C', '2020-02-28'), (4, 'D', 'D', '2020-03-02'), (5, 'E', 'E', '2020-02-29')",
+                  "INSERT INTO Certificacion (institucion_emisora, nombre_especialidad, veterinario_licencia) "
+                  + "VALUES ('I', 'Cirugía', 2), ('I', 'Cardiología', 4)" );
+
+        List<Veterinario> rango = VeterinarioPersistence.readByFechaContratacion( LocalDate.of( 2020, 2, 29 ), LocalDate.of( 2020, 3, 1 ) );
+        assertEquals( List.of( 1, 5, 2 ), licencias( rango ) );
+        assertEquals( "2020-03-01", rango.get( 2 ).getFecha_contratacion() );
+        assertEquals( 1, rango.get( 2 ).getNumeroCertificaciones() );
+
+        LocalDate dia = LocalDate.of( 2020, 2, 28 );
+        assertEquals( List.of( 3 ), licencias( VeterinarioPersistence.readByFechaContratacion( dia, dia ) ) );
+        assertTrue( VeterinarioPersistence.readByFechaContratacion( LocalDate.of( 2020, 3, 3 ), LocalDate.of( 2021, 1, 1 ) ).isEmpty() );
+        assertTrue( VeterinarioPersistence.readByFechaContratacion( LocalDate.of( 2020, 3, 1 ), LocalDate.of( 2020, 2, 29 ) ).isEmpty() );
+    }
+
+    /**
+     * Con más licencias que {@link Consultas#TAMANO_LOTE} se borra por varios tramos: caen
+     * los veterinarios pedidos con sus contratos y certificaciones y el resto sigue intacto.
+     * Las licencias repetidas, no positivas o inexistentes no cuentan.
+     */
+    public void testDeleteAllPorTramos() throws SQLException
+    {
+        String numeros = "WITH RECURSIVE n(x) AS (SELECT 1 UNION ALL SELECT x + 1 FROM n WHERE x < 1200) ";
+        ejecutar( numeros + "INSERT INTO Veterinario SELECT x, 'N' || x, 'A', '2020-01-01' FROM n",
+                  numeros + "INSERT INTO DetalleContrato (salario_base, horario_semanal, veterinario_licencia) SELECT 1000.0, 40.0, x FROM n",
+                  "INSERT INTO Certificacion (institucion_emisora, nombre_especialidad, veterinario_licencia) "
+                  + "VALUES ('I', 'E1', 1), ('I', 'E2', 600), ('I', 'E3', 1100), ('I', 'E4', 1101)" );
+
+        int[] licencias = new int[1100 + 4];
+        for ( int i = 0; i < 1100; i++ )
+        {
+            licencias[i] = 1100 - i;
+        }
+        licencias[1100] = 600;
+        licencias[1101] = 0;
+        licencias[1102] = -5;
+        licencias[1103] = 5000;
+        assertTrue( licencias.length > 2 * Consultas.TAMANO_LOTE );
+
+        int[] eliminados = VeterinarioPersistence.deleteAll( licencias );
+
+        assertEquals( List.of( 3, 1100, 1100 ), List.of( eliminados[0], eliminados[1], eliminados[2] ) );
+        assertEquals( List.of( "100|1101|1200" ), filas( "SELECT COUNT(*), MIN(num_licencia), MAX(num_licencia) FROM Veterinario" ) );
+        assertEquals( List.of( "100|1101" ), filas( "SELECT COUNT(*), MIN(veterinario_licencia) FROM DetalleContrato" ) );
+        assertEquals( List.of( "E4|1101" ), filas( "SELECT nombre_especialidad, veterinario_licencia FROM Certificacion" ) );
+        assertNull( VeterinarioPersistence.readById( 600 ) );
+        assertNotNull( VeterinarioPersistence.readById( 1101 ) );
+    }
+
+    private static List<Integer> licencias( List<Veterinario> veterinarios )
+    {
+        List<Integer> licencias = new ArrayList<>();
+        for ( Veterinario v : veterinarios )
+        {
+            licencias.add( v.getNum_licencia() );
+        }
+        return licencias;
+    }
+
+    static void ejecutar( String... sentencias ) throws SQLException
+    {
+        try ( Connection connection = DatabaseConnection.getConnection(); Statement stmt = connection.createStatement() )
+        {
+            for ( String sql : sentencias )
+            {
+                stmt.executeUpdate( sql );
+            }
+        }
+    }
+
+    static List<String> filas( String sql ) throws SQLException
+    {
+        List<String> filas = new ArrayList<>();
+        try ( Connection connection = DatabaseConnection.getConnection(); Statement stmt = connection.createStatement();
+              ResultSet rs = stmt.executeQuery( sql ) )
+        {
+            int columnas = rs.getMetaData().getColumnCount();
+            while ( rs.next() )
+            {
+                StringBuilder fila = new StringBuilder();
+                for ( int i = 1; i <= columnas; i++ )
+                {
+                    fila.append( i > 1 ? "|" : "" ).append( rs.getString( i ) );
+                }
+                filas.add( fila.toString() );
+            }
+        }
+        return filas;
+    }
+}
@@ -0,0 +1,269 @@
+package clinica_bench;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+import org.HdrHistogram.Histogram;
+
+import clinica_model.Certificacion;
+import clinica_model.Veterinario;
+import clinica_persistence.CertificacionPersistence;
+import clinica_persistence.DatabaseConnection;
+import clinica_persistence.VeterinarioPersistence;
+import errores.Errores;
+
+/**
+ * Prueba de carga multihilo sobre la capa de persistencia de la clínica.
+ * <p>
+ * N clientes ejecutan en bucle cerrado una mezcla de operaciones con pesos configurables
+ * (por defecto 80% {@code readById}, 10% {@code readByVeterinarioLicencia}, 7%
+ * {@code CertificacionPersistence.create} y 3% {@code VeterinarioPersistence.update}).
+ * Al terminar imprime, por operación, el rendimiento y los percentiles p50/p99/p999 de
+ * latencia, además de los errores {@code SQLITE_BUSY}/{@code SQLITE_LOCKED} contados por
+ * {@link Errores}.
+ * </p>
+ * <p>
+ * Opciones ({@code -nombre valor}):
+ * {@code -hilos} (8), {@code -duracion} en s (30), {@code -calentamiento} en s (5),
+ * {@code -mezcla} pesos separados por comas (80,10,7,3), {@code -veterinarios} (100000),
+ * {@code -certificaciones} por veterinario (3) y {@code -db} para usar un fichero ya
+ * existente en lugar de sembrar uno con {@link SembradorClinica} (la carga se ejecuta
+ * sobre una copia suya, nunca sobre el original). Con {@code -db}, las
+ * licencias van de 1 a la mayor del fichero salvo que se indique {@code -veterinarios}. El resto de la
+ * configuración se cambia con propiedades del sistema, por ejemplo
+ * {@code -Dcache.veterinarios.capacidad=0} o {@code -Ddb.pool.size=4}.
+ * </p>
+ * <p>
+ * Al ser de bucle cerrado, un cliente no lanza la siguiente operación hasta que termina la
+ * anterior: las latencias no incluyen el tiempo que una petición habría esperado en cola.
+ * </p>
+ */
+public class CargaClinica {
+
+	private enum Operacion {
+		READ_BY_ID("readById"),
+		READ_BY_VETERINARIO("readByVeterinarioLicencia"),
+		CREATE_CERTIFICACION("certificacion.create"),
+		UPDATE_VETERINARIO("veterinario.update");
+
+		private final String nombre;
+
+		Operacion(String nombre) {
+			this.nombre = nombre;
+		}
+	}
+
+	private static final Operacion[] OPERACIONES = Operacion.values();
+	private static final long LATENCIA_MAXIMA_US = 60_000_000L;
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> opciones = leerOpciones(args);
+		int hilos = Integer.parseInt(opciones.getOrDefault("hilos", "8"));
+		int duracion = Integer.parseInt(opciones.getOrDefault("duracion", "30"));
+		int calentamiento = Integer.parseInt(opciones.getOrDefault("calentamiento", "5"));
+		int veterinarios = Integer.parseInt(opciones.getOrDefault("veterinarios", "100000"));
+		int certificaciones = Integer.parseInt(opciones.getOrDefault("certificaciones", "3"));
+		int[] pesos = leerPesos(opciones.getOrDefault("mezcla", "80,10,7,3"));
+
+		Path db;
+		if (opciones.containsKey("db")) {
+			// Las escrituras de la mezcla modifican datos: se trabaja sobre una copia
+			db = SembradorClinica.copiar(Path.of(opciones.get("db")));
+			// Con un fichero ajeno, el rango por defecto haría fallar casi todas las lecturas
+			if (!opciones.containsKey("veterinarios")) {
+				veterinarios = SembradorClinica.maxLicencia(db);
+			}
+			if (veterinarios <= 0) {
+				throw new IllegalArgumentException("La base de datos " + opciones.get("db") + " no tiene veterinarios");
+			}
+		} else {
+			db = SembradorClinica.preparar(veterinarios, certificaciones);
+		}
+		System.setProperty("db.url", SembradorClinica.url(db));
+		Errores.setSilencioso(true);
+
+		System.out.printf("Carga sobre %s (licencias 1..%d): %d hilos, %d s (+%d s de calentamiento), mezcla %s%n",
+				db, veterinarios, hilos, duracion, calentamiento, opciones.getOrDefault("mezcla", "80,10,7,3"));
+
+		long inicioMedicion = System.nanoTime() + calentamiento * 1_000_000_000L;
+		long fin = inicioMedicion + duracion * 1_000_000_000L;
+
+		List<Cliente> clientes = new ArrayList<>();
+		CountDownLatch terminados = new CountDownLatch(hilos);
+		for (int i = 0; i < hilos; i++) {
+			Cliente cliente = new Cliente(i, veterinarios, pesos, inicioMedicion, fin, terminados);
+			clientes.add(cliente);
+			Thread hilo = new Thread(cliente, "cliente-" + i);
+			hilo.setDaemon(true);
+			hilo.start();
+		}
+
+		// Los contadores de Errores se ponen a cero al acabar el calentamiento
+		Thread.sleep(Math.max(0, (inicioMedicion - System.nanoTime()) / 1_000_000));
+		Errores.reiniciarContadores();
+		terminados.await();
+
+		imprimirResultados(clientes, duracion);
+		DatabaseConnection.cerrar();
+	}
+
+	private static void imprimirResultados(List<Cliente> clientes, int duracion) {
+		System.out.println();
+		System.out.printf("%-26s %10s %10s %9s %9s %9s %9s %8s%n",
+				"Operación", "ops", "ops/s", "p50 µs", "p99 µs", "p999 µs", "max µs", "fallos");
+
+		Histogram total = new Histogram(LATENCIA_MAXIMA_US, 3);
+		long fallosTotales = 0;
+		for (Operacion op : OPERACIONES) {
+			Histogram h = new Histogram(LATENCIA_MAXIMA_US, 3);
+			long fallos = 0;
+			for (Cliente c : clientes) {
+				h.add(c.latencias[op.ordinal()]);
+				fallos += c.fallos[op.ordinal()];
+			}
+			total.add(h);
+			fallosTotales += fallos;
+			imprimirFila(op.nombre, h, fallos, duracion);
+		}
+		imprimirFila("TOTAL", total, fallosTotales, duracion);
+
+		System.out.println();
+		System.out.printf("Errores SQL: %d (SQLITE_BUSY: %d, SQLITE_LOCKED: %d)%n",
+				Errores.getErrores(), Errores.getErroresBusy(), Errores.getErroresLocked());
+		System.out.println(VeterinarioPersistence.getCache());
+		System.out.println(DatabaseConnection.getEstadisticasSentencias());
+	}
+
+	private static void imprimirFila(String nombre, Histogram h, long fallos, int duracion) {
+		long n = h.getTotalCount();
+		if (n == 0) {
+			System.out.printf("%-26s %10d %10s %9s %9s %9s %9s %8d%n", nombre, 0, "-", "-", "-", "-", "-", fallos);
+			return;
+		}
+		System.out.printf("%-26s %10d %10.1f %9d %9d %9d %9d %8d%n", nombre, n, (double) n / duracion,
+				h.getValueAtPercentile(50), h.getValueAtPercentile(99), h.getValueAtPercentile(99.9),
+				h.getMaxValue(), fallos);
+	}
+
+	private static Map<String, String> leerOpciones(String[] args) {
+		Map<String, String> opciones = new HashMap<>();
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if (!args[i].startsWith("-")) {
+				throw new IllegalArgumentException("Opción no válida: " + args[i]);
+			}
+			opciones.put(args[i].substring(1), args[i + 1]);
+		}
+		return opciones;
+	}
+
+	private static int[] leerPesos(String mezcla) {
+		String[] partes = mezcla.split(",");
+		if (partes.length != OPERACIONES.length) {
+			throw new IllegalArgumentException("La mezcla debe tener " + OPERACIONES.length + " pesos: " + mezcla);
+		}
+		int[] acumulados = new int[partes.length];
+		int suma = 0;
+		for (int i = 0; i < partes.length; i++) {
+			suma += Integer.parseInt(partes[i].trim());
+			acumulados[i] = suma;
+		}
+		if (suma <= 0) {
+			throw new IllegalArgumentException("La suma de pesos debe ser mayor que 0");
+		}
+		return acumulados;
+	}
+
+	/**
+	 * Cliente de la prueba: ejecuta operaciones hasta el final y guarda sus propias
+	 * latencias (en microsegundos), para no compartir histogramas entre hilos.
+	 */
+	private static final class Cliente implements Runnable {
+		private final int id;
+		private final int veterinarios;
+		private final int[] pesos;
+		private final long inicioMedicion;
+		private final long fin;
+		private final CountDownLatch terminados;
+		private final SplittableRandom random;
+
+		private final Histogram[] latencias = new Histogram[OPERACIONES.length];
+		private final long[] fallos = new long[OPERACIONES.length];
+		private int secuencia;
+
+		private Cliente(int id, int veterinarios, int[] pesos, long inicioMedicion, long fin,
+				CountDownLatch terminados) {
+			this.id = id;
+			this.veterinarios = veterinarios;
+			this.pesos = pesos;
+			this.inicioMedicion = inicioMedicion;
+			this.fin = fin;
+			this.terminados = terminados;
+			this.random = new SplittableRandom(id * 31L + System.nanoTime());
+			for (int i = 0; i < latencias.length; i++) {
+				latencias[i] = new Histogram(LATENCIA_MAXIMA_US, 3);
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				long ahora;
+				while ((ahora = System.nanoTime()) < fin) {
+					Operacion op = elegir();
+					boolean correcta = ejecutar(op);
+					long despues = System.nanoTime();
+
+					if (ahora >= inicioMedicion) {
+						latencias[op.ordinal()].recordValue(
+								Math.min(LATENCIA_MAXIMA_US, Math.max(1, (despues - ahora) / 1000)));
+						if (!correcta) {
+							fallos[op.ordinal()]++;
+						}
+					}
+				}
+			} finally {
+				terminados.countDown();
+			}
+		}
+
+		private Operacion elegir() {
+			int r = random.nextInt(pesos[pesos.length - 1]);
+			for (int i = 0; i < pesos.length; i++) {
+				if (r < pesos[i]) {
+					return OPERACIONES[i];
+				}
+			}
+			return OPERACIONES[OPERACIONES.length - 1];
+		}
+
+		private boolean ejecutar(Operacion op) {
+			int licencia = 1 + random.nextInt(veterinarios);
+			// Las lecturas devuelven null o vacío tanto si no hay datos como si fallan: el
+			// fallo se reconoce porque este hilo ha notificado un error durante la llamada
+			long errores = Errores.getErroresHilo();
+			switch (op) {
+			case READ_BY_ID:
+				VeterinarioPersistence.readById(licencia);
+				return Errores.getErroresHilo() == errores;
+			case READ_BY_VETERINARIO:
+				CertificacionPersistence.readByVeterinarioLicencia(licencia);
+				return Errores.getErroresHilo() == errores;
+			case CREATE_CERTIFICACION:
+				Certificacion c = new Certificacion(0, "Institución Carga",
+						"Carga-" + id + "-" + (secuencia++) + "-" + System.nanoTime(), licencia);
+				return CertificacionPersistence.create(c);
+			case UPDATE_VETERINARIO:
+				Veterinario v = new Veterinario(licencia, "Nombre" + licencia, "Carga", "2015-03-01", 0,
+						1500.0 + random.nextInt(1000), 40.0);
+				return VeterinarioPersistence.update(v);
+			default:
+				throw new IllegalStateException("Operación desconocida: " + op);
+			}
+		}
+	}
+}
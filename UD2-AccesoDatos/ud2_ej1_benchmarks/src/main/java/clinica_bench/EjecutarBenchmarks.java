@@ -0,0 +1,36 @@
+package clinica_bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de {@code benchmarks.jar}.
+ * Acepta las mismas opciones que JMH (por ejemplo {@code -p veterinarios=1000 readById})
+ * y, si no se indica ningún perfilador, añade {@link GCProfiler} para informar de la
+ * tasa de asignación (gc.alloc.rate y gc.alloc.rate.norm por operación).
+ */
+public class EjecutarBenchmarks {
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions linea = new CommandLineOptions(args);
+		if (linea.shouldHelp()) {
+			linea.showHelp();
+			return;
+		}
+		if (linea.shouldList()) {
+			new Runner(linea).list();
+			return;
+		}
+
+		OptionsBuilder builder = new OptionsBuilder();
+		builder.parent(linea);
+		if (linea.getProfilers().isEmpty()) {
+			builder.addProfiler(GCProfiler.class);
+		}
+		Options opciones = builder.build();
+		new Runner(opciones).run();
+	}
+}
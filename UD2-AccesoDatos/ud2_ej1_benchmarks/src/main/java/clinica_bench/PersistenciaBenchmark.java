@@ -0,0 +1,109 @@
+package clinica_bench;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import clinica_model.Certificacion;
+import clinica_model.Veterinario;
+import clinica_persistence.CertificacionPersistence;
+import clinica_persistence.DatabaseConnection;
+import clinica_persistence.VeterinarioPersistence;
+
+/**
+ * Benchmarks de los métodos de {@link VeterinarioPersistence} y {@link CertificacionPersistence}.
+ * <p>
+ * Cada combinación de parámetros se ejecuta en su propia JVM sobre una copia recién
+ * sembrada de la base de datos ({@link SembradorClinica}), a la que se apunta con
+ * {@code -Ddb.url}. Se mide el rendimiento (ops/ms) y la distribución de latencias
+ * (ms/op); la tasa de asignación la añade el perfilador GC de {@link EjecutarBenchmarks}.
+ * </p>
+ * <p>
+ * La caché de veterinarios está desactivada por defecto para que {@code readById} mida
+ * el acceso a la base de datos; con {@code -p capacidadCache=512} se mide con caché.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenciaBenchmark {
+
+	@Param({ "1000", "100000", "1000000" })
+	public int veterinarios;
+
+	@Param({ "3" })
+	public int certificacionesPorVeterinario;
+
+	@Param({ "0" })
+	public int capacidadCache;
+
+	private final AtomicInteger siguienteLicencia = new AtomicInteger();
+
+	@Setup(Level.Trial)
+	public void preparar() throws Exception {
+		Path db = SembradorClinica.preparar(veterinarios, certificacionesPorVeterinario);
+		System.setProperty("db.url", SembradorClinica.url(db));
+		System.setProperty("cache.veterinarios.capacidad", String.valueOf(capacidadCache));
+		siguienteLicencia.set(veterinarios + 1);
+	}
+
+	@TearDown(Level.Trial)
+	public void cerrar() {
+		DatabaseConnection.cerrar();
+	}
+
+	private int licenciaAleatoria() {
+		return ThreadLocalRandom.current().nextInt(1, veterinarios + 1);
+	}
+
+	@Benchmark
+	public List<Veterinario> readAll() {
+		return VeterinarioPersistence.readAll();
+	}
+
+	@Benchmark
+	public Veterinario readById() {
+		return VeterinarioPersistence.readById(licenciaAleatoria());
+	}
+
+	@Benchmark
+	public List<Certificacion> readByVeterinarioLicencia() {
+		return CertificacionPersistence.readByVeterinarioLicencia(licenciaAleatoria());
+	}
+
+	@Benchmark
+	public boolean create() {
+		int licencia = siguienteLicencia.getAndIncrement();
+		Veterinario v = new Veterinario(licencia, "Nuevo" + licencia, "Bench", "2024-01-01", 0, 2000.0, 40.0);
+		Certificacion c = new Certificacion(0, "Institución Bench", "Bench-" + licencia, licencia);
+		v.getCertificacionesMap().put(0, c);
+		return VeterinarioPersistence.create(v);
+	}
+
+	@Benchmark
+	public boolean update() {
+		int licencia = licenciaAleatoria();
+		Veterinario v = new Veterinario(licencia, "Nombre" + licencia, "Actualizado", "2010-06-15", 0,
+				1800.0 + (licencia % 500), 38.0);
+		return VeterinarioPersistence.update(v);
+	}
+}
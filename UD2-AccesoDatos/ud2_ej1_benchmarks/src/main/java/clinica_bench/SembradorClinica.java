@@ -0,0 +1,205 @@
+package clinica_bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Crea bases de datos SQLite de prueba con el esquema de la clínica y un volumen dado.
+ * <p>
+ * La primera vez que se pide un volumen se genera una plantilla
+ * ({@code clinica-bench-N-C.plantilla.db}) en el directorio indicado por la propiedad
+ * {@code bench.dir} (por defecto, el temporal del sistema). Las siguientes ejecuciones
+ * solo copian la plantilla, de modo que cada prueba empieza con los mismos datos sin
+ * tener que volver a sembrar un millón de filas.
+ * </p>
+ */
+public final class SembradorClinica {
+
+	private static final int TAMANO_LOTE = 10_000;
+
+	private SembradorClinica() {
+		// Clase de utilidad
+	}
+
+	/**
+	 * Prepara una copia de trabajo con el volumen pedido y devuelve su ruta.
+	 *
+	 * @param veterinarios                 Número de veterinarios (licencias 1..N).
+	 * @param certificacionesPorVeterinario Certificaciones de cada veterinario.
+	 * @return Ruta de la base de datos lista para usar (se sobrescribe en cada llamada).
+	 * @throws SQLException si falla la creación de la plantilla.
+	 * @throws IOException  si falla la copia.
+	 */
+	public static Path preparar(int veterinarios, int certificacionesPorVeterinario) throws SQLException, IOException {
+		Path dir = directorio();
+		String base = "clinica-bench-" + veterinarios + "-" + certificacionesPorVeterinario;
+		Path plantilla = dir.resolve(base + ".plantilla.db");
+		Path trabajo = dir.resolve(base + ".db");
+
+		if (!Files.exists(plantilla)) {
+			Path parcial = dir.resolve(base + ".parcial.db");
+			Files.deleteIfExists(parcial);
+			sembrar(parcial, veterinarios, certificacionesPorVeterinario);
+			Files.move(parcial, plantilla, StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		Files.deleteIfExists(dir.resolve(base + ".db-wal"));
+		Files.deleteIfExists(dir.resolve(base + ".db-shm"));
+		Files.copy(plantilla, trabajo, StandardCopyOption.REPLACE_EXISTING);
+		return trabajo;
+	}
+
+	/**
+	 * Copia una base de datos ya existente al directorio de trabajo, para que las pruebas
+	 * escriban en la copia y no en el original. Se copia con la API de copia en línea de
+	 * SQLite ({@code backup to}), que incluye lo que aún esté en el WAL del original.
+	 *
+	 * @param origen Fichero de la base de datos que se quiere usar.
+	 * @return Ruta de la copia (se sobrescribe en cada llamada con el mismo nombre de fichero).
+	 * @throws SQLException si falla la copia.
+	 * @throws IOException  si el origen no existe o no se puede preparar el destino.
+	 */
+	public static Path copiar(Path origen) throws SQLException, IOException {
+		// Abrir una ruta que no existe crearía una base de datos vacía
+		if (!Files.isRegularFile(origen)) {
+			throw new NoSuchFileException(origen.toString());
+		}
+		Path dir = directorio();
+		String base = "clinica-carga-" + origen.getFileName();
+		Path trabajo = dir.resolve(base);
+
+		Files.deleteIfExists(dir.resolve(base + "-wal"));
+		Files.deleteIfExists(dir.resolve(base + "-shm"));
+		Files.deleteIfExists(trabajo);
+		try (Connection connection = DriverManager.getConnection(url(origen));
+				Statement stmt = connection.createStatement()) {
+			stmt.executeUpdate("backup to \"" + trabajo.toAbsolutePath() + "\"");
+		}
+		return trabajo;
+	}
+
+	/**
+	 * URL JDBC de una ruta, lista para pasar como {@code -Ddb.url}.
+	 *
+	 * @param ruta Fichero de la base de datos.
+	 * @return URL {@code jdbc:sqlite:...}.
+	 */
+	public static String url(Path ruta) {
+		return "jdbc:sqlite:" + ruta.toAbsolutePath();
+	}
+
+	/**
+	 * Mayor licencia de veterinario de una base de datos ya existente, para elegir licencias
+	 * al azar en 1..N igual que con una sembrada.
+	 *
+	 * @param ruta Fichero de la base de datos.
+	 * @return Mayor {@code num_licencia}, o 0 si no hay veterinarios.
+	 * @throws SQLException si no se puede leer la tabla {@code Veterinario}.
+	 */
+	public static int maxLicencia(Path ruta) throws SQLException {
+		try (Connection connection = DriverManager.getConnection(url(ruta));
+				Statement stmt = connection.createStatement();
+				ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(num_licencia), 0) FROM Veterinario")) {
+			return rs.next() ? rs.getInt(1) : 0;
+		}
+	}
+
+	private static Path directorio() throws IOException {
+		Path dir = Paths.get(System.getProperty("bench.dir", System.getProperty("java.io.tmpdir")));
+		Files.createDirectories(dir);
+		return dir;
+	}
+
+	private static void sembrar(Path destino, int veterinarios, int certificacionesPorVeterinario)
+			throws SQLException, IOException {
+		long inicio = System.nanoTime();
+
+		try (Connection connection = DriverManager.getConnection(url(destino))) {
+			try (Statement stmt = connection.createStatement()) {
+				stmt.execute("PRAGMA journal_mode = OFF");
+				stmt.execute("PRAGMA synchronous = OFF");
+				for (String sentencia : leerScript()) {
+					stmt.execute(sentencia);
+				}
+			}
+
+			connection.setAutoCommit(false);
+			LocalDate fechaBase = LocalDate.of(2000, 1, 1);
+			int certId = 0;
+
+			try (PreparedStatement stmtVet = connection.prepareStatement(
+					"INSERT INTO Veterinario (num_licencia, nombre, apellido, fecha_contratacion) VALUES (?, ?, ?, ?)");
+					PreparedStatement stmtContrato = connection.prepareStatement(
+							"INSERT INTO DetalleContrato (salario_base, horario_semanal, veterinario_licencia) VALUES (?, ?, ?)");
+					PreparedStatement stmtCert = connection.prepareStatement(
+							"INSERT INTO Certificacion (institucion_emisora, nombre_especialidad, veterinario_licencia) VALUES (?, ?, ?)")) {
+
+				for (int licencia = 1; licencia <= veterinarios; licencia++) {
+					stmtVet.setInt(1, licencia);
+					stmtVet.setString(2, "Nombre" + licencia);
+					stmtVet.setString(3, "Apellido" + (licencia % 997));
+					stmtVet.setString(4, fechaBase.plusDays(licencia % 9000).toString());
+					stmtVet.addBatch();
+
+					stmtContrato.setDouble(1, 1500.0 + (licencia % 2000));
+					stmtContrato.setDouble(2, 20 + (licencia % 41));
+					stmtContrato.setInt(3, licencia);
+					stmtContrato.addBatch();
+
+					for (int c = 0; c < certificacionesPorVeterinario; c++) {
+						certId++;
+						stmtCert.setString(1, "Institución " + (certId % 50));
+						stmtCert.setString(2, "Especialidad-" + certId);
+						stmtCert.setInt(3, licencia);
+						stmtCert.addBatch();
+					}
+
+					if (licencia % TAMANO_LOTE == 0) {
+						stmtVet.executeBatch();
+						stmtContrato.executeBatch();
+						stmtCert.executeBatch();
+					}
+				}
+				stmtVet.executeBatch();
+				stmtContrato.executeBatch();
+				stmtCert.executeBatch();
+			}
+			connection.commit();
+		}
+
+		System.out.printf("Plantilla %s sembrada: %d veterinarios, %d certificaciones en %d ms%n",
+				destino.getFileName(), veterinarios, (long) veterinarios * certificacionesPorVeterinario,
+				(System.nanoTime() - inicio) / 1_000_000);
+	}
+
+	private static String[] leerScript() throws IOException {
+		try (InputStream in = SembradorClinica.class.getResourceAsStream("/clinica-db-script.sql")) {
+			if (in == null) {
+				throw new IOException("No se encuentra clinica-db-script.sql");
+			}
+			StringBuilder sb = new StringBuilder();
+			for (String linea : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+				int comentario = linea.indexOf("--");
+				sb.append(comentario >= 0 ? linea.substring(0, comentario) : linea).append('\n');
+			}
+			return Arrays.stream(sb.toString().split(";"))
+					.map(String::trim)
+					.filter(s -> !s.isEmpty())
+					.toArray(String[]::new);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+-- --------------------------------------------------
+-- ESQUEMA DE LA CLÍNICA (mismo que clinica.db de ud2_ej1_alvaroNaranjo)
+-- Se usa para crear las bases de datos de prueba de los benchmarks.
+-- --------------------------------------------------
+
+CREATE TABLE Veterinario (
+    num_licencia INTEGER PRIMARY KEY, -- Clave Primaria (PK)
+    nombre TEXT NOT NULL,
+    apellido TEXT NOT NULL,
+    fecha_contratacion TEXT NOT NULL -- SQLite usa TEXT para fechas
+);
+
+CREATE TABLE DetalleContrato (
+    id INTEGER PRIMARY KEY AUTOINCREMENT, -- PK propia, aunque funcionalmente se usa la FK
+    salario_base REAL NOT NULL,
+    horario_semanal TEXT NOT NULL,
+    veterinario_licencia INTEGER UNIQUE NOT NULL, -- Clave Foránea (FK) y ÚNICA (para 1:1)
+
+    FOREIGN KEY (veterinario_licencia)
+        REFERENCES Veterinario (num_licencia)
+        ON DELETE CASCADE -- Si se borra el veterinario, se borra el contrato
+);
+
+CREATE TABLE Certificacion (
+    id INTEGER PRIMARY KEY AUTOINCREMENT, -- Clave Primaria (PK)
+    institucion_emisora TEXT NOT NULL,
+    nombre_especialidad TEXT UNIQUE NOT NULL, -- Asumiendo que cada especialidad tiene un nombre único
+    veterinario_licencia INTEGER NOT NULL, -- Clave Foránea (FK) para la relación 1:N
+
+    FOREIGN KEY (veterinario_licencia)
+        REFERENCES Veterinario (num_licencia)
+        ON DELETE CASCADE -- Si se borra el veterinario, se borran sus certificaciones
+);